@@ -0,0 +1,222 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.InvalidNumberOfDestinationsException;
+import org.jsmpp.PDUStringException;
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.Address;
+import org.jsmpp.bean.DestinationAddress;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.UnsuccessDelivery;
+import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.PDUComposer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compose every PDU type with the {@link DefaultComposer}. The other benchmarks
+ * take their input PDUs from here, so a PDU is decomposed and read exactly as
+ * it is composed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComposeBenchmark {
+    static final String SERVICE_TYPE = "CMT";
+    static final String SOURCE_ADDR = "1616";
+    static final String DESTINATION_ADDR = "628176504657";
+    static final String MESSAGE_ID = "0123456789abcdef";
+    static final String VALIDITY_PERIOD = "000001000000000R";
+    static final byte[] SHORT_MESSAGE = "jSMPP benchmark short message of a typical length for a single SMS"
+        .getBytes();
+    static final OptionalParameter[] DATA_SM_TLVS = new OptionalParameter[] {
+        new OptionalParameter.Message_payload(SHORT_MESSAGE)
+    };
+
+    private final PDUComposer composer = new DefaultComposer();
+    private final DestinationAddress[] destinationAddresses = new DestinationAddress[] {
+        new Address((byte)1, (byte)1, DESTINATION_ADDR),
+        new Address((byte)1, (byte)1, "628176504658")
+    };
+    private final UnsuccessDelivery[] unsuccessDeliveries = new UnsuccessDelivery[] {
+        new UnsuccessDelivery((byte)1, (byte)1, "628176504658", SMPPConstant.STAT_ESME_RINVDSTADR)
+    };
+
+    @Benchmark
+    public byte[] bind() throws PDUStringException {
+        return composer.bind(SMPPConstant.CID_BIND_TRANSCEIVER, 1, "smppclient", "password", "cp",
+            (byte)0x34, (byte)0, (byte)0, null);
+    }
+
+    @Benchmark
+    public byte[] bindResp() throws PDUStringException {
+        return composer.bindResp(SMPPConstant.CID_BIND_TRANSCEIVER_RESP, 1, "smsc");
+    }
+
+    @Benchmark
+    public byte[] unbind() {
+        return composer.unbind(1);
+    }
+
+    @Benchmark
+    public byte[] unbindResp() {
+        return composer.unbindResp(SMPPConstant.STAT_ESME_ROK, 1);
+    }
+
+    @Benchmark
+    public byte[] outbind() throws PDUStringException {
+        return composer.outbind(1, "smsc", "password");
+    }
+
+    @Benchmark
+    public byte[] enquireLink() {
+        return composer.enquireLink(1);
+    }
+
+    @Benchmark
+    public byte[] enquireLinkResp() {
+        return composer.enquireLinkResp(1);
+    }
+
+    @Benchmark
+    public byte[] genericNack() {
+        return composer.genericNack(SMPPConstant.STAT_ESME_RINVCMDID, 1);
+    }
+
+    @Benchmark
+    public byte[] submitSm() throws PDUStringException {
+        return composer.submitSm(1, SERVICE_TYPE, (byte)1, (byte)1, SOURCE_ADDR, (byte)1, (byte)1,
+            DESTINATION_ADDR, (byte)0, (byte)0, (byte)0, null, VALIDITY_PERIOD, (byte)1, (byte)0, (byte)0,
+            (byte)0, SHORT_MESSAGE);
+    }
+
+    @Benchmark
+    public byte[] submitSmResp() throws PDUStringException {
+        return composer.submitSmResp(1, MESSAGE_ID);
+    }
+
+    @Benchmark
+    public byte[] querySm() throws PDUStringException {
+        return composer.querySm(1, MESSAGE_ID, (byte)1, (byte)1, SOURCE_ADDR);
+    }
+
+    @Benchmark
+    public byte[] querySmResp() throws PDUStringException {
+        return composer.querySmResp(1, MESSAGE_ID, null, (byte)2, (byte)0);
+    }
+
+    @Benchmark
+    public byte[] deliverSm() throws PDUStringException {
+        return composer.deliverSm(1, SERVICE_TYPE, (byte)1, (byte)1, DESTINATION_ADDR, (byte)1, (byte)1,
+            SOURCE_ADDR, (byte)0, (byte)0, (byte)0, (byte)0, (byte)0, SHORT_MESSAGE);
+    }
+
+    @Benchmark
+    public byte[] deliverSmResp() {
+        return composer.deliverSmResp(SMPPConstant.STAT_ESME_ROK, 1, null);
+    }
+
+    @Benchmark
+    public byte[] dataSm() throws PDUStringException {
+        return composer.dataSm(1, SERVICE_TYPE, (byte)1, (byte)1, SOURCE_ADDR, (byte)1, (byte)1,
+            DESTINATION_ADDR, (byte)0, (byte)1, (byte)0, DATA_SM_TLVS);
+    }
+
+    @Benchmark
+    public byte[] dataSmResp() throws PDUStringException {
+        return composer.dataSmResp(1, MESSAGE_ID);
+    }
+
+    @Benchmark
+    public byte[] cancelSm() throws PDUStringException {
+        return composer.cancelSm(1, SERVICE_TYPE, MESSAGE_ID, (byte)1, (byte)1, SOURCE_ADDR, (byte)1, (byte)1,
+            DESTINATION_ADDR);
+    }
+
+    @Benchmark
+    public byte[] cancelSmResp() {
+        return composer.cancelSmResp(1);
+    }
+
+    @Benchmark
+    public byte[] replaceSm() throws PDUStringException {
+        return composer.replaceSm(1, MESSAGE_ID, (byte)1, (byte)1, SOURCE_ADDR, null, VALIDITY_PERIOD, (byte)1,
+            (byte)0, SHORT_MESSAGE);
+    }
+
+    @Benchmark
+    public byte[] replaceSmResp() {
+        return composer.replaceSmResp(1);
+    }
+
+    @Benchmark
+    public byte[] submitMulti() throws PDUStringException, InvalidNumberOfDestinationsException {
+        return composer.submitMulti(1, SERVICE_TYPE, (byte)1, (byte)1, SOURCE_ADDR, destinationAddresses,
+            (byte)0, (byte)0, (byte)0, null, VALIDITY_PERIOD, (byte)1, (byte)0, (byte)0, (byte)0, SHORT_MESSAGE);
+    }
+
+    @Benchmark
+    public byte[] submitMultiResp() throws PDUStringException {
+        return composer.submitMultiResp(1, MESSAGE_ID, unsuccessDeliveries);
+    }
+
+    @Benchmark
+    public byte[] alertNotification() throws PDUStringException {
+        return composer.alertNotification(1, (byte)1, (byte)1, DESTINATION_ADDR, (byte)1, (byte)1, SOURCE_ADDR);
+    }
+
+    @Benchmark
+    public byte[] broadcastSm() throws PDUStringException {
+        return composer.broadcastSm(1, SERVICE_TYPE, (byte)1, (byte)1, SOURCE_ADDR, MESSAGE_ID, (byte)0, null,
+            VALIDITY_PERIOD, (byte)0, (byte)0, (byte)0);
+    }
+
+    @Benchmark
+    public byte[] broadcastSmResp() throws PDUStringException {
+        return composer.broadcastSmResp(1, MESSAGE_ID);
+    }
+
+    @Benchmark
+    public byte[] cancelBroadcastSm() throws PDUStringException {
+        return composer.cancelBroadcastSm(1, SERVICE_TYPE, MESSAGE_ID, (byte)1, (byte)1, SOURCE_ADDR);
+    }
+
+    @Benchmark
+    public byte[] cancelBroadcastSmResp() {
+        return composer.cancelBroadcastSmResp(1);
+    }
+
+    @Benchmark
+    public byte[] queryBroadcastSm() throws PDUStringException {
+        return composer.queryBroadcastSm(1, MESSAGE_ID, (byte)1, (byte)1, SOURCE_ADDR);
+    }
+
+    @Benchmark
+    public byte[] queryBroadcastSmResp() throws PDUStringException {
+        return composer.queryBroadcastSmResp(1, MESSAGE_ID);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.InvalidNumberOfDestinationsException;
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.AlertNotification;
+import org.jsmpp.bean.Bind;
+import org.jsmpp.bean.BindResp;
+import org.jsmpp.bean.BroadcastSm;
+import org.jsmpp.bean.BroadcastSmResp;
+import org.jsmpp.bean.CancelBroadcastSm;
+import org.jsmpp.bean.CancelBroadcastSmResp;
+import org.jsmpp.bean.CancelSm;
+import org.jsmpp.bean.CancelSmResp;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.DataSmResp;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.DeliverSmResp;
+import org.jsmpp.bean.EnquireLink;
+import org.jsmpp.bean.EnquireLinkResp;
+import org.jsmpp.bean.GenericNack;
+import org.jsmpp.bean.Outbind;
+import org.jsmpp.bean.QueryBroadcastSm;
+import org.jsmpp.bean.QueryBroadcastSmResp;
+import org.jsmpp.bean.QuerySm;
+import org.jsmpp.bean.QuerySmResp;
+import org.jsmpp.bean.ReplaceSm;
+import org.jsmpp.bean.ReplaceSmResp;
+import org.jsmpp.bean.SubmitMulti;
+import org.jsmpp.bean.SubmitMultiResp;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.bean.SubmitSmResp;
+import org.jsmpp.bean.Unbind;
+import org.jsmpp.bean.UnbindResp;
+import org.jsmpp.util.DefaultDecomposer;
+import org.jsmpp.util.PDUDecomposer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decompose every PDU type with the {@link DefaultDecomposer}, from the bytes
+ * composed by {@link ComposeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecomposeBenchmark {
+    private final PDUDecomposer decomposer = new DefaultDecomposer();
+
+    private byte[] bind;
+    private byte[] bindResp;
+    private byte[] unbind;
+    private byte[] unbindResp;
+    private byte[] outbind;
+    private byte[] enquireLink;
+    private byte[] enquireLinkResp;
+    private byte[] genericNack;
+    private byte[] submitSm;
+    private byte[] submitSmResp;
+    private byte[] querySm;
+    private byte[] querySmResp;
+    private byte[] deliverSm;
+    private byte[] deliverSmResp;
+    private byte[] dataSm;
+    private byte[] dataSmResp;
+    private byte[] cancelSm;
+    private byte[] cancelSmResp;
+    private byte[] replaceSm;
+    private byte[] replaceSmResp;
+    private byte[] submitMulti;
+    private byte[] submitMultiResp;
+    private byte[] alertNotification;
+    private byte[] broadcastSm;
+    private byte[] broadcastSmResp;
+    private byte[] cancelBroadcastSm;
+    private byte[] cancelBroadcastSmResp;
+    private byte[] queryBroadcastSm;
+    private byte[] queryBroadcastSmResp;
+
+    @Setup
+    public void setUp() throws PDUStringException, InvalidNumberOfDestinationsException {
+        ComposeBenchmark compose = new ComposeBenchmark();
+        bind = compose.bind();
+        bindResp = compose.bindResp();
+        unbind = compose.unbind();
+        unbindResp = compose.unbindResp();
+        outbind = compose.outbind();
+        enquireLink = compose.enquireLink();
+        enquireLinkResp = compose.enquireLinkResp();
+        genericNack = compose.genericNack();
+        submitSm = compose.submitSm();
+        submitSmResp = compose.submitSmResp();
+        querySm = compose.querySm();
+        querySmResp = compose.querySmResp();
+        deliverSm = compose.deliverSm();
+        deliverSmResp = compose.deliverSmResp();
+        dataSm = compose.dataSm();
+        dataSmResp = compose.dataSmResp();
+        cancelSm = compose.cancelSm();
+        cancelSmResp = compose.cancelSmResp();
+        replaceSm = compose.replaceSm();
+        replaceSmResp = compose.replaceSmResp();
+        submitMulti = compose.submitMulti();
+        submitMultiResp = compose.submitMultiResp();
+        alertNotification = compose.alertNotification();
+        broadcastSm = compose.broadcastSm();
+        broadcastSmResp = compose.broadcastSmResp();
+        cancelBroadcastSm = compose.cancelBroadcastSm();
+        cancelBroadcastSmResp = compose.cancelBroadcastSmResp();
+        queryBroadcastSm = compose.queryBroadcastSm();
+        queryBroadcastSmResp = compose.queryBroadcastSmResp();
+    }
+
+    @Benchmark
+    public Bind bind() throws PDUStringException {
+        return decomposer.bind(bind);
+    }
+
+    @Benchmark
+    public BindResp bindResp() throws PDUStringException {
+        return decomposer.bindResp(bindResp);
+    }
+
+    @Benchmark
+    public Unbind unbind() {
+        return decomposer.unbind(unbind);
+    }
+
+    @Benchmark
+    public UnbindResp unbindResp() {
+        return decomposer.unbindResp(unbindResp);
+    }
+
+    @Benchmark
+    public Outbind outbind() throws PDUStringException {
+        return decomposer.outbind(outbind);
+    }
+
+    @Benchmark
+    public EnquireLink enquireLink() {
+        return decomposer.enquireLink(enquireLink);
+    }
+
+    @Benchmark
+    public EnquireLinkResp enquireLinkResp() {
+        return decomposer.enquireLinkResp(enquireLinkResp);
+    }
+
+    @Benchmark
+    public GenericNack genericNack() {
+        return decomposer.genericNack(genericNack);
+    }
+
+    @Benchmark
+    public SubmitSm submitSm() throws PDUStringException {
+        return decomposer.submitSm(submitSm);
+    }
+
+    @Benchmark
+    public SubmitSmResp submitSmResp() throws PDUStringException {
+        return decomposer.submitSmResp(submitSmResp);
+    }
+
+    @Benchmark
+    public QuerySm querySm() throws PDUStringException {
+        return decomposer.querySm(querySm);
+    }
+
+    @Benchmark
+    public QuerySmResp querySmResp() throws PDUStringException {
+        return decomposer.querySmResp(querySmResp);
+    }
+
+    @Benchmark
+    public DeliverSm deliverSm() throws PDUStringException {
+        return decomposer.deliverSm(deliverSm);
+    }
+
+    @Benchmark
+    public DeliverSmResp deliverSmResp() {
+        return decomposer.deliverSmResp(deliverSmResp);
+    }
+
+    @Benchmark
+    public DataSm dataSm() throws PDUStringException {
+        return decomposer.dataSm(dataSm);
+    }
+
+    @Benchmark
+    public DataSmResp dataSmResp() throws PDUStringException {
+        return decomposer.dataSmResp(dataSmResp);
+    }
+
+    @Benchmark
+    public CancelSm cancelSm() throws PDUStringException {
+        return decomposer.cancelSm(cancelSm);
+    }
+
+    @Benchmark
+    public CancelSmResp cancelSmResp() {
+        return decomposer.cancelSmResp(cancelSmResp);
+    }
+
+    @Benchmark
+    public ReplaceSm replaceSm() throws PDUStringException {
+        return decomposer.replaceSm(replaceSm);
+    }
+
+    @Benchmark
+    public ReplaceSmResp replaceSmResp() {
+        return decomposer.replaceSmResp(replaceSmResp);
+    }
+
+    @Benchmark
+    public SubmitMulti submitMulti() throws PDUStringException, InvalidNumberOfDestinationsException {
+        return decomposer.submitMulti(submitMulti);
+    }
+
+    @Benchmark
+    public SubmitMultiResp submitMultiResp() throws PDUStringException {
+        return decomposer.submitMultiResp(submitMultiResp);
+    }
+
+    @Benchmark
+    public AlertNotification alertNotification() throws PDUStringException {
+        return decomposer.alertNotification(alertNotification);
+    }
+
+    @Benchmark
+    public BroadcastSm broadcastSm() throws PDUStringException {
+        return decomposer.broadcastSm(broadcastSm);
+    }
+
+    @Benchmark
+    public BroadcastSmResp broadcastSmResp() throws PDUStringException {
+        return decomposer.broadcastSmResp(broadcastSmResp);
+    }
+
+    @Benchmark
+    public CancelBroadcastSm cancelBroadcastSm() throws PDUStringException {
+        return decomposer.cancelBroadcastSm(cancelBroadcastSm);
+    }
+
+    @Benchmark
+    public CancelBroadcastSmResp cancelBroadcastSmResp() throws PDUStringException {
+        return decomposer.cancelBroadcastSmResp(cancelBroadcastSmResp);
+    }
+
+    @Benchmark
+    public QueryBroadcastSm queryBroadcastSm() throws PDUStringException {
+        return decomposer.queryBroadcastSm(queryBroadcastSm);
+    }
+
+    @Benchmark
+    public QueryBroadcastSmResp queryBroadcastSmResp() throws PDUStringException {
+        return decomposer.queryBroadcastSmResp(queryBroadcastSmResp);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.DeliveryReceipt;
+import org.jsmpp.util.DefaultDecomposer;
+import org.jsmpp.util.InvalidDeliveryReceiptException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parse the delivery receipt in the short message of a deliver_sm, from the
+ * text, from the bytes, and from the decomposed deliver_sm as an application
+ * receiving the receipt would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryReceiptBenchmark {
+    static final String DELIVERY_RECEIPT = "id:" + ComposeBenchmark.MESSAGE_ID
+        + " sub:001 dlvrd:001 submit date:2401011200 done date:2401011201 stat:DELIVRD err:000"
+        + " Text:jSMPP benchmark short";
+
+    private final DefaultDecomposer decomposer = new DefaultDecomposer();
+
+    private byte[] deliveryReceipt;
+    private DeliverSm deliverSm;
+
+    @Setup
+    public void setUp() throws PDUStringException {
+        deliveryReceipt = DELIVERY_RECEIPT.getBytes();
+        deliverSm = decomposer.deliverSm(new OptionalParametersBenchmark().composeDeliverSm());
+    }
+
+    @Benchmark
+    public DeliveryReceipt parseString() throws InvalidDeliveryReceiptException {
+        return decomposer.deliveryReceipt(DELIVERY_RECEIPT);
+    }
+
+    @Benchmark
+    public DeliveryReceipt parseBytes() throws InvalidDeliveryReceiptException {
+        return decomposer.deliveryReceipt(deliveryReceipt);
+    }
+
+    @Benchmark
+    public DeliveryReceipt deliverSm() throws InvalidDeliveryReceiptException {
+        return deliverSm.getShortMessageAsDeliveryReceipt();
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jsmpp.session.connection.Connection;
+
+/**
+ * In-memory {@link Connection}, connected to its peer by two bounded pipes. It
+ * lets a benchmark run a client and a server session in one JVM without the
+ * network stack between them.
+ */
+class LoopbackConnection implements Connection {
+    private static final int PIPE_CAPACITY = 64 * 1024;
+
+    private final Pipe in;
+    private final Pipe out;
+    private final InputStream inputStream;
+    private final OutputStream outputStream;
+    private volatile int soTimeout;
+
+    private LoopbackConnection(Pipe in, Pipe out) {
+        this.in = in;
+        this.out = out;
+        inputStream = new PipeInputStream();
+        outputStream = new PipeOutputStream();
+    }
+
+    /**
+     * Create two connections, connected to each other.
+     *
+     * @return the two connections.
+     */
+    static LoopbackConnection[] newPair() {
+        Pipe clientToServer = new Pipe();
+        Pipe serverToClient = new Pipe();
+        return new LoopbackConnection[] {
+            new LoopbackConnection(serverToClient, clientToServer),
+            new LoopbackConnection(clientToServer, serverToClient)
+        };
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !in.isClosed() && !out.isClosed();
+    }
+
+    @Override
+    public InetAddress getInetAddress() {
+        return InetAddress.getLoopbackAddress();
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        return InetAddress.getLoopbackAddress();
+    }
+
+    @Override
+    public int getPort() {
+        return 0;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return 0;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) {
+        soTimeout = timeout;
+    }
+
+    @Override
+    public void close() {
+        in.close();
+        out.close();
+    }
+
+    private class PipeInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in.read(b, off, len, soTimeout);
+        }
+
+        @Override
+        public void close() {
+            LoopbackConnection.this.close();
+        }
+    }
+
+    private class PipeOutputStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte)b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            LoopbackConnection.this.close();
+        }
+    }
+
+    /**
+     * Bounded byte ring buffer with a blocking reader and writer.
+     */
+    private static class Pipe {
+        private final byte[] buffer = new byte[PIPE_CAPACITY];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private int readIndex;
+        private int size;
+        private boolean closed;
+
+        int read(byte[] b, int off, int len, int timeout) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+                while (size == 0) {
+                    if (closed) {
+                        return -1;
+                    }
+                    if (timeout <= 0) {
+                        notEmpty.await();
+                    } else if (nanos <= 0) {
+                        throw new SocketTimeoutException("Read timed out");
+                    } else {
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                }
+                int n = Math.min(len, Math.min(size, buffer.length - readIndex));
+                System.arraycopy(buffer, readIndex, b, off, n);
+                readIndex = (readIndex + n) % buffer.length;
+                size -= n;
+                notFull.signal();
+                return n;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void write(byte[] b, int off, int len) throws IOException {
+            lock.lock();
+            try {
+                while (len > 0) {
+                    if (closed) {
+                        throw new IOException("Pipe closed");
+                    }
+                    if (size == buffer.length) {
+                        notFull.await();
+                        continue;
+                    }
+                    int writeIndex = (readIndex + size) % buffer.length;
+                    int n = Math.min(len, Math.min(buffer.length - size, buffer.length - writeIndex));
+                    System.arraycopy(b, off, buffer, writeIndex, n);
+                    size += n;
+                    off += n;
+                    len -= n;
+                    notEmpty.signal();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isClosed() {
+            lock.lock();
+            try {
+                return closed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.BroadcastSm;
+import org.jsmpp.bean.CancelBroadcastSm;
+import org.jsmpp.bean.CancelSm;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.InterfaceVersion;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.QueryBroadcastSm;
+import org.jsmpp.bean.QuerySm;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.ReplaceSm;
+import org.jsmpp.bean.SubmitMulti;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.session.BindParameter;
+import org.jsmpp.session.BroadcastSmResult;
+import org.jsmpp.session.DataSmResult;
+import org.jsmpp.session.QueryBroadcastSmResult;
+import org.jsmpp.session.QuerySmResult;
+import org.jsmpp.session.SMPPServerSession;
+import org.jsmpp.session.SMPPSession;
+import org.jsmpp.session.ServerMessageReceiverListener;
+import org.jsmpp.session.Session;
+import org.jsmpp.session.SubmitMultiResult;
+import org.jsmpp.session.SubmitSmResult;
+import org.jsmpp.util.MessageId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Submit short messages from an {@link SMPPSession} to an
+ * {@link SMPPServerSession} over a {@link LoopbackConnection}, so the whole
+ * request path is measured: composing, sending, reading and decomposing the
+ * submit_sm, processing it on the server, and the same for the submit_sm_resp.
+ * <p>
+ * The throughput mode gives the submit_sm per microsecond of all threads
+ * together, the sample time mode the latency percentiles of a single
+ * submit_sm to submit_sm_resp round trip.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LoopbackSessionBenchmark {
+    private static final byte[] SHORT_MESSAGE = ComposeBenchmark.SHORT_MESSAGE;
+
+    private final ESMClass esmClass = new ESMClass();
+    private final RegisteredDelivery registeredDelivery = new RegisteredDelivery();
+    private final GeneralDataCoding dataCoding = new GeneralDataCoding();
+
+    private ExecutorService executorService;
+    private SMPPServerSession serverSession;
+    private SMPPSession session;
+
+    @Setup
+    public void setUp() throws Exception {
+        final LoopbackConnection[] connections = LoopbackConnection.newPair();
+        executorService = Executors.newSingleThreadExecutor();
+        serverSession = new SMPPServerSession(connections[1], null, new AcceptingListener(), null, 3, 1000);
+        Future<?> bound = executorService.submit(() -> {
+            serverSession.waitForBind(5000).accept("sys", InterfaceVersion.IF_34);
+            return null;
+        });
+        session = new SMPPSession((host, port) -> connections[0]);
+        session.connectAndBind("loopback", 0, new BindParameter(BindType.BIND_TRX, "benchmark", "password", "",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+        bound.get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.unbindAndClose();
+        serverSession.close();
+        executorService.shutdown();
+    }
+
+    @Benchmark
+    public SubmitSmResult submitShortMessage() throws Exception {
+        return session.submitShortMessage(ComposeBenchmark.SERVICE_TYPE, TypeOfNumber.UNKNOWN,
+            NumberingPlanIndicator.UNKNOWN, ComposeBenchmark.SOURCE_ADDR, TypeOfNumber.UNKNOWN,
+            NumberingPlanIndicator.UNKNOWN, ComposeBenchmark.DESTINATION_ADDR, esmClass, (byte)0, (byte)0, null,
+            null, registeredDelivery, (byte)0, dataCoding, (byte)0, SHORT_MESSAGE);
+    }
+
+    /**
+     * Server listener accepting every submit_sm with the same message_id.
+     */
+    private static class AcceptingListener implements ServerMessageReceiverListener {
+        private static final OptionalParameter[] NO_OPTIONAL_PARAMETERS = new OptionalParameter[0];
+
+        private final MessageId messageId;
+
+        AcceptingListener() throws Exception {
+            messageId = new MessageId(ComposeBenchmark.MESSAGE_ID);
+        }
+
+        @Override
+        public SubmitSmResult onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source) {
+            return new SubmitSmResult(messageId, NO_OPTIONAL_PARAMETERS);
+        }
+
+        @Override
+        public SubmitMultiResult onAcceptSubmitMulti(SubmitMulti submitMulti, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("submit_multi not supported", SMPPConstant.STAT_ESME_RSYSERR);
+        }
+
+        @Override
+        public QuerySmResult onAcceptQuerySm(QuerySm querySm, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("query_sm not supported", SMPPConstant.STAT_ESME_RQUERYFAIL);
+        }
+
+        @Override
+        public void onAcceptReplaceSm(ReplaceSm replaceSm, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("replace_sm not supported", SMPPConstant.STAT_ESME_RREPLACEFAIL);
+        }
+
+        @Override
+        public void onAcceptCancelSm(CancelSm cancelSm, SMPPServerSession source) throws ProcessRequestException {
+            throw new ProcessRequestException("cancel_sm not supported", SMPPConstant.STAT_ESME_RCANCELFAIL);
+        }
+
+        @Override
+        public BroadcastSmResult onAcceptBroadcastSm(BroadcastSm broadcastSm, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("broadcast_sm not supported", SMPPConstant.STAT_ESME_RBCASTFAIL);
+        }
+
+        @Override
+        public void onAcceptCancelBroadcastSm(CancelBroadcastSm cancelBroadcastSm, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("cancel_broadcast_sm not supported",
+                SMPPConstant.STAT_ESME_RBCASTCANCELFAIL);
+        }
+
+        @Override
+        public QueryBroadcastSmResult onAcceptQueryBroadcastSm(QueryBroadcastSm queryBroadcastSm,
+                SMPPServerSession source) throws ProcessRequestException {
+            throw new ProcessRequestException("query_broadcast_sm not supported",
+                SMPPConstant.STAT_ESME_RBCASTQUERYFAIL);
+        }
+
+        @Override
+        public DataSmResult onAcceptDataSm(DataSm dataSm, Session source) throws ProcessRequestException {
+            throw new ProcessRequestException("data_sm not supported", SMPPConstant.STAT_ESME_RSYSERR);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.MessageState;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.OptionalParameters;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.DefaultDecomposer;
+import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.PDUComposer;
+import org.jsmpp.util.PDUDecomposer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compose and decompose TLV heavy PDUs: a concatenated submit_sm segment with
+ * its message in message_payload, and a deliver_sm delivery receipt with the
+ * receipt TLVs. Deserializing the TLVs one by one measures
+ * {@link OptionalParameters#deserialize(short, byte[])} on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionalParametersBenchmark {
+    private static final OptionalParameter[] SUBMIT_SM_TLVS = new OptionalParameter[] {
+        new OptionalParameter.Sar_msg_ref_num((short)0x1234),
+        new OptionalParameter.Sar_total_segments((byte)3),
+        new OptionalParameter.Sar_segment_seqnum((byte)1),
+        new OptionalParameter.Source_port((short)2948),
+        new OptionalParameter.Destination_port((short)9200),
+        new OptionalParameter.User_message_reference((short)42),
+        new OptionalParameter.Message_payload(new byte[400])
+    };
+    private static final OptionalParameter[] DELIVER_SM_TLVS = new OptionalParameter[] {
+        new OptionalParameter.Receipted_message_id(ComposeBenchmark.MESSAGE_ID),
+        new OptionalParameter.Message_state(MessageState.DELIVERED.value()),
+        new OptionalParameter.Network_error_code(OptionalParameter.Network_error_code.Network_error_code_type.GSM,
+            (short)0),
+        new OptionalParameter.User_message_reference((short)42)
+    };
+
+    private final PDUComposer composer = new DefaultComposer();
+    private final PDUDecomposer decomposer = new DefaultDecomposer();
+
+    private byte[] submitSm;
+    private byte[] deliverSm;
+    private short[] tags;
+    private byte[][] contents;
+
+    @Setup
+    public void setUp() throws PDUStringException {
+        submitSm = composeSubmitSm();
+        deliverSm = composeDeliverSm();
+        tags = new short[SUBMIT_SM_TLVS.length];
+        contents = new byte[SUBMIT_SM_TLVS.length][];
+        for (int i = 0; i < SUBMIT_SM_TLVS.length; i++) {
+            byte[] serialized = SUBMIT_SM_TLVS[i].serialize();
+            tags[i] = OctetUtil.bytesToShort(serialized, 0);
+            contents[i] = new byte[serialized.length - 4];
+            System.arraycopy(serialized, 4, contents[i], 0, contents[i].length);
+        }
+    }
+
+    @Benchmark
+    public byte[] composeSubmitSm() throws PDUStringException {
+        return composer.submitSm(1, ComposeBenchmark.SERVICE_TYPE, (byte)1, (byte)1, ComposeBenchmark.SOURCE_ADDR,
+            (byte)1, (byte)1, ComposeBenchmark.DESTINATION_ADDR, (byte)0x40, (byte)0, (byte)0, null, null, (byte)1,
+            (byte)0, (byte)0, (byte)0, new byte[0], SUBMIT_SM_TLVS);
+    }
+
+    @Benchmark
+    public byte[] composeDeliverSm() throws PDUStringException {
+        return composer.deliverSm(1, ComposeBenchmark.SERVICE_TYPE, (byte)1, (byte)1,
+            ComposeBenchmark.DESTINATION_ADDR, (byte)1, (byte)1, ComposeBenchmark.SOURCE_ADDR, (byte)0x04, (byte)0,
+            (byte)0, (byte)0, (byte)0, DeliveryReceiptBenchmark.DELIVERY_RECEIPT.getBytes(), DELIVER_SM_TLVS);
+    }
+
+    @Benchmark
+    public SubmitSm decomposeSubmitSm() throws PDUStringException {
+        return decomposer.submitSm(submitSm);
+    }
+
+    @Benchmark
+    public DeliverSm decomposeDeliverSm() throws PDUStringException {
+        return decomposer.deliverSm(deliverSm);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(7)
+    public void deserialize(Blackhole blackhole) {
+        for (int i = 0; i < tags.length; i++) {
+            blackhole.consume(OptionalParameters.deserialize(tags[i], contents[i]));
+        }
+    }
+}
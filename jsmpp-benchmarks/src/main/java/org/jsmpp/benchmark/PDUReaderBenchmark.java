@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.BufferedPDUReader;
+import org.jsmpp.DefaultPDUReader;
+import org.jsmpp.InvalidCommandLengthException;
+import org.jsmpp.PDUReader;
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.Command;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read submit_sm PDUs from a stream with the {@link PDUReader} implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PDUReaderBenchmark {
+
+    @Param({"buffered", "default"})
+    public String reader;
+
+    private PDUReader pduReader;
+    private DataInputStream in;
+    private byte[] submitSm;
+
+    @Setup
+    public void setUp() throws PDUStringException {
+        pduReader = "buffered".equals(reader) ? new BufferedPDUReader() : new DefaultPDUReader();
+        submitSm = new ComposeBenchmark().submitSm();
+        in = new DataInputStream(new RepeatingInputStream(submitSm));
+    }
+
+    @Benchmark
+    public byte[] readPDU() throws InvalidCommandLengthException, IOException {
+        Command pduHeader = pduReader.readPDUHeader(in);
+        return pduReader.readPDU(in, pduHeader);
+    }
+
+    /**
+     * Endless stream repeating the same bytes, so reading never blocks and
+     * never reaches the end of the stream.
+     */
+    private static class RepeatingInputStream extends InputStream {
+        private final byte[] bytes;
+        private int position;
+
+        RepeatingInputStream(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            int b = bytes[position] & 0xff;
+            position = (position + 1) % bytes.length;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int n = Math.min(len, bytes.length - position);
+            System.arraycopy(bytes, position, b, off, n);
+            position = (position + n) % bytes.length;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.extra.PendingResponse;
+import org.jsmpp.session.ConcurrentMapPendingResponseTable;
+import org.jsmpp.session.PendingResponseTable;
+import org.jsmpp.session.RingPendingResponseTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the {@link PendingResponseTable} implementations. Every thread adds
+ * a pending response with the next sequence number of the shared sequence and
+ * removes its oldest one once it has a full window outstanding, like a session
+ * receiving the responses in order. The contended benchmark has several
+ * threads sharing the table, like the sending threads of one session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PendingResponseTableBenchmark {
+    private static final int THREADS = 4;
+    private static final int WINDOW = 100;
+    private static final PendingResponse<Command> PENDING_RESPONSE = new PendingResponse<>(1000);
+
+    @Param({"map", "ring"})
+    public String table;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private PendingResponseTable pendingResponses;
+
+    @Setup
+    public void setUp() {
+        pendingResponses = "ring".equals(table) ? new RingPendingResponseTable(THREADS * WINDOW)
+            : new ConcurrentMapPendingResponseTable();
+    }
+
+    /**
+     * The requests outstanding for one thread.
+     */
+    @State(Scope.Thread)
+    public static class Window {
+        private final int[] outstanding = new int[WINDOW];
+        private int next;
+        private boolean full;
+    }
+
+    @Benchmark
+    public PendingResponse<Command> putAndRemove(Window window) {
+        return putAndRemoveOldest(window);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public PendingResponse<Command> putAndRemoveContended(Window window) {
+        return putAndRemoveOldest(window);
+    }
+
+    private PendingResponse<Command> putAndRemoveOldest(Window window) {
+        PendingResponse<Command> removed = null;
+        if (window.full) {
+            removed = pendingResponses.remove(window.outstanding[window.next]);
+        }
+        int sequenceNumber = sequence.incrementAndGet();
+        window.outstanding[window.next] = sequenceNumber;
+        pendingResponses.put(sequenceNumber, PENDING_RESPONSE);
+        if (++window.next == WINDOW) {
+            window.next = 0;
+            window.full = true;
+        }
+        return removed;
+    }
+}
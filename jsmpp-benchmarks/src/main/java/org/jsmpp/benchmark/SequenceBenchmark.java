@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.util.Sequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the lock-free {@link Sequence} with the previous synchronized
+ * implementation. The contended benchmarks have several threads taking sequence
+ * numbers from one sequence, like the sending threads of one session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+    private static final int THREADS = 4;
+
+    private final Sequence sequence = new Sequence(1);
+    private final SynchronizedSequence synchronizedSequence = new SynchronizedSequence(1);
+
+    @Benchmark
+    public int lockFree() {
+        return sequence.nextValue();
+    }
+
+    @Benchmark
+    public int synchronizedLock() {
+        return synchronizedSequence.nextValue();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public int lockFreeContended() {
+        return sequence.nextValue();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public int synchronizedLockContended() {
+        return synchronizedSequence.nextValue();
+    }
+
+    /**
+     * The synchronized sequence used before jSMPP 3.1.0.
+     */
+    private static class SynchronizedSequence {
+        private int value;
+
+        SynchronizedSequence(int start) {
+            value = start;
+        }
+
+        synchronized int nextValue() {
+            int curValue = value++;
+            if (curValue == Integer.MAX_VALUE) {
+                value = 1;
+            }
+            return curValue;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsmpp.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.benchmark.ComposeBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Read the fields of a submit_sm with the {@link SequentialBytesReader} in the
+ * order the decomposer does. The reader is package private, so this benchmark
+ * lives in its package.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequentialBytesReaderBenchmark {
+    private byte[] submitSm;
+
+    @Setup
+    public void setUp() throws PDUStringException {
+        submitSm = new ComposeBenchmark().submitSm();
+    }
+
+    @Benchmark
+    public void readSubmitSm(Blackhole blackhole) {
+        SequentialBytesReader bytesReader = new SequentialBytesReader(submitSm);
+        blackhole.consume(bytesReader.readInt());
+        blackhole.consume(bytesReader.readInt());
+        blackhole.consume(bytesReader.readInt());
+        blackhole.consume(bytesReader.readInt());
+        blackhole.consume(bytesReader.readCString());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readCString());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readCString());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readCString());
+        blackhole.consume(bytesReader.readCString());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        blackhole.consume(bytesReader.readByte());
+        byte smLength = bytesReader.readByte();
+        blackhole.consume(bytesReader.readBytes(smLength));
+    }
+}
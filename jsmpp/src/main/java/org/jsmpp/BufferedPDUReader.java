@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp;
+
+import static org.jsmpp.SMPPConstant.PDU_HEADER_LENGTH;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.util.OctetUtil;
+
+/**
+ * {@link PDUReader} reading the PDU header with one read into a reusable buffer,
+ * instead of four {@link DataInputStream#readInt()} calls. The body is read
+ * straight into the PDU array, which is the only array allocated per PDU.
+ * <p>
+ * The header buffer makes this reader stateful, so every session needs its own
+ * instance, read by a single thread.
+ * </p>
+ */
+public class BufferedPDUReader extends DefaultPDUReader {
+    private final byte[] header = new byte[PDU_HEADER_LENGTH];
+
+    @Override
+    public Command readPDUHeader(DataInputStream in)
+            throws InvalidCommandLengthException, IOException {
+        in.readFully(header, 0, 4);
+        int commandLength = OctetUtil.bytesToInt(header, 0);
+        if (commandLength < PDU_HEADER_LENGTH) {
+            // command length too short, read the left dump anyway
+            if (commandLength > 4) {
+                in.read(header, 4, commandLength - 4);
+            }
+            throw new InvalidCommandLengthException("Command length "
+                    + commandLength + " is too short");
+        }
+        in.readFully(header, 4, PDU_HEADER_LENGTH - 4);
+        Command pduHeader = new Command();
+        pduHeader.setCommandLength(commandLength);
+        pduHeader.setCommandId(OctetUtil.bytesToInt(header, 4));
+        pduHeader.setCommandStatus(OctetUtil.bytesToInt(header, 8));
+        pduHeader.setSequenceNumber(OctetUtil.bytesToInt(header, 12));
+        return pduHeader;
+    }
+}
@@ -75,15 +75,13 @@ public class DefaultPDUReader implements PDUReader {
             int commandStatus, int sequenceNumber) throws IOException {
 
         byte[] b = new byte[commandLength];
-        System.arraycopy(OctetUtil.intToBytes(commandLength), 0, b, 0, 4);
-        System.arraycopy(OctetUtil.intToBytes(commandId), 0, b, 4, 4);
-        System.arraycopy(OctetUtil.intToBytes(commandStatus), 0, b, 8, 4);
-        System.arraycopy(OctetUtil.intToBytes(sequenceNumber), 0, b, 12, 4);
+        OctetUtil.intToBytes(commandLength, b, 0);
+        OctetUtil.intToBytes(commandId, b, 4);
+        OctetUtil.intToBytes(commandStatus, b, 8);
+        OctetUtil.intToBytes(sequenceNumber, b, 12);
 
         if (commandLength > PDU_HEADER_LENGTH) {
-            synchronized (in) {
-                in.readFully(b, PDU_HEADER_LENGTH, commandLength - PDU_HEADER_LENGTH);
-            }
+            in.readFully(b, PDU_HEADER_LENGTH, commandLength - PDU_HEADER_LENGTH);
         }
         return b;
     }
@@ -69,6 +69,16 @@ public class DefaultPDUSender implements PDUSender {
         this.pduComposer = pduComposer;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.jsmpp.PDUSender#getPduComposer()
+     */
+    @Override
+    public PDUComposer getPduComposer() {
+        return pduComposer;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -84,6 +94,39 @@ public class DefaultPDUSender implements PDUSender {
         return b;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.jsmpp.PDUSender#sendPdu(java.io.OutputStream, int, byte[])
+     */
+    @Override
+    public byte[] sendPdu(OutputStream os, int sequenceNumber, byte[] pdu) throws IOException {
+        byte[] b = pdu.clone();
+        OctetUtil.intToBytes(sequenceNumber, b, 12);
+        writeAndFlush(os, b);
+        return b;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.jsmpp.PDUSender#sendPdus(java.io.OutputStream, byte[], int)
+     */
+    @Override
+    public void sendPdus(OutputStream os, byte[] pdus, int length) throws IOException {
+        if (log.isDebugEnabled()) {
+            int offset = 0;
+            while (offset < length) {
+                int end = offset + OctetUtil.bytesToInt(pdus, offset);
+                // the hex conversion takes the end offset
+                log.debug("Sending PDU {}", HexUtil.convertBytesToHexString(pdus, offset, end));
+                offset = end;
+            }
+        }
+        os.write(pdus, 0, length);
+        os.flush();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -29,6 +29,9 @@ import org.jsmpp.bean.RegisteredDelivery;
 import org.jsmpp.bean.ReplaceIfPresentFlag;
 import org.jsmpp.bean.TypeOfNumber;
 import org.jsmpp.bean.UnsuccessDelivery;
+import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.PDUComposer;
 
 /**
  * This class provides a way to send SMPP Commands over an {@link OutputStream}.
@@ -54,6 +57,50 @@ public interface PDUSender {
     byte[] sendHeader(OutputStream os, int commandId, int commandStatus,
             int sequenceNumber) throws IOException;
 
+    /**
+     * Send a composed PDU, such as a received PDU being relayed, with its
+     * sequence_number replaced. The PDU itself is not modified. The default
+     * writes a copy of the PDU and flushes the stream.
+     *
+     * @param os the {@link OutputStream}
+     * @param sequenceNumber the sequence_number
+     * @param pdu the composed PDU, including the header
+     * @return the sent bytes
+     * @throws IOException if an input or output error occurred
+     */
+    default byte[] sendPdu(OutputStream os, int sequenceNumber, byte[] pdu) throws IOException {
+        byte[] b = pdu.clone();
+        OctetUtil.intToBytes(sequenceNumber, b, 12);
+        os.write(b);
+        os.flush();
+        return b;
+    }
+
+    /**
+     * Send several composed PDUs, with their sequence_number already set, in
+     * one write. The default writes the bytes and flushes the stream.
+     *
+     * @param os the {@link OutputStream}
+     * @param pdus the composed PDUs, one after the other
+     * @param length the number of bytes of the PDUs
+     * @throws IOException if an input or output error occurred
+     */
+    default void sendPdus(OutputStream os, byte[] pdus, int length) throws IOException {
+        os.write(pdus, 0, length);
+        os.flush();
+    }
+
+    /**
+     * Get the composer of the PDUs, for the PDUs composed before they are sent
+     * with {@link #sendPdus(OutputStream, byte[], int)}. The default is a
+     * {@link DefaultComposer}.
+     *
+     * @return the PDU composer
+     */
+    default PDUComposer getPduComposer() {
+        return new DefaultComposer();
+    }
+
     /**
      * Send bind command.
      *
@@ -29,6 +29,7 @@ import org.jsmpp.bean.RegisteredDelivery;
 import org.jsmpp.bean.ReplaceIfPresentFlag;
 import org.jsmpp.bean.TypeOfNumber;
 import org.jsmpp.bean.UnsuccessDelivery;
+import org.jsmpp.util.PDUComposer;
 
 /**
  * PDU sender with synchronized {@link OutputStream}.
@@ -57,6 +58,16 @@ public class SynchronizedPDUSender implements PDUSender {
         this.pduSender = pduSender;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.jsmpp.PDUSender#getPduComposer()
+     */
+    @Override
+    public PDUComposer getPduComposer() {
+        return pduSender.getPduComposer();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -71,6 +82,30 @@ public class SynchronizedPDUSender implements PDUSender {
         }
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.jsmpp.PDUSender#sendPdu(java.io.OutputStream, int, byte[])
+     */
+    @Override
+    public byte[] sendPdu(OutputStream os, int sequenceNumber, byte[] pdu) throws IOException {
+        synchronized (os) {
+            return pduSender.sendPdu(os, sequenceNumber, pdu);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.jsmpp.PDUSender#sendPdus(java.io.OutputStream, byte[], int)
+     */
+    @Override
+    public void sendPdus(OutputStream os, byte[] pdus, int length) throws IOException {
+        synchronized (os) {
+            pduSender.sendPdus(os, pdus, length);
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
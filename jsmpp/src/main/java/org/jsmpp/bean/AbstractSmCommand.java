@@ -189,17 +189,17 @@ public class AbstractSmCommand extends Command {
 
     public <U extends OptionalParameter> U getOptionalParameter(Class<U> tagClass)
     {
-    	return OptionalParameters.get(tagClass, optionalParameters);
+    	return OptionalParameters.get(tagClass, getOptionalParameters());
     }
     
     public OptionalParameter getOptionalParameter(Tag tagEnum)
     {
-    	return OptionalParameters.get(tagEnum.code(), optionalParameters);
+    	return OptionalParameters.get(tagEnum.code(), getOptionalParameters());
     }
 
     public OptionalParameter getOptionalParameter(short code)
     {
-        return OptionalParameters.get(code, optionalParameters);
+        return OptionalParameters.get(code, getOptionalParameters());
     }
     
     public OptionalParameter[] getOptionalParameters() {
@@ -122,6 +122,14 @@ public enum Alphabet {
     private final boolean valid;
     private final boolean unspecified;
 
+    private static final Alphabet[] BY_VALUE = new Alphabet[256];
+
+    static {
+        for (Alphabet val : values()) {
+            BY_VALUE[val.value & 0xff] = val;
+        }
+    }
+
     /**
      * Default constructor.
      *
@@ -181,24 +189,23 @@ public enum Alphabet {
      *         for given value.
      */
     public static Alphabet valueOf(byte value) throws IllegalArgumentException {
-        for (Alphabet val : values()) {
-            if (val.value == value)
-                return val;
+        Alphabet val = BY_VALUE[value & 0xff];
+        if (val == null) {
+            throw new IllegalArgumentException("No enum const Alphabet with value "
+                    + value);
         }
-        throw new IllegalArgumentException("No enum const Alphabet with value "
-                + value);
+        return val;
     }
 
     public static Alphabet parseDataCoding(byte dataCoding) throws IllegalArgumentException {
         byte mask = DataCodings.containsMessageClass(dataCoding) ? MASK_ALPHABET_MESSAGE_CLASS : MASK_ALPHABET;
         byte value = (byte)(dataCoding & mask);
-        for (Alphabet val : values()) {
-            if (val.value == value) {
-                return val;
-            }
+        Alphabet val = BY_VALUE[value & 0xff];
+        if (val == null) {
+            throw new IllegalArgumentException("No enum const Alphabet with value "
+                    + value + " for dataCoding " + dataCoding);
         }
-        throw new IllegalArgumentException("No enum const Alphabet with value "
-                + value + " for dataCoding " + dataCoding);
+        return val;
     }
 
 }
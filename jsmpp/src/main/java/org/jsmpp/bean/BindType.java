@@ -50,6 +50,14 @@ public enum BindType {
 
     private final int bindCommandId;
 
+    private static final BindType[] BY_COMMAND_ID = new BindType[SMPPConstant.CID_BIND_TRANSCEIVER + 1];
+
+    static {
+        for (BindType bindType : values()) {
+            BY_COMMAND_ID[bindType.bindCommandId] = bindType;
+        }
+    }
+
     BindType(int bindCommandId) {
         this.bindCommandId = bindCommandId;
     }
@@ -101,12 +109,12 @@ public enum BindType {
      */
     public static BindType valueOf(int bindCommandId)
             throws IllegalArgumentException {
-        for (BindType bindType : values()) {
-            if (bindType.bindCommandId == bindCommandId) {
-                return bindType;
-            }
+        BindType bindType = bindCommandId >= 0 && bindCommandId < BY_COMMAND_ID.length
+            ? BY_COMMAND_ID[bindCommandId] : null;
+        if (bindType == null) {
+            throw new IllegalArgumentException(
+                    "No enum const BindType with command id " + bindCommandId);
         }
-        throw new IllegalArgumentException(
-                "No enum const BindType with command id " + bindCommandId);
+        return bindType;
     }
 }
@@ -47,12 +47,27 @@ public final class DataCodings {
     }
 
     /**
-     * Create new instance of {@link DataCoding}.
+     * The immutable {@link DataCoding} of every data_coding value.
+     */
+    private static final DataCoding[] instances = new DataCoding[256];
+    static {
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = createInstance((byte) i);
+        }
+    }
+
+    /**
+     * Get the {@link DataCoding} of a data_coding value. The instances are
+     * immutable and shared, so no object is created.
      * 
      * @param dataCoding the data coding as byte
      * @return the DataCoding object
      */
     public static DataCoding newInstance(byte dataCoding) {
+        return instances[dataCoding & 0xff];
+    }
+
+    private static DataCoding createInstance(byte dataCoding) {
         for (DataCodingFactory factory : factories) {
             if (factory.isRecognized(dataCoding)) {
                 return factory.newInstance(dataCoding);
@@ -46,6 +46,14 @@ public enum InterfaceVersion {
 
     private byte value;
 
+    private static final InterfaceVersion[] BY_VALUE = new InterfaceVersion[256];
+
+    static {
+        for (InterfaceVersion val : values()) {
+            BY_VALUE[val.value & 0xff] = val;
+        }
+    }
+
     InterfaceVersion(byte value) {
         this.value = value;
     }
@@ -69,13 +77,12 @@ public enum InterfaceVersion {
      */
     public static InterfaceVersion valueOf(byte value)
             throws IllegalArgumentException {
-        for (InterfaceVersion val : values()) {
-            if (val.value == value)
-                return val;
+        InterfaceVersion val = BY_VALUE[value & 0xff];
+        if (val == null) {
+            throw new IllegalArgumentException(
+                    "No enum const InterfaceVersion with value " + value);
         }
-
-        throw new IllegalArgumentException(
-                "No enum const InterfaceVersion with value " + value);
+        return val;
     }
 
     /**
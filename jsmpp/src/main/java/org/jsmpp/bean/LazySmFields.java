@@ -0,0 +1,183 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.bean;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.StringParameter;
+import org.jsmpp.util.StringValidator;
+
+/**
+ * The raw fields of a submit_sm or deliver_sm, which share the same layout.
+ * The fixed size fields are set on the request right away, the strings, the
+ * short message and the optional parameters are decoded on first access.
+ */
+final class LazySmFields implements Serializable {
+    private static final long serialVersionUID = 2915048372467325690L;
+
+    static final int SERVICE_TYPE = 0;
+    static final int SOURCE_ADDR = 1;
+    static final int DEST_ADDRESS = 2;
+    static final int SCHEDULE_DELIVERY_TIME = 3;
+    static final int VALIDITY_PERIOD = 4;
+    static final int SHORT_MESSAGE = 5;
+    static final int OPTIONAL_PARAMETERS = 6;
+
+    private static final OptionalParameter[] NO_OPTIONAL_PARAMETERS = new OptionalParameter[0];
+
+    private final byte[] pdu;
+    private final int[] offsets = new int[7];
+    private final int[] lengths = new int[6];
+    private int decoded;
+
+    /**
+     * Scan the PDU, set the header and the fixed size fields on the request,
+     * and validate the length of the strings.
+     *
+     * @param pdu is the PDU.
+     * @param req is the request.
+     * @throws PDUStringException if a string is not valid.
+     */
+    LazySmFields(byte[] pdu, MessageRequest req) throws PDUStringException {
+        this.pdu = pdu;
+        req.setCommandLength(OctetUtil.bytesToInt(pdu, 0));
+        req.setCommandId(OctetUtil.bytesToInt(pdu, 4));
+        req.setCommandStatus(OctetUtil.bytesToInt(pdu, 8));
+        req.setSequenceNumber(OctetUtil.bytesToInt(pdu, 12));
+        int cursor = scanCOctetString(SERVICE_TYPE, SMPPConstant.PDU_HEADER_LENGTH, StringParameter.SERVICE_TYPE);
+        req.setSourceAddrTon(pdu[cursor++]);
+        req.setSourceAddrNpi(pdu[cursor++]);
+        cursor = scanCOctetString(SOURCE_ADDR, cursor, StringParameter.SOURCE_ADDR);
+        req.setDestAddrTon(pdu[cursor++]);
+        req.setDestAddrNpi(pdu[cursor++]);
+        cursor = scanCOctetString(DEST_ADDRESS, cursor, StringParameter.DESTINATION_ADDR);
+        req.setEsmClass(pdu[cursor++]);
+        req.setProtocolId(pdu[cursor++]);
+        req.setPriorityFlag(pdu[cursor++]);
+        cursor = scanCOctetString(SCHEDULE_DELIVERY_TIME, cursor, StringParameter.SCHEDULE_DELIVERY_TIME);
+        cursor = scanCOctetString(VALIDITY_PERIOD, cursor, StringParameter.VALIDITY_PERIOD);
+        req.setRegisteredDelivery(pdu[cursor++]);
+        req.setReplaceIfPresent(pdu[cursor++]);
+        req.setDataCoding(pdu[cursor++]);
+        req.setSmDefaultMsgId(pdu[cursor++]);
+        int smLength = pdu[cursor++] & 0xff;
+        if (cursor + smLength > pdu.length) {
+            throw new ArrayIndexOutOfBoundsException("short_message exceeds the PDU");
+        }
+        offsets[SHORT_MESSAGE] = cursor;
+        lengths[SHORT_MESSAGE] = smLength;
+        StringValidator.validateString(pdu, cursor, smLength, StringParameter.SHORT_MESSAGE);
+        cursor += smLength;
+        offsets[OPTIONAL_PARAMETERS] = cursor;
+        // check the framing of the optional parameters now, their content is decoded later
+        while (cursor < pdu.length) {
+            cursor += 4 + (OctetUtil.bytesToShort(pdu, cursor + 2) & 0xffff);
+            if (cursor > pdu.length) {
+                throw new ArrayIndexOutOfBoundsException("Optional parameter exceeds the PDU");
+            }
+        }
+    }
+
+    private int scanCOctetString(int field, int offset, StringParameter param) throws PDUStringException {
+        int end = offset;
+        while (pdu[end] != 0) {
+            end++;
+        }
+        offsets[field] = offset;
+        lengths[field] = end - offset;
+        StringValidator.validateString(pdu, offset, end - offset, param);
+        return end + 1;
+    }
+
+    byte[] getPdu() {
+        return pdu;
+    }
+
+    /**
+     * Mark a field decoded.
+     *
+     * @param field is the field.
+     * @return {@code true} if the field has not been decoded or set before.
+     */
+    boolean decode(int field) {
+        int mask = 1 << field;
+        if ((decoded & mask) != 0) {
+            return false;
+        }
+        decoded |= mask;
+        return true;
+    }
+
+    boolean isDecoded(int field) {
+        return (decoded & (1 << field)) != 0;
+    }
+
+    String getString(int field) {
+        int length = lengths[field];
+        if (length == 0) {
+            return null;
+        }
+        return new String(pdu, offsets[field], length);
+    }
+
+    byte[] getShortMessage() {
+        byte[] shortMessage = new byte[lengths[SHORT_MESSAGE]];
+        System.arraycopy(pdu, offsets[SHORT_MESSAGE], shortMessage, 0, shortMessage.length);
+        return shortMessage;
+    }
+
+    OptionalParameter[] getOptionalParameters() {
+        int cursor = offsets[OPTIONAL_PARAMETERS];
+        if (cursor == pdu.length) {
+            return NO_OPTIONAL_PARAMETERS;
+        }
+        List<OptionalParameter> params = new ArrayList<>();
+        while (cursor < pdu.length) {
+            short tag = OctetUtil.bytesToShort(pdu, cursor);
+            int length = OctetUtil.bytesToShort(pdu, cursor + 2) & 0xffff;
+            byte[] content = new byte[length];
+            System.arraycopy(pdu, cursor + 4, content, 0, length);
+            params.add(OptionalParameters.deserialize(tag, content));
+            cursor += 4 + length;
+        }
+        return params.toArray(NO_OPTIONAL_PARAMETERS);
+    }
+
+    /**
+     * Decode the first optional parameter with the tag, skipping over the
+     * others in the PDU.
+     *
+     * @param tag is the tag.
+     * @return the optional parameter, or {@code null} if there is none.
+     */
+    OptionalParameter getOptionalParameter(short tag) {
+        int cursor = offsets[OPTIONAL_PARAMETERS];
+        while (cursor < pdu.length) {
+            int length = OctetUtil.bytesToShort(pdu, cursor + 2) & 0xffff;
+            if (OctetUtil.bytesToShort(pdu, cursor) == tag) {
+                byte[] content = new byte[length];
+                System.arraycopy(pdu, cursor + 4, content, 0, length);
+                return OptionalParameters.deserialize(tag, content);
+            }
+            cursor += 4 + length;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.bean;
+
+import org.jsmpp.PDUStringException;
+
+/**
+ * A {@link SubmitSm} decoded on demand from the PDU it was received in.
+ * <p>
+ * The header and the fixed size fields are decoded right away. The strings,
+ * the short message and the optional parameters are decoded when they are
+ * first read, so a submit_sm that is only routed or forwarded is never
+ * fully decoded. The length of the strings is validated right away, like the
+ * {@link org.jsmpp.util.DefaultDecomposer} does.
+ * </p>
+ *
+ * @see org.jsmpp.util.LazyDecomposer
+ */
+public class LazySubmitSm extends SubmitSm {
+    private static final long serialVersionUID = -7016842385219745031L;
+
+    private final LazySmFields fields;
+
+    /**
+     * Construct from a submit_sm PDU.
+     *
+     * @param pdu is the PDU, including the header.
+     * @throws PDUStringException if a string in the PDU is not valid.
+     */
+    public LazySubmitSm(byte[] pdu) throws PDUStringException {
+        super();
+        fields = new LazySmFields(pdu, this);
+    }
+
+    /**
+     * Get the PDU this submit_sm is decoded from. It does not reflect changes
+     * made with the setters and must not be modified.
+     *
+     * @return the PDU.
+     */
+    public byte[] getPdu() {
+        return fields.getPdu();
+    }
+
+    @Override
+    public String getServiceType() {
+        if (fields.decode(LazySmFields.SERVICE_TYPE)) {
+            serviceType = fields.getString(LazySmFields.SERVICE_TYPE);
+        }
+        return serviceType;
+    }
+
+    @Override
+    public void setServiceType(String serviceType) {
+        fields.decode(LazySmFields.SERVICE_TYPE);
+        super.setServiceType(serviceType);
+    }
+
+    @Override
+    public String getSourceAddr() {
+        if (fields.decode(LazySmFields.SOURCE_ADDR)) {
+            sourceAddr = fields.getString(LazySmFields.SOURCE_ADDR);
+        }
+        return sourceAddr;
+    }
+
+    @Override
+    public void setSourceAddr(String sourceAddr) {
+        fields.decode(LazySmFields.SOURCE_ADDR);
+        super.setSourceAddr(sourceAddr);
+    }
+
+    @Override
+    public String getDestAddress() {
+        if (fields.decode(LazySmFields.DEST_ADDRESS)) {
+            destAddress = fields.getString(LazySmFields.DEST_ADDRESS);
+        }
+        return destAddress;
+    }
+
+    @Override
+    public void setDestAddress(String destAddress) {
+        fields.decode(LazySmFields.DEST_ADDRESS);
+        super.setDestAddress(destAddress);
+    }
+
+    @Override
+    public String getScheduleDeliveryTime() {
+        if (fields.decode(LazySmFields.SCHEDULE_DELIVERY_TIME)) {
+            scheduleDeliveryTime = fields.getString(LazySmFields.SCHEDULE_DELIVERY_TIME);
+        }
+        return scheduleDeliveryTime;
+    }
+
+    @Override
+    public void setScheduleDeliveryTime(String scheduleDeliveryTime) {
+        fields.decode(LazySmFields.SCHEDULE_DELIVERY_TIME);
+        super.setScheduleDeliveryTime(scheduleDeliveryTime);
+    }
+
+    @Override
+    public String getValidityPeriod() {
+        if (fields.decode(LazySmFields.VALIDITY_PERIOD)) {
+            validityPeriod = fields.getString(LazySmFields.VALIDITY_PERIOD);
+        }
+        return validityPeriod;
+    }
+
+    @Override
+    public void setValidityPeriod(String validityPeriod) {
+        fields.decode(LazySmFields.VALIDITY_PERIOD);
+        super.setValidityPeriod(validityPeriod);
+    }
+
+    @Override
+    public byte[] getShortMessage() {
+        if (fields.decode(LazySmFields.SHORT_MESSAGE)) {
+            shortMessage = fields.getShortMessage();
+        }
+        return shortMessage;
+    }
+
+    @Override
+    public void setShortMessage(byte[] shortMessage) {
+        fields.decode(LazySmFields.SHORT_MESSAGE);
+        super.setShortMessage(shortMessage);
+    }
+
+    @Override
+    public OptionalParameter[] getOptionalParameters() {
+        if (fields.decode(LazySmFields.OPTIONAL_PARAMETERS)) {
+            optionalParameters = fields.getOptionalParameters();
+        }
+        return optionalParameters;
+    }
+
+    @Override
+    public void setOptionalParameters(OptionalParameter... optionalParameters) {
+        fields.decode(LazySmFields.OPTIONAL_PARAMETERS);
+        super.setOptionalParameters(optionalParameters);
+    }
+
+    /**
+     * Get an optional parameter. Until all optional parameters are decoded,
+     * only the requested one is decoded from the PDU.
+     */
+    @Override
+    public OptionalParameter getOptionalParameter(short code) {
+        if (fields.isDecoded(LazySmFields.OPTIONAL_PARAMETERS)) {
+            return super.getOptionalParameter(code);
+        }
+        return fields.getOptionalParameter(code);
+    }
+
+    @Override
+    public OptionalParameter getOptionalParameter(OptionalParameter.Tag tagEnum) {
+        return getOptionalParameter(tagEnum.code());
+    }
+
+    @Override
+    public <U extends OptionalParameter> U getOptionalParameter(Class<U> tagClass) {
+        OptionalParameter.Tag tag = OptionalParameter.Tag.valueOf(tagClass);
+        if (tag == null || fields.isDecoded(LazySmFields.OPTIONAL_PARAMETERS)) {
+            return super.getOptionalParameter(tagClass);
+        }
+        OptionalParameter optionalParameter = fields.getOptionalParameter(tag.code());
+        return optionalParameter != null && optionalParameter.getClass() == tagClass
+            ? tagClass.cast(optionalParameter) : null;
+    }
+
+    private void decodeAll() {
+        getServiceType();
+        getSourceAddr();
+        getDestAddress();
+        getScheduleDeliveryTime();
+        getValidityPeriod();
+        getShortMessage();
+        getOptionalParameters();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        decodeAll();
+        if (o instanceof LazySubmitSm) {
+            ((LazySubmitSm) o).decodeAll();
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        decodeAll();
+        return super.hashCode();
+    }
+}
@@ -28,6 +28,8 @@ public enum MessageClass {
 
     private final byte value;
 
+    private static final MessageClass[] BY_VALUE = values();
+
     MessageClass(byte value) {
         this.value = value;
     }
@@ -37,21 +39,15 @@ public enum MessageClass {
     }
 
     public static MessageClass valueOf(byte value) {
-        for (MessageClass val : values()) {
-            if (val.value == value)
-                return val;
+        // the constants are declared in the order of their value
+        if (value < 0 || value >= BY_VALUE.length) {
+            throw new IllegalArgumentException(
+                    "No enum const MessageClass with value " + value);
         }
-        throw new IllegalArgumentException(
-                "No enum const MessageClass with value " + value);
+        return BY_VALUE[value];
     }
     
     public static MessageClass parseDataCoding(byte dataCoding) {
-        byte value = (byte)(dataCoding & MASK_MESSAGE_CLASS);
-        for (MessageClass val : values()) {
-            if (val.value == value)
-                return val;
-        }
-        throw new IllegalArgumentException(
-                "No enum const MessageClass with value " + value + " from dataCoding " + dataCoding);
+        return BY_VALUE[dataCoding & MASK_MESSAGE_CLASS];
     }
 }
@@ -38,6 +38,14 @@ public enum NumberingPlanIndicator {
 	
 	private byte value;
 
+	private static final NumberingPlanIndicator[] BY_VALUE = new NumberingPlanIndicator[256];
+
+	static {
+		for (NumberingPlanIndicator val : values()) {
+			BY_VALUE[val.value & 0xff] = val;
+		}
+	}
+
 	NumberingPlanIndicator(byte value) {
 		this.value = value;
 	}
@@ -61,13 +69,11 @@ public enum NumberingPlanIndicator {
 	 */
 	public static NumberingPlanIndicator valueOf(byte value)
             throws IllegalArgumentException {
-		for (NumberingPlanIndicator val : values()) {
-			if (val.value == value) {
-				return val;
-			}
+		NumberingPlanIndicator val = BY_VALUE[value & 0xff];
+		if (val == null) {
+			throw new IllegalArgumentException(
+		            "No enum const NumberingPlanIndicator with value " + value);
 		}
-		
-		throw new IllegalArgumentException(
-	            "No enum const NumberingPlanIndicator with value " + value);
+		return val;
 	}
 }
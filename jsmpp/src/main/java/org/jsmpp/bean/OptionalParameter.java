@@ -15,8 +15,9 @@
 package org.jsmpp.bean;
 
 import java.io.UnsupportedEncodingException;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import org.jsmpp.util.HexUtil;
@@ -32,6 +33,9 @@ import org.jsmpp.util.OctetUtil;
  */
 public abstract class OptionalParameter {
 
+    // the types declared here write themselves in place
+    private static final String NESTED_TYPE_PREFIX = OptionalParameter.class.getName() + "$";
+
     public final short tag;
 
     public OptionalParameter(short tag) {
@@ -44,12 +48,57 @@ public abstract class OptionalParameter {
      * @return A byte array according to the SMPP specification
      */
     public byte[] serialize() {
-        byte[] value = serializeValue();
-        ByteBuffer buffer = ByteBuffer.allocate(value.length + 4);
-        buffer.putShort(tag);
-        buffer.putShort((short)value.length);
-        buffer.put(value);
-        return buffer.array();
+        if (!isNestedType()) {
+            byte[] value = serializeValue();
+            byte[] serialized = new byte[value.length + 4];
+            OctetUtil.shortToBytes(tag, serialized, 0);
+            OctetUtil.shortToBytes((short)value.length, serialized, 2);
+            System.arraycopy(value, 0, serialized, 4, value.length);
+            return serialized;
+        }
+        byte[] serialized = new byte[serializedLength()];
+        serialize(serialized, 0);
+        return serialized;
+    }
+
+    /**
+     * Write the serialized form of the optional parameter into the array,
+     * without creating an intermediate array for the value. A subclass
+     * declared outside of this class is written with {@link #serialize()}, so
+     * its overrides of {@link #serialize()} and {@link #serializeValue()} are
+     * kept.
+     *
+     * @param dest is the destination array.
+     * @param offset is the offset of the tag in the destination array.
+     * @return the offset following the optional parameter in the destination array.
+     */
+    public int serialize(byte[] dest, int offset) {
+        if (!isNestedType()) {
+            byte[] serialized = serialize();
+            System.arraycopy(serialized, 0, dest, offset, serialized.length);
+            return offset + serialized.length;
+        }
+        int valueLength = valueLength();
+        OctetUtil.shortToBytes(tag, dest, offset);
+        OctetUtil.shortToBytes((short)valueLength, dest, offset + 2);
+        serializeValue(dest, offset + 4);
+        return offset + 4 + valueLength;
+    }
+
+    /**
+     * Get the length of the serialized form, the tag and the length included.
+     *
+     * @return the number of octets written by {@link #serialize(byte[], int)}.
+     */
+    public int serializedLength() {
+        if (!isNestedType()) {
+            return serialize().length;
+        }
+        return 4 + valueLength();
+    }
+
+    private boolean isNestedType() {
+        return getClass().getName().startsWith(NESTED_TYPE_PREFIX);
     }
 
     /**
@@ -59,6 +108,28 @@ public abstract class OptionalParameter {
      * @return the serialized bytes
      */
     protected abstract byte[] serializeValue();
+
+    /**
+     * Get the length of the value part. Subclasses knowing the length override
+     * this, the default serializes the value.
+     *
+     * @return the length of the value.
+     */
+    protected int valueLength() {
+        return serializeValue().length;
+    }
+
+    /**
+     * Write the value part into the array. Subclasses override this to write
+     * the value in place, the default copies the serialized value.
+     *
+     * @param dest is the destination array.
+     * @param offset is the offset of the value in the destination array.
+     */
+    protected void serializeValue(byte[] dest, int offset) {
+        byte[] value = serializeValue();
+        System.arraycopy(value, 0, dest, offset, value.length);
+    }
     
     /**
      * An optional parameter with an empty value field.
@@ -76,6 +147,15 @@ public abstract class OptionalParameter {
         protected byte[] serializeValue() {
             return new byte[0];
         }
+
+        @Override
+        protected int valueLength() {
+            return 0;
+        }
+
+        @Override
+        protected void serializeValue(byte[] dest, int offset) {
+        }
     }
 
     /**
@@ -118,6 +198,16 @@ public abstract class OptionalParameter {
         protected byte[] serializeValue() {
             return OctetUtil.shortToBytes(value);
         }
+
+        @Override
+        protected int valueLength() {
+            return 2;
+        }
+
+        @Override
+        protected void serializeValue(byte[] dest, int offset) {
+            OctetUtil.shortToBytes(value, dest, offset);
+        }
         
         /**
          * Print Optional Parameter byte in hex format
@@ -156,6 +246,16 @@ public abstract class OptionalParameter {
         protected byte[] serializeValue() {
             return OctetUtil.intToBytes(value);
         }
+
+        @Override
+        protected int valueLength() {
+            return 4;
+        }
+
+        @Override
+        protected void serializeValue(byte[] dest, int offset) {
+            OctetUtil.intToBytes(value, dest, offset);
+        }
         
         /**
          * Print Optional Parameter byte in hex format
@@ -194,6 +294,16 @@ public abstract class OptionalParameter {
         protected byte[] serializeValue() {
             return new byte[] { value };
         }
+
+        @Override
+        protected int valueLength() {
+            return 1;
+        }
+
+        @Override
+        protected void serializeValue(byte[] dest, int offset) {
+            dest[offset] = value;
+        }
         
         /**
          * Print Optional Parameter byte in hex format
@@ -250,6 +360,16 @@ public abstract class OptionalParameter {
         protected byte[] serializeValue() {
             return value;
         }
+
+        @Override
+        protected int valueLength() {
+            return value.length;
+        }
+
+        @Override
+        protected void serializeValue(byte[] dest, int offset) {
+            System.arraycopy(value, 0, dest, offset, value.length);
+        }
     }
 
     /**
@@ -2558,6 +2678,25 @@ public abstract class OptionalParameter {
         private final short code;
         final Class<? extends OptionalParameter> type;
 
+        /*
+         * The tags indexed by code, up to the highest code; the codes are
+         * sparse but small, so this is a few kilobytes.
+         */
+        private static final Tag[] BY_CODE;
+        private static final Map<Class<? extends OptionalParameter>, Tag> BY_TYPE = new HashMap<>();
+
+        static {
+            int maxCode = 0;
+            for (Tag tag : values()) {
+                maxCode = Math.max(maxCode, tag.code & 0xffff);
+                BY_TYPE.put(tag.type, tag);
+            }
+            BY_CODE = new Tag[maxCode + 1];
+            for (Tag tag : values()) {
+                BY_CODE[tag.code & 0xffff] = tag;
+            }
+        }
+
          Tag(int code, Class<? extends OptionalParameter> type) {
             this.code = (short)code;
             this.type = type;
@@ -2577,11 +2716,18 @@ public abstract class OptionalParameter {
         }
 
         public static Tag valueOf(short code) {
-            for (Tag tag : Tag.values()) {
-                if (tag.code == code)
-                    return tag;
-            }
-            return null;
+            int index = code & 0xffff;
+            return index < BY_CODE.length ? BY_CODE[index] : null;
+        }
+
+        /**
+         * Get the {@link Tag} of an optional parameter type.
+         *
+         * @param type is the optional parameter type.
+         * @return the tag, or {@code null} if the type is not the type of a tag.
+         */
+        public static Tag valueOf(Class<? extends OptionalParameter> type) {
+            return BY_TYPE.get(type);
         }
     }
 
@@ -34,6 +34,14 @@ public enum TypeOfNumber {
 	ABBREVIATED(SMPPConstant.TON_ABBREVIATED);
 	
 	private byte value;
+
+	private static final TypeOfNumber[] BY_VALUE = new TypeOfNumber[256];
+
+	static {
+		for (TypeOfNumber val : values()) {
+			BY_VALUE[val.value & 0xff] = val;
+		}
+	}
     
 	TypeOfNumber(byte value) {
 		this.value = value;
@@ -58,12 +66,11 @@ public enum TypeOfNumber {
      *         with specified byte value.
      */
 	public static TypeOfNumber valueOf(byte value) {
-		for (TypeOfNumber val : values()) {
-			if (val.value == value)
-				return val;
+		TypeOfNumber val = BY_VALUE[value & 0xff];
+		if (val == null) {
+			throw new IllegalArgumentException(
+		            "No enum const TypeOfNumber with value " + value);
 		}
-		
-		throw new IllegalArgumentException(
-	            "No enum const TypeOfNumber with value " + value);
+		return val;
 	}
 }
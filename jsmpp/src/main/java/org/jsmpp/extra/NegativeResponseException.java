@@ -115,6 +115,17 @@ public class NegativeResponseException extends Exception {
         this.commandStatus = commandStatus;
     }
 
+    /**
+     * Construct with specified command_status and detail message.
+     *
+     * @param commandStatus is the command_status.
+     * @param message is the detail message.
+     */
+    protected NegativeResponseException(int commandStatus, String message) {
+        super(message);
+        this.commandStatus = commandStatus;
+    }
+
     private static String createMessageForCommandStatus(int commandStatus) {
         String commandStatusHex = IntUtil.toHexString(commandStatus);
         String description = commandStatusToDescription.get(commandStatus);
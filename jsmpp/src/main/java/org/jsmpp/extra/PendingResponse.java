@@ -1,16 +1,23 @@
 package org.jsmpp.extra;
 
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeoutException;
 
 import org.jsmpp.InvalidResponseException;
 import org.jsmpp.bean.Command;
+import org.jsmpp.util.HashedTimerWheel;
 
 /**
  * This class is utility that able wait for a response for specified timeout.
+ * <p>
+ * The response is held by a {@link CompletableFuture}, so completing it does
+ * not take a lock. When the expiry is scheduled on a {@link HashedTimerWheel}
+ * with {@link #setExpiry(HashedTimerWheel.Timeout)}, the timer wheel fails the
+ * response with {@link #expire()} and {@link #waitDone()} waits without a
+ * timeout of its own.
+ * </p>
  * 
  * @author uudashr
  * @version 1.0
@@ -18,12 +25,10 @@ import org.jsmpp.bean.Command;
  * 
  */
 public class PendingResponse<T extends Command> {
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = lock.newCondition();
+    private final CompletableFuture<T> future = new CompletableFuture<>();
     
-    private long timeout;
-    private T response;
-    private InvalidResponseException illegalResponseException;
+    private final long timeout;
+    private volatile HashedTimerWheel.Timeout expiry;
 
     /**
      * Construct with specified timeout.
@@ -35,12 +40,16 @@ public class PendingResponse<T extends Command> {
     }
 
     /**
-     * Check whether if we already received the response.
-     * 
-     * @return {@code true} if the response is already received.
+     * Set the timer wheel timeout that will {@link #expire()} this pending
+     * response. The timeout is cancelled when the response is received.
+     *
+     * @param expiry is the scheduled timeout.
      */
-    private boolean isDoneResponse() {
-        return response != null;
+    public void setExpiry(HashedTimerWheel.Timeout expiry) {
+        this.expiry = expiry;
+        if (future.isDone()) {
+            expiry.cancel();
+        }
     }
 
     /**
@@ -50,16 +59,11 @@ public class PendingResponse<T extends Command> {
      * @throws IllegalArgumentException thrown if response is null.
      */
     public void done(T response) throws IllegalArgumentException {
-        lock.lock();
-        try {
-            if (response != null) {
-                this.response = response;
-                condition.signal();
-            } else {
-                throw new IllegalArgumentException("response cannot be null");
-            }
-        } finally {
-            lock.unlock();
+        if (response == null) {
+            throw new IllegalArgumentException("response cannot be null");
+        }
+        if (future.complete(response)) {
+            cancelExpiry();
         }
     }
 
@@ -69,27 +73,51 @@ public class PendingResponse<T extends Command> {
      * @param e is the {@link InvalidResponseException}.
      */
     public void doneWithInvalidResponse(InvalidResponseException e) {
-        lock.lock();
-        try {
-            illegalResponseException = e;
-            condition.signal();
-        } finally {
-            lock.unlock();
+        if (future.completeExceptionally(e)) {
+            cancelExpiry();
         }
     }
 
+    /**
+     * Fail with {@link ResponseTimeoutException} because no response received
+     * in time.
+     *
+     * @return {@code true} if this call made the pending response done.
+     */
+    public boolean expire() {
+        return future.completeExceptionally(new ResponseTimeoutException("No response after " + timeout
+            + " millis"));
+    }
+
+    private void cancelExpiry() {
+        HashedTimerWheel.Timeout t = expiry;
+        if (t != null) {
+            t.cancel();
+        }
+    }
+
+    /**
+     * Get the response as a {@link CompletableFuture}. The future is completed
+     * by the thread calling {@link #done(Command)},
+     * {@link #doneWithInvalidResponse(InvalidResponseException)} or
+     * {@link #expire()}.
+     *
+     * @return the future of the response.
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        return future;
+    }
+
     /**
      * Get the response.
      * 
-     * @return the response.
+     * @return the response, or {@code null} if no valid response received.
      */
     public T getResponse() {
-        lock.lock();
-        try {
-            return response;
-        } finally {
-            lock.unlock();
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
         }
+        return null;
     }
 
     /**
@@ -100,26 +128,27 @@ public class PendingResponse<T extends Command> {
      */
     public void waitDone() throws ResponseTimeoutException,
             InvalidResponseException {
-        lock.lock();
         try {
-            if (!isDoneResponse()) {
-                try {
-                    condition.await(timeout, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+            if (expiry != null) {
+                future.get();
+            } else {
+                future.get(timeout, TimeUnit.MILLISECONDS);
             }
-            
-            if (illegalResponseException != null) {
-                throw illegalResponseException;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseTimeoutException("Interrupted while waiting for response");
+        } catch (TimeoutException e) {
+            throw new ResponseTimeoutException("No response after " + timeout
+                    + " millis");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidResponseException) {
+                throw (InvalidResponseException)cause;
             }
-            
-            if (!isDoneResponse()) {
-                throw new ResponseTimeoutException("No response after " + timeout
-                        + " millis");
+            if (cause instanceof ResponseTimeoutException) {
+                throw (ResponseTimeoutException)cause;
             }
-        } finally {
-            lock.unlock();
+            throw new InvalidResponseException("Unexpected failure waiting for response", cause);
         }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.extra;
+
+/**
+ * This exception is thrown if a request is not sent because the session already
+ * has its maximum number of outstanding requests. It is raised locally, before
+ * anything is sent; a throttling error returned by the SMSC is a
+ * {@link NegativeResponseException} instead.
+ */
+public class WindowFullException extends QueueException {
+    private static final long serialVersionUID = -3360587917305516447L;
+
+    private final int maxOutstandingRequests;
+
+    /**
+     * Construct with the size of the window.
+     *
+     * @param maxOutstandingRequests is the maximum number of outstanding requests.
+     */
+    public WindowFullException(int maxOutstandingRequests) {
+        super("Window of " + maxOutstandingRequests + " outstanding requests is full");
+        this.maxOutstandingRequests = maxOutstandingRequests;
+    }
+
+    /**
+     * @return the maximum number of outstanding requests.
+     */
+    public int getMaxOutstandingRequests() {
+        return maxOutstandingRequests;
+    }
+}
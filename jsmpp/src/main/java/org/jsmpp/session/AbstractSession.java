@@ -18,9 +18,15 @@ import static org.jsmpp.session.EnquireLinkCommandTask.COMMAND_NAME_ENQUIRE_LINK
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jsmpp.InvalidResponseException;
@@ -43,8 +49,15 @@ import org.jsmpp.extra.PendingResponse;
 import org.jsmpp.extra.ProcessRequestException;
 import org.jsmpp.extra.ResponseTimeoutException;
 import org.jsmpp.extra.SessionState;
+import org.jsmpp.extra.WindowFullException;
 import org.jsmpp.session.connection.Connection;
+import org.jsmpp.util.DefaultDecomposer;
+import org.jsmpp.util.HashedTimerWheel;
 import org.jsmpp.util.IntUtil;
+import org.jsmpp.util.LazyDecomposer;
+import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.PDUDecomposer;
+import org.jsmpp.util.RecyclingDecomposer;
 import org.jsmpp.util.Sequence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,12 +68,22 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractSession implements Session, Closeable {
     private static final Logger log = LoggerFactory.getLogger(AbstractSession.class);
     private static final Random random = new Random();
+    private static final HashedTimerWheel responseTimer = new HashedTimerWheel("ResponseTimer");
+    private static final int MAX_BATCH_WRITE = 64 * 1024;
 
-    private final Map<Integer, PendingResponse<Command>> pendingResponses = new ConcurrentHashMap<>();
+    private volatile PendingResponseTable pendingResponses = new ConcurrentMapPendingResponseTable();
+    private volatile RequestWindow requestWindow;
+    private volatile WindowFullPolicy windowFullPolicy = WindowFullPolicy.BLOCK;
+    private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    private volatile Executor queuedRequestExecutor;
+    private ThreadPoolExecutor queuedRequestSender;
+    private final Object queuedRequestSenderLock = new Object();
     private final Sequence sequence = new Sequence(1);
     private final PDUSender pduSender;
     private int pduProcessorDegree = 3;
     private int queueCapacity = 100;
+    private ProcessingOrder processingOrder = ProcessingOrder.NONE;
+    private volatile PDUDecomposer pduDecomposer = DefaultDecomposer.getInstance();
 
     private final String sessionId = generateSessionId();
     private int enquireLinkTimer = 60000;
@@ -88,6 +111,103 @@ public abstract class AbstractSession implements Session, Closeable {
         return pendingResponses.remove(sequenceNumber);
     }
 
+    protected static boolean isResponse(Command pduHeader) {
+        return (pduHeader.getCommandId() & SMPPConstant.MASK_CID_RESP) == SMPPConstant.MASK_CID_RESP;
+    }
+
+    /**
+     * Process a received response on the thread reading it, or for a
+     * {@link SMPPServerSession} on a non-blocking connection on its response
+     * executor. Processing a response only completes the pending response of
+     * its request, so it is not queued behind the requests waiting for a PDU
+     * processor thread. Functions added without an executor to the future of
+     * an asynchronous request run on this thread too. The requests queued for
+     * the slot the response frees are not sent here, but on the queued request
+     * executor.
+     *
+     * @param task is the task processing the response.
+     */
+    protected void processResponse(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error processing response", e);
+        }
+    }
+
+    /**
+     * Register a pending response for the request with the specified
+     * sequence_number. If no response is received before the timeout, the
+     * response timer removes it and fails it with {@link ResponseTimeoutException}.
+     *
+     * @param sequenceNumber is the sequence_number of the request.
+     * @param timeout is the timeout in milliseconds.
+     * @param window is the window slot taken by the request, freed when the
+     *        pending response is done, or {@code null}.
+     * @return the registered pending response.
+     */
+    private PendingResponse<Command> newPendingResponse(final int sequenceNumber, long timeout,
+        final RequestWindow window) {
+        final PendingResponse<Command> pendingResp = window == null
+            ? new PendingResponse<>(timeout) : new WindowedPendingResponse(timeout, window);
+        pendingResponses.put(sequenceNumber, pendingResp);
+        pendingResp.setExpiry(responseTimer.newTimeout(() -> {
+            pendingResponses.remove(sequenceNumber, pendingResp);
+            pendingResp.expire();
+        }, timeout, TimeUnit.MILLISECONDS));
+        return pendingResp;
+    }
+
+    /**
+     * Take a slot in the window for the request, if the session has a window.
+     *
+     * @param task is the task.
+     * @param timeout is the timeout in milliseconds to wait for a slot.
+     * @return the window the slot was taken from, or {@code null} if the request
+     *         is not limited by a window.
+     * @throws ResponseTimeoutException if no slot was freed within the timeout.
+     * @throws WindowFullException if the window is full and the policy is
+     *         {@link WindowFullPolicy#FAIL_FAST}.
+     */
+    private RequestWindow acquireWindow(SendCommandTask task, long timeout)
+        throws ResponseTimeoutException {
+        RequestWindow window = windowFor(task.getCommandName());
+        if (window == null || window.tryAcquire()) {
+            return window;
+        }
+        if (windowFullPolicy == WindowFullPolicy.FAIL_FAST) {
+            throw new WindowFullException(window.getMaxOutstandingRequests());
+        }
+        try {
+            if (window.tryAcquire(timeout)) {
+                return window;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw windowTimeout(window, task.getCommandName(), timeout);
+    }
+
+    private RequestWindow windowFor(String commandName) {
+        // keep the link check and the unbind independent from the traffic
+        if (COMMAND_NAME_ENQUIRE_LINK.equals(commandName) || UnbindCommandTask.COMMAND_NAME_UNBIND.equals(commandName)) {
+            return null;
+        }
+        return requestWindow;
+    }
+
+    private ResponseTimeoutException windowTimeout(RequestWindow window, String commandName, long timeout) {
+        return new ResponseTimeoutException("No free slot in the window of " + window.getMaxOutstandingRequests()
+            + " outstanding requests after waiting for " + timeout + " millis when executing "
+            + commandName + " with session " + sessionId);
+    }
+
+    private void cancelPendingResponse(int sequenceNumber, PendingResponse<Command> pendingResp) {
+        pendingResponses.remove(sequenceNumber, pendingResp);
+        pendingResp.doneWithInvalidResponse(new InvalidResponseException("Request with sequence_number "
+            + sequenceNumber + " was not sent"));
+    }
+
     @Override
     public String getSessionId() {
         return sessionId;
@@ -130,6 +250,121 @@ public abstract class AbstractSession implements Session, Closeable {
         return transactionTimer;
     }
 
+    /**
+     * Set the table that keeps the requests waiting for their response. The
+     * default is a {@link ConcurrentMapPendingResponseTable}; a
+     * {@link RingPendingResponseTable} avoids allocating per request when the
+     * number of outstanding requests is bounded.
+     *
+     * @param pendingResponseTable is the pending response table.
+     * @throws IllegalStateException if there are outstanding requests.
+     */
+    public void setPendingResponseTable(PendingResponseTable pendingResponseTable) throws IllegalStateException {
+        if (pendingResponseTable == null) {
+            throw new IllegalArgumentException("pendingResponseTable cannot be null");
+        }
+        if (pendingResponses.size() > 0) {
+            throw new IllegalStateException("Cannot change the pending response table with outstanding requests");
+        }
+        this.pendingResponses = pendingResponseTable;
+    }
+
+    /**
+     * Limit the number of outstanding requests, the requests sent and not
+     * responded yet. A new request waits for a free slot, fails or is queued,
+     * depending on the {@link WindowFullPolicy}. The enquire_link and unbind
+     * requests are not limited.
+     *
+     * @param maxOutstandingRequests is the maximum number of outstanding
+     *        requests, or 0 for no limit.
+     */
+    public void setMaxOutstandingRequests(int maxOutstandingRequests) {
+        if (maxOutstandingRequests < 0) {
+            throw new IllegalArgumentException("maxOutstandingRequests cannot be negative");
+        }
+        requestWindow = maxOutstandingRequests == 0 ? null
+            : new RequestWindow(maxOutstandingRequests, this::executeQueuedRequests);
+    }
+
+    /**
+     * @return the maximum number of outstanding requests, or 0 for no limit.
+     */
+    public int getMaxOutstandingRequests() {
+        RequestWindow window = requestWindow;
+        return window == null ? 0 : window.getMaxOutstandingRequests();
+    }
+
+    /**
+     * Set what a request does when the window of outstanding requests is full.
+     * The default is {@link WindowFullPolicy#BLOCK}.
+     *
+     * @param windowFullPolicy is the policy.
+     */
+    public void setWindowFullPolicy(WindowFullPolicy windowFullPolicy) {
+        if (windowFullPolicy == null) {
+            throw new IllegalArgumentException("windowFullPolicy cannot be null");
+        }
+        this.windowFullPolicy = windowFullPolicy;
+    }
+
+    public WindowFullPolicy getWindowFullPolicy() {
+        return windowFullPolicy;
+    }
+
+    /**
+     * Get the number of slots taken in the window of outstanding requests.
+     * Producers can use it to slow down before the window is full.
+     *
+     * @return the number of slots taken, or 0 if there is no limit.
+     */
+    public int getWindowOccupancy() {
+        RequestWindow window = requestWindow;
+        return window == null ? 0 : window.getOccupancy();
+    }
+
+    /**
+     * Set the executor sending the asynchronous requests queued for a free slot
+     * in the window, with {@link WindowFullPolicy#QUEUE}. A slot is freed by the
+     * thread processing a response or by the response timer, which never write
+     * to the connection themselves. The default is a thread of this session,
+     * started when a request is queued and stopped when it has been idle for a
+     * minute.
+     *
+     * @param queuedRequestExecutor is the executor, or {@code null} for the
+     *        thread of this session.
+     */
+    public void setQueuedRequestExecutor(Executor queuedRequestExecutor) {
+        this.queuedRequestExecutor = queuedRequestExecutor;
+    }
+
+    public Executor getQueuedRequestExecutor() {
+        return queuedRequestExecutor;
+    }
+
+    private void executeQueuedRequests(Runnable drain) {
+        Executor executor = queuedRequestExecutor;
+        if (executor == null) {
+            synchronized (queuedRequestSenderLock) {
+                if (queuedRequestSender == null) {
+                    queuedRequestSender = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), executionMode.newThreadFactory("QueuedRequestSender-" + sessionId));
+                    queuedRequestSender.allowCoreThreadTimeOut(true);
+                }
+                executor = queuedRequestSender;
+            }
+        }
+        executor.execute(drain);
+    }
+
+    /**
+     * @return the number of asynchronous requests queued for a free slot in the
+     *         window, with {@link WindowFullPolicy#QUEUE}.
+     */
+    public int getQueuedRequests() {
+        RequestWindow window = requestWindow;
+        return window == null ? 0 : window.getQueuedRequests();
+    }
+
     @Override
     public int getUnacknowledgedRequests() {
         return this.pendingResponses.size();
@@ -187,6 +422,71 @@ public abstract class AbstractSession implements Session, Closeable {
         return pduProcessorDegree;
     }
 
+    /**
+     * Set the kind of threads the PDU reader, the enquire_link sender and the
+     * PDU processing tasks run on. The default is
+     * {@link ExecutionMode#PLATFORM_THREADS}. The mode is used for the threads
+     * started afterwards, so set it before connecting or, for a server session,
+     * before waiting for the bind.
+     *
+     * @param executionMode is the execution mode.
+     * @throws UnsupportedOperationException if the mode is not supported by
+     *         the running JVM.
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        if (executionMode == null) {
+            throw new IllegalArgumentException("executionMode cannot be null");
+        }
+        if (!executionMode.isSupported()) {
+            throw new UnsupportedOperationException(executionMode + " is not supported by this JVM");
+        }
+        this.executionMode = executionMode;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Set the order in which the received PDUs are processed. The default is
+     * {@link ProcessingOrder#NONE}. The order is used by the PDU reader started
+     * afterwards, so set it before connecting or, for a server session, before
+     * waiting for the bind.
+     *
+     * @param processingOrder is the processing order.
+     * @see ProcessingOrder
+     */
+    public void setProcessingOrder(ProcessingOrder processingOrder) {
+        if (processingOrder == null) {
+            throw new IllegalArgumentException("processingOrder cannot be null");
+        }
+        this.processingOrder = processingOrder;
+    }
+
+    public ProcessingOrder getProcessingOrder() {
+        return processingOrder;
+    }
+
+    /**
+     * Set the decomposer of the received submit_sm, deliver_sm, data_sm and
+     * submit_sm_resp. The default is the {@link DefaultDecomposer}; a relay or
+     * gateway forwarding most messages untouched can use the
+     * {@link LazyDecomposer}, a receiver of high message rates the
+     * {@link RecyclingDecomposer}.
+     *
+     * @param pduDecomposer is the decomposer.
+     */
+    public void setPduDecomposer(PDUDecomposer pduDecomposer) {
+        if (pduDecomposer == null) {
+            throw new IllegalArgumentException("pduDecomposer cannot be null");
+        }
+        this.pduDecomposer = pduDecomposer;
+    }
+
+    public PDUDecomposer getPduDecomposer() {
+        return pduDecomposer;
+    }
+
     /**
      * Get the capacity of the receiving working queue for PDU processing. The default is 100.
      * If the all threads (pduProcessorDegree) are busy, they are waiting in the work queue.
@@ -247,6 +547,42 @@ public abstract class AbstractSession implements Session, Closeable {
         return new DataSmResult(resp.getMessageId(), resp.getOptionalParameters());
     }
 
+    /**
+     * Send the data_sm command without waiting for the response.
+     *
+     * @param serviceType the service_type parameter.
+     * @param sourceAddrTon the source_addr_ton parameter.
+     * @param sourceAddrNpi the source_addr_npi parameter.
+     * @param sourceAddr the source_addr parameter.
+     * @param destAddrTon the dest_addr_ton parameter.
+     * @param destAddrNpi the dest_addr_npi parameter.
+     * @param destinationAddr the destination_addr parameter.
+     * @param esmClass the esm_class parameter.
+     * @param registeredDelivery the registered_delivery parameter or null.
+     * @param dataCoding the data_coding parameter.
+     * @param optionalParameters the optional parameters.
+     * @return the future result of data_sm.
+     * @throws PDUException if there is an invalid PDU parameter found.
+     * @throws IOException if an input or output error occurred.
+     * @see #executeSendCommandAsync(SendCommandTask, long)
+     */
+    public CompletableFuture<DataSmResult> dataShortMessageAsync(String serviceType,
+            TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+            String sourceAddr, TypeOfNumber destAddrTon,
+            NumberingPlanIndicator destAddrNpi, String destinationAddr,
+            ESMClass esmClass, RegisteredDelivery registeredDelivery,
+            DataCoding dataCoding, OptionalParameter... optionalParameters)
+            throws PDUException, IOException {
+
+        DataSmCommandTask task = new DataSmCommandTask(pduSender,
+                serviceType, sourceAddrTon, sourceAddrNpi, sourceAddr,
+                destAddrTon, destAddrNpi, destinationAddr, esmClass,
+                registeredDelivery, dataCoding, optionalParameters);
+
+        return executeSendCommandAsync(task, getTransactionTimer()).thenApply(resp ->
+            new DataSmResult(((DataSmResp)resp).getMessageId(), ((DataSmResp)resp).getOptionalParameters()));
+    }
+
     @Override
     public void close() {
         SessionContext ctx = sessionContext();
@@ -261,7 +597,7 @@ public abstract class AbstractSession implements Session, Closeable {
         }
 
         // Make sure the enquireLinkThread doesn't wait for itself
-        if (Thread.currentThread() != enquireLinkSender) {
+        if (enquireLinkSender == null || !enquireLinkSender.isCurrentThread()) {
             if (enquireLinkSender != null && enquireLinkSender.isAlive()) {
                 log.debug("Stop enquireLinkSender for session {}", sessionId);
                 try {
@@ -277,6 +613,11 @@ public abstract class AbstractSession implements Session, Closeable {
                 ctx.close();
             }
         }
+        synchronized (queuedRequestSenderLock) {
+            if (queuedRequestSender != null) {
+                queuedRequestSender.shutdown();
+            }
+        }
     }
 
     /**
@@ -324,9 +665,9 @@ public abstract class AbstractSession implements Session, Closeable {
             throws PDUException, ResponseTimeoutException,
             InvalidResponseException, NegativeResponseException, IOException {
 
+        RequestWindow window = acquireWindow(task, timeout);
         int seqNum = sequence.nextValue();
-        PendingResponse<Command> pendingResp = new PendingResponse<>(timeout);
-        pendingResponses.put(seqNum, pendingResp);
+        PendingResponse<Command> pendingResp = newPendingResponse(seqNum, timeout, window);
         try {
             task.executeTask(connection().getOutputStream(), seqNum);
         } catch (IOException e) {
@@ -335,10 +676,13 @@ public abstract class AbstractSession implements Session, Closeable {
             if(COMMAND_NAME_ENQUIRE_LINK.equals(task.getCommandName())) {
                 log.info("Ignore failure of sending enquire_link, wait to see if connection is restored");
             } else {
-                pendingResponses.remove(seqNum);
+                cancelPendingResponse(seqNum, pendingResp);
                 close();
                 throw e;
             }
+        } catch (PDUException | RuntimeException e) {
+            cancelPendingResponse(seqNum, pendingResp);
+            throw e;
         }
 
         try {
@@ -366,6 +710,213 @@ public abstract class AbstractSession implements Session, Closeable {
         return resp;
     }
 
+    /**
+     * Execute send command command task without waiting for the response. The
+     * returned future is completed by the thread processing the response, or
+     * completed exceptionally with {@link ResponseTimeoutException},
+     * {@link InvalidResponseException} or {@link NegativeResponseException}.
+     * Dependent actions which are not asynchronous themselves run on the thread
+     * processing the response, which is the thread reading the PDUs of the
+     * session, so they should not block. A blocking request on the same session
+     * would wait for a response that thread cannot read.
+     * <p>
+     * If the window of outstanding requests is full, the request is handled
+     * according to the {@link WindowFullPolicy}.
+     * </p>
+     *
+     * @param task is the task.
+     * @param timeout is the timeout in milliseconds.
+     * @return the future command response.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws IOException if there is an IO error found.
+     */
+    protected CompletableFuture<Command> executeSendCommandAsync(final SendCommandTask task, final long timeout)
+        throws PDUException, IOException {
+
+        final RequestWindow window = windowFor(task.getCommandName());
+        if (window == null || window.tryAcquire()) {
+            return sendCommandAsync(task, timeout, window);
+        }
+        final CompletableFuture<Command> future = new CompletableFuture<>();
+        switch (windowFullPolicy) {
+            case FAIL_FAST:
+                future.completeExceptionally(new WindowFullException(window.getMaxOutstandingRequests()));
+                return future;
+            case QUEUE:
+                final HashedTimerWheel.Timeout queueTimeout = responseTimer.newTimeout(() ->
+                    future.completeExceptionally(windowTimeout(window, task.getCommandName(), timeout)), timeout, TimeUnit.MILLISECONDS);
+                window.queue(() -> {
+                    if (!queueTimeout.cancel()) {
+                        window.release();
+                        return;
+                    }
+                    try {
+                        sendCommandAsync(task, timeout, window).whenComplete((resp, t) -> {
+                            if (t != null) {
+                                future.completeExceptionally(t);
+                            } else {
+                                future.complete(resp);
+                            }
+                        });
+                    } catch (PDUException | IOException | RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+                return future;
+            default:
+                try {
+                    if (window.tryAcquire(timeout)) {
+                        return sendCommandAsync(task, timeout, window);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                future.completeExceptionally(windowTimeout(window, task.getCommandName(), timeout));
+                return future;
+        }
+    }
+
+    private CompletableFuture<Command> sendCommandAsync(final SendCommandTask task, final long timeout,
+        final RequestWindow window) throws PDUException, IOException {
+        final int seqNum = sequence.nextValue();
+        final PendingResponse<Command> pendingResp = newPendingResponse(seqNum, timeout, window);
+        try {
+            task.executeTask(connection().getOutputStream(), seqNum);
+        } catch (IOException e) {
+            log.error("Sending {} command failed", task.getCommandName(), e);
+            cancelPendingResponse(seqNum, pendingResp);
+            close();
+            throw e;
+        } catch (PDUException | RuntimeException e) {
+            cancelPendingResponse(seqNum, pendingResp);
+            throw e;
+        }
+
+        return toResponseFuture(pendingResp, task.getCommandName(), seqNum);
+    }
+
+    private CompletableFuture<Command> toResponseFuture(PendingResponse<Command> pendingResp,
+        final String commandName, final int seqNum) {
+        return pendingResp.toCompletableFuture().thenApply(resp -> {
+            log.debug("{} response with sequence_number {} received for session {}", commandName, seqNum, sessionId);
+            if (resp.getCommandStatus() != SMPPConstant.STAT_ESME_ROK) {
+                throw new CompletionException(new NegativeResponseException(resp.getCommandStatus()));
+            }
+            return resp;
+        });
+    }
+
+    /**
+     * Send composed requests of one command, pipelined in as few writes as the
+     * window of outstanding requests allows. A write takes the requests which
+     * have a free slot in the window, up to 64 KiB. The sequence_number of
+     * each request is set in its PDU.
+     * <p>
+     * The {@link WindowFullPolicy} applies to the first request of every
+     * write; with {@link WindowFullPolicy#QUEUE} the caller waits like with
+     * {@link WindowFullPolicy#BLOCK}, so one thread can drive the batch. The
+     * errors are reported by the futures. An I/O error fails the requests not
+     * sent yet and closes the session.
+     * </p>
+     *
+     * @param pdus are the composed requests, a {@code null} request is skipped.
+     * @param commandName is the command name of the requests.
+     * @param timeout is the timeout in milliseconds for the window and for each response.
+     * @return the futures of the responses, in the order of the requests, with
+     *         {@code null} for the skipped requests.
+     */
+    protected List<CompletableFuture<Command>> executeSendPdus(byte[][] pdus, String commandName, long timeout) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Command>[] futures = new CompletableFuture[pdus.length];
+        RequestWindow window = windowFor(commandName);
+        int[] batch = new int[pdus.length];
+        byte[] buffer = new byte[0];
+        int next = 0;
+        while (next < pdus.length) {
+            if (pdus[next] == null) {
+                next++;
+                continue;
+            }
+            Exception full = window == null ? null : awaitWindowSlot(window, commandName, timeout);
+            if (full != null) {
+                failRemaining(futures, pdus, next, full);
+                break;
+            }
+            int count = 0;
+            int length = 0;
+            while (next < pdus.length) {
+                byte[] pdu = pdus[next];
+                if (pdu != null) {
+                    if (count > 0 && (length + pdu.length > MAX_BATCH_WRITE
+                        || window != null && !window.tryAcquire())) {
+                        break;
+                    }
+                    batch[count++] = next;
+                    length += pdu.length;
+                }
+                next++;
+            }
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, MAX_BATCH_WRITE)];
+            }
+            int[] seqNums = new int[count];
+            @SuppressWarnings("unchecked")
+            PendingResponse<Command>[] pendingResps = new PendingResponse[count];
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                byte[] pdu = pdus[batch[i]];
+                seqNums[i] = sequence.nextValue();
+                OctetUtil.intToBytes(seqNums[i], pdu, 12);
+                System.arraycopy(pdu, 0, buffer, offset, pdu.length);
+                offset += pdu.length;
+                pendingResps[i] = newPendingResponse(seqNums[i], timeout, window);
+                futures[batch[i]] = toResponseFuture(pendingResps[i], commandName, seqNums[i]);
+            }
+            try {
+                pduSender.sendPdus(connection().getOutputStream(), buffer, length);
+            } catch (IOException e) {
+                log.error("Sending {} {} commands failed", count, commandName, e);
+                for (int i = 0; i < count; i++) {
+                    cancelPendingResponse(seqNums[i], pendingResps[i]);
+                }
+                failRemaining(futures, pdus, next, e);
+                close();
+                break;
+            }
+        }
+        return Arrays.asList(futures);
+    }
+
+    /*
+     * Take a slot in the window for the first request of a batch write. Return
+     * null if a slot is taken, otherwise the exception failing the request.
+     */
+    private Exception awaitWindowSlot(RequestWindow window, String commandName, long timeout) {
+        if (window.tryAcquire()) {
+            return null;
+        }
+        if (windowFullPolicy == WindowFullPolicy.FAIL_FAST) {
+            return new WindowFullException(window.getMaxOutstandingRequests());
+        }
+        try {
+            if (window.tryAcquire(timeout)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return windowTimeout(window, commandName, timeout);
+    }
+
+    private static void failRemaining(CompletableFuture<Command>[] futures, byte[][] pdus, int from, Exception e) {
+        for (int i = from; i < pdus.length; i++) {
+            if (pdus[i] != null) {
+                futures[i] = new CompletableFuture<>();
+                futures[i].completeExceptionally(e);
+            }
+        }
+    }
+
     /**
      * Execute send command command task without response.
      *
@@ -509,12 +1060,57 @@ public abstract class AbstractSession implements Session, Closeable {
         }
     }
 
-	protected class EnquireLinkSender extends Thread {
+	/**
+	 * Sends an enquire_link when notified of inactivity, on its own thread. The
+	 * thread is created with the {@link ExecutionMode} of the session when the
+	 * sender is started. Started with an executor, the sender has no thread.
+	 */
+	protected class EnquireLinkSender implements Runnable {
         private final AtomicBoolean sendingEnquireLink = new AtomicBoolean(false);
+        private volatile Thread thread;
+        private volatile Executor executor;
 
         public EnquireLinkSender()
         {
-        	super("EnquireLinkSender-" + sessionId);
+        }
+
+        public void start() {
+            thread = executionMode.newThread("EnquireLinkSender-" + sessionId, this);
+            thread.start();
+        }
+
+        /**
+         * Start without a thread of its own. Every enquire_link is sent by a
+         * task on the executor, which does not wait for the response; the
+         * response is checked when it is processed or times out.
+         *
+         * @param executor is the executor sending the enquire_link.
+         */
+        public void start(Executor executor) {
+            this.executor = executor;
+        }
+
+        public boolean isAlive() {
+            Thread t = thread;
+            return t != null && t.isAlive();
+        }
+
+        public void interrupt() {
+            Thread t = thread;
+            if (t != null) {
+                t.interrupt();
+            }
+        }
+
+        public void join() throws InterruptedException {
+            Thread t = thread;
+            if (t != null) {
+                t.join();
+            }
+        }
+
+        boolean isCurrentThread() {
+            return Thread.currentThread() == thread;
         }
 
         @Override
@@ -559,6 +1155,11 @@ public abstract class AbstractSession implements Session, Closeable {
          * This method will send enquire link asynchronously.
          */
         public void enquireLink() {
+            Executor sendExecutor = executor;
+            if (sendExecutor != null) {
+                enquireLink(sendExecutor);
+                return;
+            }
             if (sendingEnquireLink.compareAndSet(false, true)) {
                 synchronized (sendingEnquireLink) {
                     sendingEnquireLink.notify();
@@ -567,5 +1168,109 @@ public abstract class AbstractSession implements Session, Closeable {
                 log.debug("Not sending enquire link notify");
             }
         }
+
+        private void enquireLink(Executor sendExecutor) {
+            if (enquireLinkTimer == 0 || !sendingEnquireLink.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(() -> sendEnquireLinkAsync(sendExecutor));
+            } catch (RuntimeException e) {
+                // the queue is full or the session is closing, so try again on the next idle timeout
+                sendingEnquireLink.set(false);
+                log.debug("Not sending enquire_link: {}", e.getMessage());
+            }
+        }
+
+        private void sendEnquireLinkAsync(final Executor sendExecutor) {
+            if (getSessionState() == SessionState.CLOSED) {
+                sendingEnquireLink.set(false);
+                return;
+            }
+            CompletableFuture<Command> future;
+            try {
+                future = executeSendCommandAsync(new EnquireLinkCommandTask(pduSender), getTransactionTimer());
+            } catch (PDUException e) {
+                sendingEnquireLink.set(false);
+                // should never happen, since it doesn't have any String parameter.
+                log.warn("PDU String should be always valid", e);
+                return;
+            } catch (IOException e) {
+                sendingEnquireLink.set(false);
+                log.error("I/O exception on enquire_link", e);
+                return;
+            }
+            future.whenComplete((resp, t) -> {
+                sendingEnquireLink.set(false);
+                if (t == null) {
+                    return;
+                }
+                final Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+                if (cause instanceof NegativeResponseException) {
+                    // the command_status of the enquire_link response should be always 0
+                    log.warn("command_status of enquire_link_resp should be always 0", cause);
+                    return;
+                }
+                // not on the thread processing the response or on the response timer
+                try {
+                    sendExecutor.execute(() -> closeAfterEnquireLinkFailure(cause));
+                } catch (RuntimeException e) {
+                    log.error("Failure on enquire_link", cause);
+                    close();
+                }
+            });
+        }
+
+        private void closeAfterEnquireLinkFailure(Throwable cause) {
+            if (cause instanceof InvalidResponseException) {
+                log.error("Invalid response on enquire_link", cause);
+                // let's unbind gracefully
+                unbindAndClose();
+            } else {
+                log.error("Response timeout on enquire_link", cause);
+                close();
+            }
+        }
+    }
+
+    /**
+     * Pending response holding a slot in the window of outstanding requests. The
+     * slot is freed before the response is completed, so the thread waiting for
+     * the response can send the next request right away.
+     */
+    private static class WindowedPendingResponse extends PendingResponse<Command> {
+        private final RequestWindow window;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        WindowedPendingResponse(long timeout, RequestWindow window) {
+            super(timeout);
+            this.window = window;
+        }
+
+        @Override
+        public void done(Command response) throws IllegalArgumentException {
+            if (response != null) {
+                release();
+            }
+            super.done(response);
+        }
+
+        @Override
+        public void doneWithInvalidResponse(InvalidResponseException e) {
+            release();
+            super.doneWithInvalidResponse(e);
+        }
+
+        @Override
+        public boolean expire() {
+            release();
+            return super.expire();
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                window.release();
+            }
+        }
     }
 }
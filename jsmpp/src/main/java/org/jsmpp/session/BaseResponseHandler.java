@@ -21,6 +21,8 @@ import org.jsmpp.bean.DataSm;
 import org.jsmpp.bean.EnquireLink;
 import org.jsmpp.extra.PendingResponse;
 import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.util.DefaultDecomposer;
+import org.jsmpp.util.PDUDecomposer;
 
 /**
  * @author uudashr
@@ -103,4 +105,14 @@ public interface BaseResponseHandler {
      */
     void notifyUnbonded();
 
+    /**
+     * Get the decomposer of the received submit_sm, deliver_sm, data_sm and
+     * submit_sm_resp.
+     *
+     * @return the decomposer.
+     */
+    default PDUDecomposer getPduDecomposer() {
+        return DefaultDecomposer.getInstance();
+    }
+
 }
@@ -15,6 +15,7 @@
 package org.jsmpp.session;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.jsmpp.InvalidResponseException;
 import org.jsmpp.PDUException;
@@ -201,7 +202,164 @@ public interface ClientSession extends Session, AutoCloseable {
             RegisteredDelivery registeredDelivery, byte smDefaultMsgId,
             byte[] shortMessage) throws PDUException, ResponseTimeoutException,
             InvalidResponseException, NegativeResponseException, IOException;
-    
+
+    /**
+     * Submit a short message to specified destination address without waiting
+     * for the response. The returned future is completed when the SUBMIT_SM_RESP
+     * is received, or completed exceptionally with
+     * {@link ResponseTimeoutException}, {@link InvalidResponseException} or
+     * {@link NegativeResponseException}. The future is completed by the thread
+     * processing the response, so dependent actions should not block.
+     * <p>
+     * The default implementation calls the blocking
+     * {@link #submitShortMessage(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, byte, byte, String, String, RegisteredDelivery, byte, DataCoding, byte, byte[], OptionalParameter...)}
+     * and returns a completed future.
+     * </p>
+     *
+     * @param serviceType is the service_type.
+     * @param sourceAddrTon is the source_addr_ton.
+     * @param sourceAddrNpi is the source_addr_npi.
+     * @param sourceAddr is the source_addr.
+     * @param destAddrTon is the dest_addr_ton.
+     * @param destAddrNpi is the dest_addr_npi.
+     * @param destinationAddr is the destination_addr.
+     * @param esmClass is the esm_class.
+     * @param protocolId is the protocol_id.
+     * @param priorityFlag is the priority_flag.
+     * @param scheduleDeliveryTime is the schedule_delivery_time.
+     * @param validityPeriod is the validity_period.
+     * @param registeredDelivery is the registered_delivery.
+     * @param replaceIfPresentFlag is the replace_if_present_flag.
+     * @param dataCoding is the data_coding.
+     * @param smDefaultMsgId is the sm_default_msg_id.
+     * @param shortMessage is the short_message.
+     * @param optionalParameters is the optional parameters.
+     * @return the future SubmitSmResult.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws IOException if there is an I/O error found.
+     */
+    default CompletableFuture<SubmitSmResult> submitShortMessageAsync(String serviceType, TypeOfNumber sourceAddrTon,
+                                                                      NumberingPlanIndicator sourceAddrNpi, String sourceAddr,
+                                                                      TypeOfNumber destAddrTon, NumberingPlanIndicator destAddrNpi,
+                                                                      String destinationAddr, ESMClass esmClass, byte protocolId,
+                                                                      byte priorityFlag, String scheduleDeliveryTime,
+                                                                      String validityPeriod, RegisteredDelivery registeredDelivery,
+                                                                      byte replaceIfPresentFlag, DataCoding dataCoding,
+                                                                      byte smDefaultMsgId, byte[] shortMessage,
+                                                                      OptionalParameter... optionalParameters) throws PDUException,
+            IOException {
+        CompletableFuture<SubmitSmResult> future = new CompletableFuture<>();
+        try {
+            future.complete(submitShortMessage(serviceType, sourceAddrTon, sourceAddrNpi, sourceAddr, destAddrTon,
+                destAddrNpi, destinationAddr, esmClass, protocolId, priorityFlag, scheduleDeliveryTime, validityPeriod,
+                registeredDelivery, replaceIfPresentFlag, dataCoding, smDefaultMsgId, shortMessage, optionalParameters));
+        } catch (ResponseTimeoutException | InvalidResponseException | NegativeResponseException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Send the data_sm command without waiting for the response. The default
+     * implementation calls the blocking
+     * {@link #dataShortMessage(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, RegisteredDelivery, DataCoding, OptionalParameter...)}
+     * and returns a completed future.
+     *
+     * @param serviceType the service_type parameter.
+     * @param sourceAddrTon the source_addr_ton parameter.
+     * @param sourceAddrNpi the source_addr_npi parameter.
+     * @param sourceAddr the source_addr parameter.
+     * @param destAddrTon the dest_addr_ton parameter.
+     * @param destAddrNpi the dest_addr_npi parameter.
+     * @param destinationAddr the destination_addr parameter.
+     * @param esmClass the esm_class parameter.
+     * @param registeredDelivery the registered_delivery parameter or null.
+     * @param dataCoding the data_coding parameter.
+     * @param optionalParameters the optional parameters.
+     * @return the future result of data_sm.
+     * @throws PDUException if there is an invalid PDU parameter found.
+     * @throws IOException if there is an I/O error found.
+     * @see #submitShortMessageAsync(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, byte, byte, String, String, RegisteredDelivery, byte, DataCoding, byte, byte[], OptionalParameter...)
+     */
+    default CompletableFuture<DataSmResult> dataShortMessageAsync(String serviceType,
+            TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+            String sourceAddr, TypeOfNumber destAddrTon,
+            NumberingPlanIndicator destAddrNpi, String destinationAddr,
+            ESMClass esmClass, RegisteredDelivery registeredDelivery,
+            DataCoding dataCoding, OptionalParameter... optionalParameters)
+            throws PDUException, IOException {
+        CompletableFuture<DataSmResult> future = new CompletableFuture<>();
+        try {
+            future.complete(dataShortMessage(serviceType, sourceAddrTon, sourceAddrNpi, sourceAddr, destAddrTon,
+                destAddrNpi, destinationAddr, esmClass, registeredDelivery, dataCoding, optionalParameters));
+        } catch (ResponseTimeoutException | InvalidResponseException | NegativeResponseException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Query previous submitted short message without waiting for the response.
+     * The default implementation calls the blocking
+     * {@link #queryShortMessage(String, TypeOfNumber, NumberingPlanIndicator, String)}
+     * and returns a completed future.
+     *
+     * @param messageId is the message_id.
+     * @param sourceAddrTon is the source_addr_ton.
+     * @param sourceAddrNpi is the source_addr_npi.
+     * @param sourceAddr is the source_addr.
+     * @return the future result of query short message.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws IOException if there is an I/O error found.
+     * @see #submitShortMessageAsync(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, byte, byte, String, String, RegisteredDelivery, byte, DataCoding, byte, byte[], OptionalParameter...)
+     */
+    default CompletableFuture<QuerySmResult> queryShortMessageAsync(String messageId,
+            TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+            String sourceAddr) throws PDUException, IOException {
+        CompletableFuture<QuerySmResult> future = new CompletableFuture<>();
+        try {
+            future.complete(queryShortMessage(messageId, sourceAddrTon, sourceAddrNpi, sourceAddr));
+        } catch (ResponseTimeoutException | InvalidResponseException | NegativeResponseException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Cancel the previous submitted short message without waiting for the response.
+     * The default implementation calls the blocking
+     * {@link #cancelShortMessage(String, String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String)}
+     * and returns a completed future.
+     *
+     * @param serviceType is the service_type.
+     * @param messageId is the message_id.
+     * @param sourceAddrTon is the source_addr_ton.
+     * @param sourceAddrNpi is the source_addr_npi.
+     * @param sourceAddr is the source_addr.
+     * @param destAddrTon is the dest_addr_ton.
+     * @param destAddrNpi is the dest_addr_npi.
+     * @param destinationAddress is destination_address.
+     * @return the future which is completed when the CANCEL_SM_RESP is received.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws IOException if there is an I/O error found.
+     * @see #submitShortMessageAsync(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, byte, byte, String, String, RegisteredDelivery, byte, DataCoding, byte, byte[], OptionalParameter...)
+     */
+    default CompletableFuture<Void> cancelShortMessageAsync(String serviceType, String messageId,
+            TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+            String sourceAddr, TypeOfNumber destAddrTon,
+            NumberingPlanIndicator destAddrNpi, String destinationAddress)
+            throws PDUException, IOException {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            cancelShortMessage(serviceType, messageId, sourceAddrTon, sourceAddrNpi, sourceAddr, destAddrTon,
+                destAddrNpi, destinationAddress);
+            future.complete(null);
+        } catch (ResponseTimeoutException | InvalidResponseException | NegativeResponseException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Open connection and bind immediately. The default
      * timeout is 1 minutes.
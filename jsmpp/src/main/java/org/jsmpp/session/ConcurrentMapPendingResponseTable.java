@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.extra.PendingResponse;
+
+/**
+ * {@link PendingResponseTable} backed by a {@link ConcurrentHashMap}. This is the
+ * default table; it has no limit on the number of pending responses.
+ */
+public class ConcurrentMapPendingResponseTable implements PendingResponseTable {
+    private final Map<Integer, PendingResponse<Command>> pendingResponses = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(int sequenceNumber, PendingResponse<Command> pendingResponse) {
+        pendingResponses.put(sequenceNumber, pendingResponse);
+    }
+
+    @Override
+    public PendingResponse<Command> remove(int sequenceNumber) {
+        return pendingResponses.remove(sequenceNumber);
+    }
+
+    @Override
+    public boolean remove(int sequenceNumber, PendingResponse<Command> pendingResponse) {
+        return pendingResponses.remove(sequenceNumber, pendingResponse);
+    }
+
+    @Override
+    public int size() {
+        return pendingResponses.size();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The kind of threads a session runs its PDU reader, enquire_link sender and
+ * PDU processing tasks on.
+ *
+ * @see AbstractSession#setExecutionMode(ExecutionMode)
+ */
+public enum ExecutionMode {
+    /**
+     * Platform threads, the default.
+     */
+    PLATFORM_THREADS {
+        @Override
+        public boolean isSupported() {
+            return true;
+        }
+
+        @Override
+        Thread newThread(String name, Runnable task) {
+            return new Thread(task, name);
+        }
+
+        @Override
+        public ThreadFactory newThreadFactory(String namePrefix) {
+            return Executors.defaultThreadFactory();
+        }
+    },
+
+    /**
+     * Virtual threads, so a listener blocking while it processes a PDU does not
+     * hold a platform thread. Only supported on Java 21 or later; the classes
+     * using the virtual thread API are in the Java 21 part of the multi-release
+     * jar.
+     */
+    VIRTUAL_THREADS {
+        @Override
+        public boolean isSupported() {
+            return VirtualThreads.isSupported();
+        }
+
+        @Override
+        Thread newThread(String name, Runnable task) {
+            return VirtualThreads.newThread(name, task);
+        }
+
+        @Override
+        public ThreadFactory newThreadFactory(String namePrefix) {
+            return VirtualThreads.newThreadFactory(namePrefix);
+        }
+    };
+
+    /**
+     * @return {@code true} if the running JVM supports this mode.
+     */
+    public abstract boolean isSupported();
+
+    /**
+     * Create an unstarted thread.
+     *
+     * @param name is the thread name.
+     * @param task is the task the thread runs.
+     * @return the thread.
+     */
+    abstract Thread newThread(String name, Runnable task);
+
+    /**
+     * Create a factory for the threads of a PDU processing executor, or of a
+     * connection such as a
+     * {@link org.jsmpp.session.connection.CoalescingConnectionFactory}.
+     *
+     * @param namePrefix is the prefix of the thread names, if the mode names
+     *        its threads.
+     * @return the thread factory.
+     */
+    public abstract ThreadFactory newThreadFactory(String namePrefix);
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.jsmpp.PDUSender;
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.util.OctetUtil;
+
+/**
+ * Task sending a composed PDU, such as a PDU received on another session, with
+ * only the sequence_number replaced.
+ */
+public class ForwardCommandTask extends AbstractSendCommandTask {
+    private final byte[] pdu;
+    private final String commandName;
+    private final boolean owned;
+
+    /**
+     * Construct the task.
+     *
+     * @param pduSender is the PDU sender.
+     * @param pdu is the composed PDU, including the header.
+     * @param commandId is the expected command_id of the PDU.
+     * @param commandName is the command name.
+     * @throws IllegalArgumentException if the PDU is not a complete PDU of the expected command_id.
+     */
+    public ForwardCommandTask(PDUSender pduSender, byte[] pdu, int commandId, String commandName) {
+        this(pduSender, pdu, commandId, commandName, false);
+    }
+
+    /**
+     * Construct the task.
+     *
+     * @param pduSender is the PDU sender.
+     * @param pdu is the composed PDU, including the header.
+     * @param commandId is the expected command_id of the PDU.
+     * @param commandName is the command name.
+     * @param owned is {@code true} if the PDU was composed for this task only,
+     *        so the sequence_number is set in the PDU and it is sent without a copy.
+     * @throws IllegalArgumentException if the PDU is not a complete PDU of the expected command_id.
+     */
+    ForwardCommandTask(PDUSender pduSender, byte[] pdu, int commandId, String commandName, boolean owned) {
+        super(pduSender);
+        if (pdu == null || pdu.length < SMPPConstant.PDU_HEADER_LENGTH
+            || OctetUtil.bytesToInt(pdu, 0) != pdu.length) {
+            throw new IllegalArgumentException("Not a complete " + commandName + " PDU");
+        }
+        if (OctetUtil.bytesToInt(pdu, 4) != commandId) {
+            throw new IllegalArgumentException("Not a " + commandName + " PDU, command_id is 0x"
+                + Integer.toHexString(OctetUtil.bytesToInt(pdu, 4)));
+        }
+        this.pdu = pdu;
+        this.commandName = commandName;
+        this.owned = owned;
+    }
+
+    @Override
+    public void executeTask(OutputStream out, int sequenceNumber) throws IOException {
+        if (owned) {
+            OctetUtil.intToBytes(sequenceNumber, pdu, 12);
+            pduSender.sendPdus(out, pdu, pdu.length);
+        } else {
+            pduSender.sendPdu(out, sequenceNumber, pdu);
+        }
+    }
+
+    @Override
+    public String getCommandName() {
+        return commandName;
+    }
+}
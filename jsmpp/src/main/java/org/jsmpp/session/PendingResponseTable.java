@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.extra.PendingResponse;
+
+/**
+ * Table of the requests sent by a session that are waiting for their response,
+ * keyed by sequence_number. The table is accessed concurrently by the threads
+ * sending requests, the thread processing responses and the response timer.
+ *
+ * @see ConcurrentMapPendingResponseTable
+ * @see RingPendingResponseTable
+ */
+public interface PendingResponseTable {
+
+    /**
+     * Add the pending response of the request with the specified sequence_number.
+     *
+     * @param sequenceNumber is the sequence_number of the request.
+     * @param pendingResponse is the pending response.
+     */
+    void put(int sequenceNumber, PendingResponse<Command> pendingResponse);
+
+    /**
+     * Remove the pending response of the request with the specified
+     * sequence_number.
+     *
+     * @param sequenceNumber is the sequence_number of the request.
+     * @return the removed pending response, or {@code null} if there is none.
+     */
+    PendingResponse<Command> remove(int sequenceNumber);
+
+    /**
+     * Remove the pending response of the request with the specified
+     * sequence_number, only if it is the specified pending response.
+     *
+     * @param sequenceNumber is the sequence_number of the request.
+     * @param pendingResponse is the expected pending response.
+     * @return {@code true} if the pending response was removed.
+     */
+    boolean remove(int sequenceNumber, PendingResponse<Command> pendingResponse);
+
+    /**
+     * @return the number of pending responses.
+     */
+    int size();
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.Command;
+
+/**
+ * The order in which a session processes the PDUs it receives.
+ * <p>
+ * With an ordering other than {@link #NONE}, the received PDUs are divided
+ * over {@link AbstractSession#getPduProcessorDegree()} lanes. Each lane
+ * processes its PDUs one by one, in the order received, and the lanes run in
+ * parallel. The submit_sm, deliver_sm and data_sm PDUs go to the lane of their
+ * address, so the messages of one subscriber, like the parts of a concatenated
+ * message or its delivery receipts, are processed in order. All other
+ * requests go to the lane of their command_id. Responses are not processed on
+ * the lanes but in the order received, by the thread reading them.
+ * </p>
+ *
+ * @see AbstractSession#setProcessingOrder(ProcessingOrder)
+ */
+public enum ProcessingOrder {
+    /**
+     * Process the PDUs in parallel, in any order. The default.
+     */
+    NONE,
+
+    /**
+     * Process the submit_sm, deliver_sm and data_sm PDUs with the same
+     * source_addr in order. Suits an ESME receiving mobile originated messages
+     * and delivery receipts, where the source_addr is the subscriber.
+     */
+    SOURCE_ADDRESS,
+
+    /**
+     * Process the submit_sm, deliver_sm and data_sm PDUs with the same
+     * destination_addr in order. Suits an SMSC receiving submit_sm, where the
+     * destination_addr is the subscriber.
+     */
+    DESTINATION_ADDRESS;
+
+    /*
+     * submit_sm, deliver_sm and data_sm all start with service_type,
+     * source_addr_ton, source_addr_npi, source_addr, dest_addr_ton,
+     * dest_addr_npi and destination_addr.
+     */
+    private static boolean hasAddresses(int commandId) {
+        return commandId == SMPPConstant.CID_SUBMIT_SM
+            || commandId == SMPPConstant.CID_DELIVER_SM
+            || commandId == SMPPConstant.CID_DATA_SM;
+    }
+
+    /**
+     * Get the lane of a PDU.
+     *
+     * @param pduHeader is the header of the PDU.
+     * @param pdu is the PDU, including the header.
+     * @param lanes is the number of lanes.
+     * @return the lane, from 0 to {@code lanes - 1}.
+     */
+    int laneOf(Command pduHeader, byte[] pdu, int lanes) {
+        int hash = pduHeader.getCommandId();
+        if (this != NONE && hasAddresses(hash)) {
+            int offset = skipCOctetString(pdu, SMPPConstant.PDU_HEADER_LENGTH);
+            if (this == DESTINATION_ADDRESS) {
+                offset = skipCOctetString(pdu, offset + 2);
+            }
+            hash = hashCOctetString(pdu, offset + 2, hash);
+        }
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % lanes;
+    }
+
+    /*
+     * Return the offset after the terminating NULL, or past the end of the PDU
+     * if the string is not terminated.
+     */
+    private static int skipCOctetString(byte[] pdu, int offset) {
+        while (offset < pdu.length && pdu[offset] != 0) {
+            offset++;
+        }
+        return offset + 1;
+    }
+
+    private static int hashCOctetString(byte[] pdu, int offset, int defaultHash) {
+        if (offset >= pdu.length) {
+            return defaultHash;
+        }
+        int hash = 0;
+        while (offset < pdu.length && pdu[offset] != 0) {
+            hash = 31 * hash + pdu[offset++];
+        }
+        return hash;
+    }
+}
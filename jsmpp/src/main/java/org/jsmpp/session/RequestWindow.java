@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Window limiting the number of outstanding requests of a session. A slot is
+ * taken before a request is sent and freed when its pending response is done.
+ * Queued requests get the freed slots first. They are sent on the executor of
+ * the window, never on the thread freeing the slot, which is the thread reading
+ * the responses or the response timer.
+ */
+class RequestWindow {
+    private static final Logger log = LoggerFactory.getLogger(RequestWindow.class);
+
+    private final int maxOutstandingRequests;
+    private final Semaphore slots;
+    private final Queue<Runnable> queuedRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private final Executor executor;
+    private final Runnable drain = this::drain;
+
+    /**
+     * Construct a window.
+     *
+     * @param maxOutstandingRequests is the number of slots.
+     * @param executor is the executor sending the queued requests.
+     */
+    RequestWindow(int maxOutstandingRequests, Executor executor) {
+        this.maxOutstandingRequests = maxOutstandingRequests;
+        this.executor = executor;
+        slots = new Semaphore(maxOutstandingRequests);
+    }
+
+    int getMaxOutstandingRequests() {
+        return maxOutstandingRequests;
+    }
+
+    int getOccupancy() {
+        return maxOutstandingRequests - slots.availablePermits();
+    }
+
+    int getQueuedRequests() {
+        return queuedCount.get();
+    }
+
+    boolean tryAcquire() {
+        return queuedRequests.isEmpty() && slots.tryAcquire();
+    }
+
+    boolean tryAcquire(long timeout) throws InterruptedException {
+        return slots.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    void release() {
+        slots.release();
+        if (!queuedRequests.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Queue the request until a slot is free. The request runs on the executor
+     * of the window. It owns the slot when it runs, and has to release it.
+     *
+     * @param request is the request.
+     */
+    void queue(Runnable request) {
+        queuedCount.incrementAndGet();
+        queuedRequests.add(request);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+        try {
+            executor.execute(drain);
+        } catch (RejectedExecutionException e) {
+            // the session is closed, the queued requests fail by their timeout
+            log.debug("Queued requests not sent: {}", e.getMessage());
+            drainWip.set(0);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            while (!queuedRequests.isEmpty() && slots.tryAcquire()) {
+                Runnable request = queuedRequests.poll();
+                if (request == null) {
+                    slots.release();
+                    break;
+                }
+                queuedCount.decrementAndGet();
+                try {
+                    request.run();
+                } catch (RuntimeException e) {
+                    log.error("Sending queued request failed", e);
+                }
+            }
+            missed = drainWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.extra.PendingResponse;
+
+/**
+ * {@link PendingResponseTable} backed by a preallocated array, indexed by the
+ * sequence_number modulo the capacity. The sequence numbers of a session are
+ * increasing, so as long as fewer requests than the capacity are pending, every
+ * request gets a free slot and adding or removing a pending response does not
+ * allocate.
+ * <p>
+ * If the slot is still taken by an older request, the pending response is kept
+ * in an overflow map instead, so the table stays correct when more requests are
+ * pending than the capacity, at the cost of the allocation.
+ * </p>
+ */
+public class RingPendingResponseTable implements PendingResponseTable {
+    private static final PendingResponse<Command> RESERVED = new PendingResponse<>(0);
+
+    private final AtomicReferenceArray<PendingResponse<Command>> slots;
+    private final AtomicIntegerArray sequenceNumbers;
+    private final int mask;
+    private final Map<Integer, PendingResponse<Command>> overflow = new ConcurrentHashMap<>();
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Construct the table with 1024 slots.
+     */
+    public RingPendingResponseTable() {
+        this(1024);
+    }
+
+    /**
+     * Construct the table.
+     *
+     * @param capacity is the number of slots, rounded up to a power of two. It
+     *        should be at least the maximum number of pending requests.
+     */
+    public RingPendingResponseTable(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        int slotCount = 1;
+        while (slotCount < capacity) {
+            slotCount <<= 1;
+        }
+        slots = new AtomicReferenceArray<>(slotCount);
+        sequenceNumbers = new AtomicIntegerArray(slotCount);
+        mask = slotCount - 1;
+    }
+
+    /**
+     * @return the number of slots.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public void put(int sequenceNumber, PendingResponse<Command> pendingResponse) {
+        int index = sequenceNumber & mask;
+        if (slots.compareAndSet(index, null, RESERVED)) {
+            // the sequence number is published before the pending response, see remove
+            sequenceNumbers.set(index, sequenceNumber);
+            slots.set(index, pendingResponse);
+            size.increment();
+            return;
+        }
+        overflow.put(sequenceNumber, pendingResponse);
+        size.increment();
+    }
+
+    @Override
+    public PendingResponse<Command> remove(int sequenceNumber) {
+        int index = sequenceNumber & mask;
+        PendingResponse<Command> pendingResponse = slots.get(index);
+        if (pendingResponse != null && pendingResponse != RESERVED && sequenceNumbers.get(index) == sequenceNumber
+            && slots.compareAndSet(index, pendingResponse, null)) {
+            size.decrement();
+            return pendingResponse;
+        }
+        if (!overflow.isEmpty()) {
+            pendingResponse = overflow.remove(sequenceNumber);
+            if (pendingResponse != null) {
+                size.decrement();
+                return pendingResponse;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(int sequenceNumber, PendingResponse<Command> pendingResponse) {
+        int index = sequenceNumber & mask;
+        if (slots.compareAndSet(index, pendingResponse, null)) {
+            size.decrement();
+            return true;
+        }
+        if (!overflow.isEmpty() && overflow.remove(sequenceNumber, pendingResponse)) {
+            size.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+}
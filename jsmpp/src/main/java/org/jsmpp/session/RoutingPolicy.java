@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+/**
+ * How a {@link SMPPSessionPool} chooses the session for a request.
+ */
+public enum RoutingPolicy {
+    /**
+     * The bound session with the fewest requests waiting for their response,
+     * see {@link Session#getUnacknowledgedRequests()}. A slow bind gets less
+     * traffic.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * The bound sessions in turn.
+     */
+    ROUND_ROBIN
+}
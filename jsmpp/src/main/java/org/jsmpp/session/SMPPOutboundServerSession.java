@@ -25,7 +25,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.jsmpp.DefaultPDUReader;
+import org.jsmpp.BufferedPDUReader;
 import org.jsmpp.DefaultPDUSender;
 import org.jsmpp.InvalidCommandLengthException;
 import org.jsmpp.InvalidResponseException;
@@ -55,6 +55,7 @@ import org.jsmpp.extra.ResponseTimeoutException;
 import org.jsmpp.extra.SessionState;
 import org.jsmpp.session.connection.Connection;
 import org.jsmpp.util.InterfaceVersionUtil;
+import org.jsmpp.util.PDUDecomposer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,7 +87,7 @@ public class SMPPOutboundServerSession extends AbstractSession implements Outbou
     this(conn, sessionStateListener, messageReceiverListener,
         outboundServerMessageReceiverListener, pduProcessorDegree,
         new SynchronizedPDUSender(new DefaultPDUSender()),
-        new DefaultPDUReader());
+        new BufferedPDUReader());
   }
 
   public SMPPOutboundServerSession(Connection conn,
@@ -284,6 +285,11 @@ public class SMPPOutboundServerSession extends AbstractSession implements Outbou
 
   private class OutboundServerResponseHandlerImpl implements OutboundServerResponseHandler {
 
+    @Override
+    public PDUDecomposer getPduDecomposer() {
+      return SMPPOutboundServerSession.this.getPduDecomposer();
+    }
+
     @Override
     public void processEnquireLink(final EnquireLink enquireLink) {
       try {
@@ -384,7 +390,8 @@ public class SMPPOutboundServerSession extends AbstractSession implements Outbou
    *
    * @author uudashr
    */
-  private class PDUReaderWorker extends Thread {
+  private class PDUReaderWorker implements Runnable {
+    private final String name;
     // start with serial execution of pdu processing, when the session is bound the pool will be enlarged up to the PduProcessorDegree
     private ThreadPoolExecutor pduExecutor;
     private LinkedBlockingQueue<Runnable> workQueue;
@@ -392,29 +399,22 @@ public class SMPPOutboundServerSession extends AbstractSession implements Outbou
     private Runnable onIOExceptionTask = () -> close();
 
     PDUReaderWorker(final int queueCapacity) {
-      super("PDUReaderWorker-" + getSessionId());
+      this.name = "PDUReaderWorker-" + getSessionId();
       this.queueCapacity = queueCapacity;
       workQueue = new LinkedBlockingQueue<>(queueCapacity);
       pduExecutor = new ThreadPoolExecutor(1, 1,
           0L, TimeUnit.MILLISECONDS,
-          workQueue, (runnable, executor) -> {
+          workQueue, getExecutionMode().newThreadFactory("PDUProcessor-" + getSessionId()),
+          (runnable, executor) -> {
             log.info("Receiving queue is full, please increasing queue capacity, and/or let other side obey the window size");
-            Command pduHeader = ((PDUProcessServerTask) runnable).getPduHeader();
-            if ((pduHeader.getCommandId() & SMPPConstant.MASK_CID_RESP) == SMPPConstant.MASK_CID_RESP) {
-              try {
-                boolean success = executor.getQueue().offer(runnable, 60000, TimeUnit.MILLISECONDS);
-                if (!success) {
-                  log.warn("Offer to queue failed for {}", pduHeader);
-                }
-              } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-              }
-            } else {
-              throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
-            }
+            throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
           });
     }
 
+    private void start() {
+      getExecutionMode().newThread(name, this).start();
+    }
+
     @Override
     public void run() {
       while (isReadPdu()) {
@@ -429,7 +429,7 @@ public class SMPPOutboundServerSession extends AbstractSession implements Outbou
         Thread.currentThread().interrupt();
         throw new RuntimeException(e);
       }
-      log.debug("{} stopped", getName());
+      log.debug("{} stopped", name);
     }
 
     private void readPDU() {
@@ -444,7 +444,11 @@ public class SMPPOutboundServerSession extends AbstractSession implements Outbou
          */
         PDUProcessOutboundServerTask task = new PDUProcessOutboundServerTask(pduHeader, pdu,
             sessionContext, responseHandler, sessionContext, onIOExceptionTask);
-        pduExecutor.execute(task);
+        if (isResponse(pduHeader)) {
+          processResponse(task);
+        } else {
+          pduExecutor.execute(task);
+        }
       } catch (QueueMaxException e) {
         log.info("Notify other side to throttle: {} ({} threads active)", e.getMessage(), pduExecutor.getActiveCount());
         try {
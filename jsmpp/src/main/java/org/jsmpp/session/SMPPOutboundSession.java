@@ -24,7 +24,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.jsmpp.DefaultPDUReader;
+import org.jsmpp.BufferedPDUReader;
 import org.jsmpp.DefaultPDUSender;
 import org.jsmpp.InvalidCommandLengthException;
 import org.jsmpp.InvalidResponseException;
@@ -56,6 +56,7 @@ import org.jsmpp.session.connection.Connection;
 import org.jsmpp.session.connection.ConnectionFactory;
 import org.jsmpp.session.connection.socket.SocketConnectionFactory;
 import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.PDUDecomposer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -107,7 +108,7 @@ public class SMPPOutboundSession extends AbstractSession implements OutboundClie
    */
   public SMPPOutboundSession() {
     this(new SynchronizedPDUSender(new DefaultPDUSender(new DefaultComposer())),
-        new DefaultPDUReader(),
+        new BufferedPDUReader(),
         SocketConnectionFactory.getInstance());
   }
 
@@ -304,6 +305,11 @@ public class SMPPOutboundSession extends AbstractSession implements OutboundClie
 
   private class ResponseHandlerImpl implements OutboundResponseHandler {
 
+    @Override
+    public PDUDecomposer getPduDecomposer() {
+      return SMPPOutboundSession.this.getPduDecomposer();
+    }
+
     public void sendBindResp(String systemId, InterfaceVersion interfaceVersion, BindType bindType, int sequenceNumber)
         throws IOException {
       sessionContext.bound(bindType, interfaceVersion);
@@ -395,7 +401,8 @@ public class SMPPOutboundSession extends AbstractSession implements OutboundClie
    *
    * @author uudashr
    */
-  private class PDUReaderWorker extends Thread {
+  private class PDUReaderWorker implements Runnable {
+    private final String name;
     // start with serial execution of pdu processing, when the session is bound the pool will be enlarged up to the PduProcessorDegree
     private ThreadPoolExecutor pduExecutor;
     private LinkedBlockingQueue<Runnable> workQueue;
@@ -403,29 +410,21 @@ public class SMPPOutboundSession extends AbstractSession implements OutboundClie
     private Runnable onIOExceptionTask = () -> close();
 
     private PDUReaderWorker(final int pduProcessorDegree, final int queueCapacity) {
-      super("PDUReaderWorker-" + getSessionId());
+      this.name = "PDUReaderWorker-" + getSessionId();
       this.queueCapacity = queueCapacity;
       workQueue = new LinkedBlockingQueue<>(queueCapacity);
       pduExecutor = new ThreadPoolExecutor(pduProcessorDegree, pduProcessorDegree,
-          0L, TimeUnit.MILLISECONDS, workQueue, (runnable, executor) -> {
+          0L, TimeUnit.MILLISECONDS, workQueue, getExecutionMode().newThreadFactory("PDUProcessor-" + getSessionId()),
+          (runnable, executor) -> {
             log.info("Receiving queue is full, please increasing receive queue capacity, and/or let other side obey the window size");
-            Command pduHeader = ((PDUProcessTask) runnable).getPduHeader();
-            if ((pduHeader.getCommandId() & SMPPConstant.MASK_CID_RESP) == SMPPConstant.MASK_CID_RESP) {
-              try {
-                boolean success = executor.getQueue().offer(runnable, 60000, TimeUnit.MILLISECONDS);
-                if (!success) {
-                  log.warn("Offer to receive queue failed for {}", pduHeader);
-                }
-              } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
-              }
-            } else {
-              throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
-            }
+            throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
           });
     }
 
+    private void start() {
+      getExecutionMode().newThread(name, this).start();
+    }
+
     @Override
     public void run() {
       while (isReadPdu()) {
@@ -439,7 +438,7 @@ public class SMPPOutboundSession extends AbstractSession implements OutboundClie
         log.warn("Interrupted while waiting for PDU executor pool to finish");
         Thread.currentThread().interrupt();
       }
-      log.debug("{} stopped", getName());
+      log.debug("{} stopped", name);
     }
 
     private void readPDU() {
@@ -455,7 +454,11 @@ public class SMPPOutboundSession extends AbstractSession implements OutboundClie
         PDUProcessOutboundTask task = new PDUProcessOutboundTask(pduHeader, pdu,
             sessionContext, responseHandler,
             sessionContext, onIOExceptionTask);
-        pduExecutor.execute(task);
+        if (isResponse(pduHeader)) {
+          processResponse(task);
+        } else {
+          pduExecutor.execute(task);
+        }
       } catch (QueueMaxException e) {
         log.info("Notify other side to throttle: {} ({} threads active)", e.getMessage(), pduExecutor.getActiveCount());
         try {
@@ -24,7 +24,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.jsmpp.DefaultPDUReader;
+import org.jsmpp.BufferedPDUReader;
 import org.jsmpp.DefaultPDUSender;
 import org.jsmpp.InvalidCommandLengthException;
 import org.jsmpp.InvalidResponseException;
@@ -62,6 +62,10 @@ import org.jsmpp.extra.QueueMaxException;
 import org.jsmpp.extra.ResponseTimeoutException;
 import org.jsmpp.extra.SessionState;
 import org.jsmpp.session.connection.Connection;
+import org.jsmpp.session.connection.NonBlockingConnection;
+import org.jsmpp.session.connection.PDUFrameHandler;
+import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.PDUDecomposer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,6 +88,8 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
     private final ServerResponseHandler responseHandler = new ResponseHandlerImpl();
 
     private PDUReaderWorker pduReaderWorker;
+    private SharedPDUExecutor sharedPduExecutor;
+    private SharedPDUExecutor responseExecutor;
     private ServerMessageReceiverListener messageReceiverListener;
     private ServerResponseDeliveryListener responseDeliveryListener;
     private final BindRequestReceiver bindRequestReceiver = new BindRequestReceiver(responseHandler);
@@ -96,7 +102,7 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
         this(conn, sessionStateListener, messageReceiverListener,
                 responseDeliveryListener, pduProcessorDegree, queueCapacity,
                 new SynchronizedPDUSender(new DefaultPDUSender()),
-                new DefaultPDUReader());
+                new BufferedPDUReader());
     }
     
     public SMPPServerSession(Connection conn,
@@ -127,6 +133,44 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
         return connection().getPort();
     }
 
+    /**
+     * Process the received PDUs on a lane of a shared executor instead of on
+     * threads of this session. Must be set before {@link #waitForBind(long)}.
+     *
+     * @param sharedPduExecutor is the shared executor, or {@code null} for a
+     *        thread pool of this session. A session on a
+     *        {@link NonBlockingConnection} then uses an executor of two daemon
+     *        threads per available processor, shared by all such sessions.
+     * @see SharedPDUExecutor
+     */
+    public void setSharedPduExecutor(SharedPDUExecutor sharedPduExecutor) {
+        this.sharedPduExecutor = sharedPduExecutor;
+    }
+
+    public SharedPDUExecutor getSharedPduExecutor() {
+        return sharedPduExecutor;
+    }
+
+    /**
+     * Process the received responses on a lane of the specified executor, if
+     * the session has a {@link NonBlockingConnection}. The responses must not
+     * be processed on the I/O thread, which is shared with other connections.
+     * The dependent actions of the futures returned by the asynchronous methods
+     * run there too, unless they are asynchronous themselves. Must be set
+     * before {@link #waitForBind(long)}.
+     *
+     * @param responseExecutor is the executor, or {@code null} for an executor
+     *        of one daemon thread per available processor, shared by all
+     *        sessions without a response executor.
+     */
+    public void setResponseExecutor(SharedPDUExecutor responseExecutor) {
+        this.responseExecutor = responseExecutor;
+    }
+
+    public SharedPDUExecutor getResponseExecutor() {
+        return responseExecutor;
+    }
+
     /**
      * Wait for bind request.
      *
@@ -143,7 +187,14 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
         SessionState currentSessionState = getSessionState();
         if (currentSessionState.equals(SessionState.OPEN)) {
             pduReaderWorker = new PDUReaderWorker(getPduProcessorDegree(), getQueueCapacity());
-            pduReaderWorker.start();
+            if (conn instanceof NonBlockingConnection) {
+                // the I/O thread notifies the idle timeout, the PDU executor sends the enquire_link
+                enquireLinkSender.start(task -> pduReaderWorker.execute(task, null, null));
+                ((NonBlockingConnection) conn).startReading(new PDUFrameHandlerImpl());
+            } else {
+                pduReaderWorker.start();
+                enquireLinkSender.start();
+            }
             try {
                 return bindRequestReceiver.waitForRequest(timeout);
             } catch (IllegalStateException e) {
@@ -181,6 +232,31 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
         
         executeSendCommand(task, getTransactionTimer());
     }
+
+    /**
+     * Forward a deliver_sm PDU, such as one received by a {@link SMPPSession},
+     * as is. Only the sequence_number is replaced by one of this session. The
+     * PDU is neither decoded nor validated again.
+     *
+     * @param pdu is the deliver_sm PDU, including the header.
+     * @throws IllegalArgumentException if the PDU is not a complete deliver_sm.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws ResponseTimeoutException if the response has reach it timeout.
+     * @throws InvalidResponseException if invalid response found.
+     * @throws NegativeResponseException if the negative response found.
+     * @throws IOException if there is an I/O error found.
+     * @see org.jsmpp.bean.LazyDeliverSm#getPdu()
+     */
+    public void forwardDeliverSm(byte[] pdu) throws PDUException, ResponseTimeoutException,
+            InvalidResponseException, NegativeResponseException, IOException {
+
+        ensureReceivable("forwardDeliverSm");
+
+        ForwardCommandTask task = new ForwardCommandTask(pduSender(), pdu, SMPPConstant.CID_DELIVER_SM,
+            DeliverSmCommandTask.COMMAND_NAME_DELIVER_SM);
+
+        executeSendCommand(task, getTransactionTimer());
+    }
     
     /* (non-Javadoc)
      * @see org.jsmpp.session.ServerSession#alertNotification(org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String, org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String, org.jsmpp.bean.OptionalParameter[])
@@ -343,6 +419,11 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
     
     private class ResponseHandlerImpl implements ServerResponseHandler {
 
+        @Override
+        public PDUDecomposer getPduDecomposer() {
+            return SMPPServerSession.this.getPduDecomposer();
+        }
+
         @Override
         public PendingResponse<Command> removeSentItem(int sequenceNumber) {
             return removePendingResponse(sequenceNumber);
@@ -665,52 +746,97 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
         }
     }
     
-    private class PDUReaderWorker extends Thread {
+    private class PDUReaderWorker implements Runnable {
+        private final String name;
         private ThreadPoolExecutor pduExecutor;
         private LinkedBlockingQueue<Runnable> workQueue;
+        private StripedPDUExecutor lanes;
+        private SharedPDUExecutor.Lane responseLane;
         private int queueCapacity;
         private final Runnable onIOExceptionTask = () -> close();
 
         private PDUReaderWorker(final int pduProcessorDegree, final int queueCapacity) {
-            super("PDUReaderWorker-" + getSessionId());
+            this.name = "PDUReaderWorker-" + getSessionId();
             this.queueCapacity = queueCapacity;
+            if (conn instanceof NonBlockingConnection) {
+                SharedPDUExecutor responseLaneExecutor = responseExecutor != null ? responseExecutor : DefaultExecutors.RESPONSE;
+                responseLane = responseLaneExecutor.newLane("ResponseProcessor-" + getSessionId(), 1, queueCapacity);
+            }
+            SharedPDUExecutor sharedExecutor = sharedPduExecutor;
+            if (sharedExecutor == null && conn instanceof NonBlockingConnection) {
+                sharedExecutor = DefaultExecutors.PDU;
+            }
+            if (sharedExecutor != null) {
+                lanes = new StripedPDUExecutor(sharedExecutor, false, "PDUProcessor-" + getSessionId(),
+                    getProcessingOrder(), pduProcessorDegree, queueCapacity);
+                return;
+            }
+            if (getProcessingOrder() != ProcessingOrder.NONE) {
+                lanes = new StripedPDUExecutor(new SharedPDUExecutor(pduProcessorDegree,
+                    getExecutionMode().newThreadFactory("PDUProcessor-" + getSessionId())), true,
+                    "PDUProcessor-" + getSessionId(), getProcessingOrder(), pduProcessorDegree, queueCapacity);
+                return;
+            }
             workQueue = new LinkedBlockingQueue<>(queueCapacity);
             pduExecutor = new ThreadPoolExecutor(pduProcessorDegree, pduProcessorDegree,
                 0L, TimeUnit.MILLISECONDS,
-                workQueue, (runnable, executor) -> {
+                workQueue, getExecutionMode().newThreadFactory("PDUProcessor-" + getSessionId()),
+                (runnable, executor) -> {
                     log.info("Receiving queue is full, please increasing queue capacity, and/or let other side obey the window size");
-                    Command pduHeader = ((PDUProcessServerTask)runnable).getPduHeader();
-                    if ((pduHeader.getCommandId() & SMPPConstant.MASK_CID_RESP) == SMPPConstant.MASK_CID_RESP) {
-                        try {
-                            boolean success = executor.getQueue().offer(runnable, 60000, TimeUnit.MILLISECONDS);
-                            if (!success){
-                                log.warn("Offer to queue failed for {}", pduHeader);
-                            }
-                        }
-                        catch (InterruptedException e){
-                            Thread.currentThread().interrupt();
-                        }
-                    } else {
-                        throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
-                    }
+                  throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
                 });
         }
 
+        private void execute(Runnable task, Command pduHeader, byte[] pdu) {
+            if (lanes != null) {
+                lanes.execute(pduHeader, pdu, task);
+            } else {
+                pduExecutor.execute(task);
+            }
+        }
+
+        private int getActiveCount() {
+            return lanes != null ? lanes.getActiveCount() : pduExecutor.getActiveCount();
+        }
+
+        private void shutdownExecutor() {
+            if (responseLane != null) {
+                responseLane.shutdown();
+            }
+            if (lanes != null) {
+                lanes.shutdown();
+            } else {
+                pduExecutor.shutdown();
+            }
+        }
+
+        private void awaitExecutorTermination() throws InterruptedException {
+            if (lanes != null) {
+                lanes.awaitTermination(getTransactionTimer());
+            } else {
+                pduExecutor.awaitTermination(getTransactionTimer(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void start() {
+            getExecutionMode().newThread(name, this).start();
+        }
+
         @Override
         public void run() {
             while (isReadPdu()) {
                 readPDU();
             }
             close();
-            pduExecutor.shutdown();
+            shutdownExecutor();
             try {
-                pduExecutor.awaitTermination(getTransactionTimer(), TimeUnit.MILLISECONDS);
+                awaitExecutorTermination();
             }
             catch (InterruptedException e) {
                 log.warn("Interrupted while waiting for PDU executor pool to finish");
                 Thread.currentThread().interrupt();
             }
-            log.debug("{} stopped", getName());
+            log.debug("{} stopped", name);
         }
         
         private void readPDU() {
@@ -718,19 +844,7 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
             try {
                 pduHeader = pduReader.readPDUHeader(in);
                 byte[] pdu = pduReader.readPDU(in, pduHeader);
-
-                PDUProcessServerTask task = new PDUProcessServerTask(pduHeader,
-                        pdu, sessionContext.getStateProcessor(),
-                        sessionContext, responseHandler, onIOExceptionTask);
-                pduExecutor.execute(task);
-            } catch (QueueMaxException e) {
-                log.info("Notify other side to throttle: {} ({} threads active)", e.getMessage(), pduExecutor.getActiveCount());
-                try {
-                    responseHandler.sendNegativeResponse(pduHeader.getCommandId(), SMPPConstant.STAT_ESME_RTHROTTLED, pduHeader.getSequenceNumber());
-                } catch (IOException ioe) {
-                    log.warn("Failed sending negative response: {}", ioe.getMessage());
-                    close();
-                }
+                processPDU(pduHeader, pdu);
             } catch (InvalidCommandLengthException e) {
                 log.warn("Received invalid command length: {}", e.getMessage());
                 try {
@@ -757,6 +871,29 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
             }
         }
         
+        private void processPDU(Command pduHeader, byte[] pdu) {
+            try {
+                PDUProcessServerTask task = new PDUProcessServerTask(pduHeader,
+                        pdu, sessionContext.getStateProcessor(),
+                        sessionContext, responseHandler, onIOExceptionTask);
+                if (!isResponse(pduHeader)) {
+                    execute(task, pduHeader, pdu);
+                } else if (responseLane != null) {
+                    responseLane.execute(() -> processResponse(task), false);
+                } else {
+                    processResponse(task);
+                }
+            } catch (QueueMaxException e) {
+                log.info("Notify other side to throttle: {} ({} threads active)", e.getMessage(), getActiveCount());
+                try {
+                    responseHandler.sendNegativeResponse(pduHeader.getCommandId(), SMPPConstant.STAT_ESME_RTHROTTLED, pduHeader.getSequenceNumber());
+                } catch (IOException ioe) {
+                    log.warn("Failed sending negative response: {}", ioe.getMessage());
+                    close();
+                }
+            }
+        }
+
         /**
          * Notify for no activity.
          */
@@ -769,11 +906,82 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
          * Return an integer between 0 (Idle) and 100 (Congested/Maximum Load). Only used for SMPP 5.0.
          */
         public int getCongestionRatio() {
+            if (lanes != null) {
+                return lanes.getCongestionRatio();
+            }
             return ((80 * pduExecutor.getActiveCount()) / pduExecutor.getMaximumPoolSize()) +
                 ((20 * workQueue.size()) / queueCapacity);
         }
     }
     
+    /**
+     * Reading of the PDUs for a {@link NonBlockingConnection}. The connection
+     * calls this handler from its I/O thread, which is shared with other
+     * connections, so nothing here may block.
+     */
+    private class PDUFrameHandlerImpl implements PDUFrameHandler {
+
+        @Override
+        public void onPDU(byte[] pdu) {
+            if (!isReadPdu()) {
+                close();
+                return;
+            }
+            Command pduHeader = new Command();
+            pduHeader.setCommandLength(OctetUtil.bytesToInt(pdu, 0));
+            pduHeader.setCommandId(OctetUtil.bytesToInt(pdu, 4));
+            pduHeader.setCommandStatus(OctetUtil.bytesToInt(pdu, 8));
+            pduHeader.setSequenceNumber(OctetUtil.bytesToInt(pdu, 12));
+            try {
+                pduReaderWorker.processPDU(pduHeader, pdu);
+            } catch (RuntimeException e) {
+                log.warn("Runtime error while processing PDU", e);
+                close();
+            }
+        }
+
+        @Override
+        public void onInvalidCommandLength(int commandLength) {
+            log.warn("Received invalid command length: Command length {} is too short", commandLength);
+            try {
+                pduSender().sendGenericNack(out, SMPPConstant.STAT_ESME_RINVCMDLEN, 0);
+            } catch (IOException e) {
+                log.warn("Failed sending generic_nack", e);
+            }
+            // unbind waits for the unbind_resp, which is read by this thread
+            try {
+                pduReaderWorker.execute(SMPPServerSession.this::unbindAndClose, null, null);
+            } catch (RuntimeException e) {
+                close();
+            }
+        }
+
+        @Override
+        public void onIdle() {
+            if (isReadPdu()) {
+                pduReaderWorker.notifyNoActivity();
+            } else {
+                close();
+            }
+        }
+
+        @Override
+        public void onClose(Exception cause) {
+            if (cause instanceof EOFException) {
+                if (sessionContext.getSessionState() == SessionState.UNBOUND) {
+                    log.info("Unbound session {} socket closed", getSessionId());
+                } else {
+                    log.warn("Session {} socket closed unexpected", getSessionId());
+                }
+            } else if (cause != null) {
+                log.info("Reading PDU session {} in state {}: {}", getSessionId(), getSessionState(), cause.getMessage());
+            }
+            close();
+            pduReaderWorker.shutdownExecutor();
+            log.debug("PDU reading stopped for session {}", getSessionId());
+        }
+    }
+
     private class BoundSessionStateListener implements SessionStateListener {
         @Override
         public void onStateChange(SessionState newState, SessionState oldState, Session source) {
@@ -788,8 +996,19 @@ public class SMPPServerSession extends AbstractSession implements ServerSession
                 } catch (IOException e) {
                     log.error("Failed setting so_timeout for session timer", e);
                 }
-                enquireLinkSender.start();
             }
         }
     }
+
+    /*
+     * The executors of the sessions on a non-blocking connection without an
+     * executor of their own, created on first use, so the number of threads
+     * does not grow with the number of sessions.
+     */
+    private static class DefaultExecutors {
+        private static final SharedPDUExecutor PDU = SharedPDUExecutor.newDaemonExecutor(
+            "SharedPDUProcessor", 2 * Runtime.getRuntime().availableProcessors());
+        private static final SharedPDUExecutor RESPONSE = SharedPDUExecutor.newDaemonExecutor(
+            "SharedResponseProcessor", Runtime.getRuntime().availableProcessors());
+    }
 }
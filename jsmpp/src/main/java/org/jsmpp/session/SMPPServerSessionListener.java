@@ -21,6 +21,8 @@ import org.jsmpp.session.connection.Connection;
 import org.jsmpp.session.connection.ServerConnection;
 import org.jsmpp.session.connection.ServerConnectionFactory;
 import org.jsmpp.session.connection.socket.ServerSocketConnectionFactory;
+import org.jsmpp.util.DefaultDecomposer;
+import org.jsmpp.util.PDUDecomposer;
 
 /**
  * This object responsible to for new SMPP Session request from ESME. It will
@@ -51,6 +53,11 @@ public class SMPPServerSessionListener implements AutoCloseable {
     private int initiationTimer = 5000;
     private int pduProcessorDegree = 3;
     private int queueCapacity = 100;
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    private SharedPDUExecutor sharedPduExecutor;
+    private SharedPDUExecutor responseExecutor;
+    private ProcessingOrder processingOrder = ProcessingOrder.NONE;
+    private PDUDecomposer pduDecomposer = DefaultDecomposer.getInstance();
     private SessionStateListener sessionStateListener;
     private ServerMessageReceiverListener messageReceiverListener;
     private ServerResponseDeliveryListener responseDeliveryListener;
@@ -109,6 +116,99 @@ public class SMPPServerSessionListener implements AutoCloseable {
         this.queueCapacity = queueCapacity;
     }
 
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Set the execution mode of the accepted sessions.
+     *
+     * @param executionMode is the execution mode.
+     * @throws UnsupportedOperationException if the mode is not supported by
+     *         the running JVM.
+     * @see AbstractSession#setExecutionMode(ExecutionMode)
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        if (executionMode == null) {
+            throw new IllegalArgumentException("executionMode cannot be null");
+        }
+        if (!executionMode.isSupported()) {
+            throw new UnsupportedOperationException(executionMode + " is not supported by this JVM");
+        }
+        this.executionMode = executionMode;
+    }
+
+    public SharedPDUExecutor getSharedPduExecutor() {
+        return sharedPduExecutor;
+    }
+
+    /**
+     * Process the PDUs of all accepted sessions on a shared executor, each
+     * session on its own lane bounded by the PDU processor degree and queue
+     * capacity. The executor is not shut down by the listener.
+     *
+     * @param sharedPduExecutor is the shared executor, or {@code null} to give
+     *        every session a thread pool of its own (the default). Sessions
+     *        on a {@link org.jsmpp.session.connection.NonBlockingConnection}
+     *        then share a default executor.
+     * @see SharedPDUExecutor
+     */
+    public void setSharedPduExecutor(SharedPDUExecutor sharedPduExecutor) {
+        this.sharedPduExecutor = sharedPduExecutor;
+    }
+
+    public SharedPDUExecutor getResponseExecutor() {
+        return responseExecutor;
+    }
+
+    /**
+     * Process the responses received by the accepted sessions on a
+     * {@link org.jsmpp.session.connection.NonBlockingConnection} on the
+     * specified executor. The executor is not shut down by the listener.
+     *
+     * @param responseExecutor is the executor, or {@code null} for the default
+     *        executor shared by all sessions.
+     * @see SMPPServerSession#setResponseExecutor(SharedPDUExecutor)
+     */
+    public void setResponseExecutor(SharedPDUExecutor responseExecutor) {
+        this.responseExecutor = responseExecutor;
+    }
+
+    public ProcessingOrder getProcessingOrder() {
+        return processingOrder;
+    }
+
+    /**
+     * Set the order in which the accepted sessions process the received PDUs.
+     *
+     * @param processingOrder is the processing order.
+     * @see AbstractSession#setProcessingOrder(ProcessingOrder)
+     */
+    public void setProcessingOrder(ProcessingOrder processingOrder) {
+        if (processingOrder == null) {
+            throw new IllegalArgumentException("processingOrder cannot be null");
+        }
+        this.processingOrder = processingOrder;
+    }
+
+    public PDUDecomposer getPduDecomposer() {
+        return pduDecomposer;
+    }
+
+    /**
+     * Set the decomposer of the submit_sm, deliver_sm and data_sm received by
+     * the accepted sessions.
+     *
+     * @param pduDecomposer is the decomposer.
+     * @see AbstractSession#setPduDecomposer(PDUDecomposer)
+     */
+    public void setPduDecomposer(PDUDecomposer pduDecomposer) {
+        if (pduDecomposer == null) {
+            throw new IllegalArgumentException("pduDecomposer cannot be null");
+        }
+        this.pduDecomposer = pduDecomposer;
+    }
+
     public int getPort() {
         return port;
     }
@@ -168,9 +268,15 @@ public class SMPPServerSessionListener implements AutoCloseable {
     public SMPPServerSession accept() throws IOException {
         Connection conn = serverConn.accept();
         conn.setSoTimeout(initiationTimer);
-        return new SMPPServerSession(conn, sessionStateListener,
+        SMPPServerSession session = new SMPPServerSession(conn, sessionStateListener,
                 messageReceiverListener, responseDeliveryListener,
                 pduProcessorDegree, queueCapacity);
+        session.setExecutionMode(executionMode);
+        session.setSharedPduExecutor(sharedPduExecutor);
+        session.setResponseExecutor(responseExecutor);
+        session.setProcessingOrder(processingOrder);
+        session.setPduDecomposer(pduDecomposer);
+        return session;
     }
     
     public void close() throws IOException {
@@ -19,12 +19,16 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
-import org.jsmpp.DefaultPDUReader;
+import org.jsmpp.BufferedPDUReader;
 import org.jsmpp.DefaultPDUSender;
 import org.jsmpp.InvalidCommandLengthException;
 import org.jsmpp.InvalidResponseException;
@@ -65,6 +69,9 @@ import org.jsmpp.session.connection.ConnectionFactory;
 import org.jsmpp.session.connection.socket.SocketConnectionFactory;
 import org.jsmpp.util.DefaultComposer;
 import org.jsmpp.util.HexUtil;
+import org.jsmpp.util.PDUComposer;
+import org.jsmpp.util.PDUDecomposer;
+import org.jsmpp.util.SubmitSmTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -117,13 +124,13 @@ public class SMPPSession extends AbstractSession implements ClientSession {
    */
   public SMPPSession() {
     this(new SynchronizedPDUSender(new DefaultPDUSender(new DefaultComposer())),
-        new DefaultPDUReader(),
+        new BufferedPDUReader(),
         SocketConnectionFactory.getInstance());
   }
 
   public SMPPSession(ConnectionFactory connFactory) {
     this(new SynchronizedPDUSender(new DefaultPDUSender(new DefaultComposer())),
-        new DefaultPDUReader(),
+        new BufferedPDUReader(),
         connFactory);
   }
 
@@ -375,9 +382,7 @@ public class SMPPSession extends AbstractSession implements ClientSession {
         validityPeriod, registeredDelivery, replaceIfPresentFlag,
         dataCoding, smDefaultMsgId, shortMessage, optionalParameters);
 
-    SubmitSmResp resp = (SubmitSmResp) executeSendCommand(submitSmTask, getTransactionTimer());
-
-    return new SubmitSmResult(resp.getMessageId(), resp.getOptionalParameters());
+    return toSubmitSmResult(executeSendCommand(submitSmTask, getTransactionTimer()));
   }
 
   /* (non-Javadoc)
@@ -479,6 +484,245 @@ public class SMPPSession extends AbstractSession implements ClientSession {
     executeSendCommand(task, getTransactionTimer());
   }
 
+  /* (non-Javadoc)
+   * @see org.jsmpp.session.ClientSession#submitShortMessageAsync(java.lang.String, org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String, org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String, org.jsmpp.bean.ESMClass, byte, byte, java.lang.String, java.lang.String, org.jsmpp.bean.RegisteredDelivery, byte, org.jsmpp.bean.DataCoding, byte, byte[], org.jsmpp.bean.OptionalParameter[])
+   */
+  @Override
+  public CompletableFuture<SubmitSmResult> submitShortMessageAsync(String serviceType,
+                                                                   TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+                                                                   String sourceAddr, TypeOfNumber destAddrTon,
+                                                                   NumberingPlanIndicator destAddrNpi, String destinationAddr,
+                                                                   ESMClass esmClass, byte protocolId, byte priorityFlag,
+                                                                   String scheduleDeliveryTime, String validityPeriod,
+                                                                   RegisteredDelivery registeredDelivery, byte replaceIfPresentFlag,
+                                                                   DataCoding dataCoding, byte smDefaultMsgId, byte[] shortMessage,
+                                                                   OptionalParameter... optionalParameters) throws PDUException,
+      IOException {
+
+    ensureTransmittable(SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    SubmitSmCommandTask submitSmTask = new SubmitSmCommandTask(
+        pduSender(), serviceType, sourceAddrTon, sourceAddrNpi,
+        sourceAddr, destAddrTon, destAddrNpi, destinationAddr,
+        esmClass, protocolId, priorityFlag, scheduleDeliveryTime,
+        validityPeriod, registeredDelivery, replaceIfPresentFlag,
+        dataCoding, smDefaultMsgId, shortMessage, optionalParameters);
+
+    return executeSendCommandAsync(submitSmTask, getTransactionTimer()).thenApply(this::toSubmitSmResult);
+  }
+
+  private SubmitSmResult toSubmitSmResult(Command resp) {
+    SubmitSmResp submitSmResp = (SubmitSmResp) resp;
+    SubmitSmResult result = new SubmitSmResult(submitSmResp.getMessageId(), submitSmResp.getOptionalParameters());
+    getPduDecomposer().release(submitSmResp);
+    return result;
+  }
+
+  /**
+   * Forward a submit_sm PDU, such as one received by a {@link SMPPServerSession},
+   * as is. Only the sequence_number is replaced by one of this session; the
+   * result is returned to the caller, which responds to the original request
+   * with its own sequence_number. The PDU is neither decoded nor validated
+   * again.
+   *
+   * <pre>
+   * listener.setPduDecomposer(LazyDecomposer.getInstance());
+   * ...
+   * public SubmitSmResult onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source) {
+   *     return upstream.forwardSubmitSm(((LazySubmitSm) submitSm).getPdu());
+   * }
+   * </pre>
+   *
+   * @param pdu is the submit_sm PDU, including the header.
+   * @return the result of the submit_sm.
+   * @throws IllegalArgumentException if the PDU is not a complete submit_sm.
+   * @throws PDUException if there is invalid PDU parameter found.
+   * @throws ResponseTimeoutException if the response has reach it timeout.
+   * @throws InvalidResponseException if invalid response found.
+   * @throws NegativeResponseException if the negative response found.
+   * @throws IOException if there is an I/O error found.
+   * @see org.jsmpp.bean.LazySubmitSm#getPdu()
+   */
+  public SubmitSmResult forwardSubmitSm(byte[] pdu) throws PDUException, ResponseTimeoutException,
+      InvalidResponseException, NegativeResponseException, IOException {
+
+    ensureTransmittable(SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    ForwardCommandTask task = new ForwardCommandTask(pduSender(), pdu, SMPPConstant.CID_SUBMIT_SM,
+        SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    return toSubmitSmResult(executeSendCommand(task, getTransactionTimer()));
+  }
+
+  /**
+   * Forward a submit_sm PDU as is without waiting for the response. Only the
+   * sequence_number is replaced by one of this session. The returned future is
+   * completed like the one of
+   * {@link #submitShortMessageAsync(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, byte, byte, String, String, RegisteredDelivery, byte, DataCoding, byte, byte[], OptionalParameter...)}.
+   *
+   * @param pdu is the submit_sm PDU, including the header.
+   * @return the future result of the submit_sm.
+   * @throws IllegalArgumentException if the PDU is not a complete submit_sm.
+   * @throws PDUException if there is invalid PDU parameter found.
+   * @throws IOException if there is an I/O error found.
+   * @see #forwardSubmitSm(byte[])
+   */
+  public CompletableFuture<SubmitSmResult> forwardSubmitSmAsync(byte[] pdu) throws PDUException, IOException {
+
+    ensureTransmittable(SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    ForwardCommandTask task = new ForwardCommandTask(pduSender(), pdu, SMPPConstant.CID_SUBMIT_SM,
+        SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    return executeSendCommandAsync(task, getTransactionTimer()).thenApply(this::toSubmitSmResult);
+  }
+
+  /**
+   * Submit a batch of short messages without waiting for the responses. All
+   * submit_sm are composed first, then pipelined in as few socket writes as
+   * the window of outstanding requests ({@link #setMaxOutstandingRequests(int)})
+   * allows. The caller is held back only while the window is full, so a single
+   * thread can drive a bulk submission.
+   * <p>
+   * Every request has its own future, completed when its submit_sm_resp is
+   * received. A request with an invalid parameter fails with a
+   * {@link PDUStringException} and is not sent. The window policy
+   * {@link WindowFullPolicy#QUEUE} waits like {@link WindowFullPolicy#BLOCK}.
+   * </p>
+   *
+   * <pre>
+   * List&lt;CompletableFuture&lt;SubmitSmResult&gt;&gt; results = session.submitBatch(requests);
+   * CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+   * </pre>
+   *
+   * @param requests are the short messages.
+   * @return the future results, in the order of the requests.
+   * @throws IOException if the session is not bound to transmit.
+   */
+  public List<CompletableFuture<SubmitSmResult>> submitBatch(List<SubmitSmRequest> requests) throws IOException {
+
+    ensureTransmittable(SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    PDUComposer composer = pduSender().getPduComposer();
+    byte[][] pdus = new byte[requests.size()][];
+    List<CompletableFuture<SubmitSmResult>> results = new ArrayList<>(pdus.length);
+    for (int i = 0; i < pdus.length; i++) {
+      try {
+        pdus[i] = requests.get(i).compose(composer, 0);
+        results.add(null);
+      } catch (PDUStringException e) {
+        CompletableFuture<SubmitSmResult> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        results.add(failed);
+      }
+    }
+    List<CompletableFuture<Command>> responses = executeSendPdus(pdus, SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM,
+        getTransactionTimer());
+    for (int i = 0; i < pdus.length; i++) {
+      if (pdus[i] != null) {
+        results.set(i, responses.get(i).thenApply(this::toSubmitSmResult));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Submit a short message composed from a {@link SubmitSmTemplate}, which only
+   * encodes the destination_addr and the short_message of the message.
+   *
+   * @param template is the template with the other fields of the submit_sm.
+   * @param destinationAddr is the destination_addr.
+   * @param shortMessage is the short_message.
+   * @return the result of the submit_sm.
+   * @throws PDUException if there is invalid PDU parameter found.
+   * @throws ResponseTimeoutException if the response has reach it timeout.
+   * @throws InvalidResponseException if invalid response found.
+   * @throws NegativeResponseException if the negative response found.
+   * @throws IOException if there is an I/O error found.
+   */
+  public SubmitSmResult submitShortMessage(SubmitSmTemplate template, String destinationAddr, byte[] shortMessage)
+      throws PDUException, ResponseTimeoutException, InvalidResponseException, NegativeResponseException,
+      IOException {
+
+    ensureTransmittable(SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    return toSubmitSmResult(executeSendCommand(templateTask(template, destinationAddr, shortMessage),
+        getTransactionTimer()));
+  }
+
+  /**
+   * Submit a short message composed from a {@link SubmitSmTemplate} without
+   * waiting for the response.
+   *
+   * @param template is the template with the other fields of the submit_sm.
+   * @param destinationAddr is the destination_addr.
+   * @param shortMessage is the short_message.
+   * @return the future result of the submit_sm.
+   * @throws PDUException if there is invalid PDU parameter found.
+   * @throws IOException if there is an I/O error found.
+   * @see #submitShortMessage(SubmitSmTemplate, String, byte[])
+   */
+  public CompletableFuture<SubmitSmResult> submitShortMessageAsync(SubmitSmTemplate template,
+      String destinationAddr, byte[] shortMessage) throws PDUException, IOException {
+
+    ensureTransmittable(SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM);
+
+    return executeSendCommandAsync(templateTask(template, destinationAddr, shortMessage), getTransactionTimer())
+        .thenApply(this::toSubmitSmResult);
+  }
+
+  private ForwardCommandTask templateTask(SubmitSmTemplate template, String destinationAddr, byte[] shortMessage)
+      throws PDUStringException {
+    // the PDU is composed for this request only, so it is sent without a copy
+    return new ForwardCommandTask(pduSender(), template.submitSm(0, destinationAddr, shortMessage),
+        SMPPConstant.CID_SUBMIT_SM, SubmitSmCommandTask.COMMAND_NAME_SUBMIT_SM, true);
+  }
+
+  /* (non-Javadoc)
+   * @see org.jsmpp.session.ClientSession#queryShortMessageAsync(java.lang.String, org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String)
+   */
+  @Override
+  public CompletableFuture<QuerySmResult> queryShortMessageAsync(final String messageId,
+                                                                 TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+                                                                 String sourceAddr) throws PDUException, IOException {
+
+    ensureTransmittable(QuerySmCommandTask.COMMAND_NAME_QUERY_SM);
+
+    QuerySmCommandTask task = new QuerySmCommandTask(pduSender(),
+        messageId, sourceAddrTon, sourceAddrNpi, sourceAddr);
+
+    return executeSendCommandAsync(task, getTransactionTimer()).thenApply(command -> {
+      QuerySmResp resp = (QuerySmResp) command;
+      if (resp.getMessageId() != null && resp.getMessageId().equals(messageId)) {
+        return new QuerySmResult(resp.getFinalDate(), resp
+            .getMessageState(), resp.getErrorCode());
+      } else {
+        // message id requested not the same as the returned
+        throw new CompletionException(new InvalidResponseException(
+            "Requested message_id doesn't match with the result"));
+      }
+    });
+  }
+
+  /* (non-Javadoc)
+   * @see org.jsmpp.session.ClientSession#cancelShortMessageAsync(java.lang.String, java.lang.String, org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String, org.jsmpp.bean.TypeOfNumber, org.jsmpp.bean.NumberingPlanIndicator, java.lang.String)
+   */
+  @Override
+  public CompletableFuture<Void> cancelShortMessageAsync(String serviceType, String messageId,
+                                                         TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+                                                         String sourceAddr, TypeOfNumber destAddrTon,
+                                                         NumberingPlanIndicator destAddrNpi, String destinationAddress)
+      throws PDUException, IOException {
+
+    ensureTransmittable(CancelSmCommandTask.COMMAND_NAME_CANCEL_SM);
+
+    CancelSmCommandTask task = new CancelSmCommandTask(pduSender(),
+        serviceType, messageId, sourceAddrTon, sourceAddrNpi,
+        sourceAddr, destAddrTon, destAddrNpi, destinationAddress);
+
+    return executeSendCommandAsync(task, getTransactionTimer()).thenApply(resp -> null);
+  }
+
   @Override
   public MessageReceiverListener getMessageReceiverListener() {
     return messageReceiverListener;
@@ -531,6 +775,11 @@ public class SMPPSession extends AbstractSession implements ClientSession {
 
   private class ResponseHandlerImpl implements ResponseHandler {
 
+    @Override
+    public PDUDecomposer getPduDecomposer() {
+      return SMPPSession.this.getPduDecomposer();
+    }
+
     @Override
     public void processEnquireLink(EnquireLink enquireLink) {
       try {
@@ -635,37 +884,39 @@ public class SMPPSession extends AbstractSession implements ClientSession {
    *
    * @author uudashr
    */
-  private class PDUReaderWorker extends Thread {
+  private class PDUReaderWorker implements Runnable {
+    private final String name;
     // start with serial execution of pdu processing, when the session is bound the pool will be enlarged up to the PduProcessorDegree
     private ThreadPoolExecutor pduExecutor;
     private LinkedBlockingQueue<Runnable> workQueue;
+    // the ordered lanes, used instead of the pool for a processing order other than NONE
+    private StripedPDUExecutor lanes;
 		private int queueCapacity;
     private Runnable onIOExceptionTask = () -> close();
 
     private PDUReaderWorker(final int queueCapacity) {
-      super("PDUReaderWorker-" + getSessionId());
+      this.name = "PDUReaderWorker-" + getSessionId();
       this.queueCapacity = queueCapacity;
+      if (getProcessingOrder() != ProcessingOrder.NONE) {
+        int pduProcessorDegree = getPduProcessorDegree();
+        lanes = new StripedPDUExecutor(new SharedPDUExecutor(pduProcessorDegree,
+            getExecutionMode().newThreadFactory("PDUProcessor-" + getSessionId())), true,
+            "PDUProcessor-" + getSessionId(), getProcessingOrder(), pduProcessorDegree, queueCapacity);
+        return;
+      }
       workQueue = new LinkedBlockingQueue<>(queueCapacity);
       pduExecutor = new ThreadPoolExecutor(1, 1,
-          0L, TimeUnit.MILLISECONDS, workQueue, (runnable, executor) -> {
+          0L, TimeUnit.MILLISECONDS, workQueue, getExecutionMode().newThreadFactory("PDUProcessor-" + getSessionId()),
+          (runnable, executor) -> {
             log.info("Receiving queue is full, please increasing receive queue capacity, and/or let other side obey the window size");
-            Command pduHeader = ((PDUProcessTask) runnable).getPduHeader();
-            if ((pduHeader.getCommandId() & SMPPConstant.MASK_CID_RESP) == SMPPConstant.MASK_CID_RESP) {
-              try {
-                boolean success = executor.getQueue().offer(runnable, 60000, TimeUnit.MILLISECONDS);
-                if (!success) {
-                  log.warn("Offer to receive queue failed for {}", pduHeader);
-                }
-              } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
-              }
-            } else {
-              throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
-            }
+            throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
           });
     }
 
+    private void start() {
+      getExecutionMode().newThread(name, this).start();
+    }
+
     @Override
     public void run() {
       log.info("Starting PDUReaderWorker");
@@ -673,14 +924,19 @@ public class SMPPSession extends AbstractSession implements ClientSession {
         readPDU();
       }
       close();
-      pduExecutor.shutdown();
       try {
-        pduExecutor.awaitTermination(getTransactionTimer(), TimeUnit.MILLISECONDS);
+        if (lanes != null) {
+          lanes.shutdown();
+          lanes.awaitTermination(getTransactionTimer());
+        } else {
+          pduExecutor.shutdown();
+          pduExecutor.awaitTermination(getTransactionTimer(), TimeUnit.MILLISECONDS);
+        }
       } catch (InterruptedException e) {
         log.warn("Interrupted while waiting for PDU executor pool to finish");
         Thread.currentThread().interrupt();
       }
-      log.debug("{} stopped", this.getName());
+      log.debug("{} stopped", name);
     }
 
     private void readPDU() {
@@ -698,9 +954,16 @@ public class SMPPSession extends AbstractSession implements ClientSession {
         PDUProcessTask task = new PDUProcessTask(pduHeader, pdu,
             sessionContext, responseHandler,
             sessionContext, onIOExceptionTask);
-        pduExecutor.execute(task);
+        if (isResponse(pduHeader)) {
+          processResponse(task);
+        } else if (lanes != null) {
+          lanes.execute(pduHeader, pdu, task);
+        } else {
+          pduExecutor.execute(task);
+        }
       } catch (QueueMaxException e) {
-        log.info("Notify other side to throttle: {} ({} threads active)", e.getMessage(), pduExecutor.getActiveCount());
+        log.info("Notify other side to throttle: {} ({} threads active)", e.getMessage(),
+            lanes != null ? lanes.getActiveCount() : pduExecutor.getActiveCount());
         try {
           responseHandler.sendNegativeResponse(pduHeader.getCommandId(), SMPPConstant.STAT_ESME_RTHROTTLED, pduHeader.getSequenceNumber());
         } catch (IOException ioe) {
@@ -742,6 +1005,9 @@ public class SMPPSession extends AbstractSession implements ClientSession {
      * Return an integer between 0 (Idle) and 100 (Congested/Maximum Load). Only used for SMPP 5.0.
      */
     public int getCongestionRatio() {
+      if (lanes != null) {
+        return lanes.getCongestionRatio();
+      }
       return ((80 * pduExecutor.getActiveCount()) / pduExecutor.getMaximumPoolSize()) +
           ((20 * workQueue.size()) / queueCapacity);
     }
@@ -768,7 +1034,7 @@ public class SMPPSession extends AbstractSession implements ClientSession {
           log.error("Failed setting so_timeout for session timer", e);
         }
       }
-      if (newState.isBound()) {
+      if (newState.isBound() && pduReaderWorker.pduExecutor != null) {
         int pduProcessorDegree = getPduProcessorDegree();
         log.debug("Changing processor degree to {}", pduProcessorDegree);
         pduReaderWorker.pduExecutor.setMaximumPoolSize(pduProcessorDegree);
@@ -0,0 +1,447 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.jsmpp.InvalidResponseException;
+import org.jsmpp.PDUException;
+import org.jsmpp.bean.DataCoding;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.NegativeResponseException;
+import org.jsmpp.extra.ResponseTimeoutException;
+import org.jsmpp.extra.SessionState;
+import org.jsmpp.util.SubmitSmTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of {@link SMPPSession}s bound with the same parameters to one or more
+ * SMSC endpoints, for SMSCs limiting the throughput per bind. The sessions are
+ * spread over the endpoints in turn. Every request goes to one bound session
+ * chosen by the {@link RoutingPolicy}. A closed session is replaced in the
+ * background after the reconnect interval, until the pool is closed.
+ *
+ * <pre>
+ * SMPPSessionPool pool = new SMPPSessionPool(bindParam, 4,
+ *     new InetSocketAddress("smsc1", 2775), new InetSocketAddress("smsc2", 2775));
+ * pool.setSessionFactory(() -&gt; {
+ *     SMPPSession session = new SMPPSession();
+ *     session.setMaxOutstandingRequests(50);
+ *     return session;
+ * });
+ * pool.start();
+ * ...
+ * pool.submitShortMessage(template, destinationAddr, shortMessage);
+ * ...
+ * pool.close();
+ * </pre>
+ */
+public class SMPPSessionPool implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(SMPPSessionPool.class);
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final BindParameter bindParam;
+    private final InetSocketAddress[] endpoints;
+    private final AtomicReferenceArray<SMPPSession> sessions;
+    private final ScheduledExecutorService reconnector;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile Supplier<SMPPSession> sessionFactory = SMPPSession::new;
+    private volatile RoutingPolicy routingPolicy = RoutingPolicy.LEAST_OUTSTANDING;
+    private volatile long reconnectInterval = 5000L;
+    private volatile boolean closed;
+
+    /**
+     * Construct a pool of the specified number of sessions per endpoint.
+     *
+     * @param bindParam is the bind parameter of all the sessions.
+     * @param sessionsPerEndpoint is the number of sessions bound to each endpoint.
+     * @param endpoints are the SMSC host names and ports.
+     */
+    public SMPPSessionPool(BindParameter bindParam, int sessionsPerEndpoint, InetSocketAddress... endpoints) {
+        if (bindParam == null) {
+            throw new IllegalArgumentException("bindParam cannot be null");
+        }
+        if (sessionsPerEndpoint < 1) {
+            throw new IllegalArgumentException("sessionsPerEndpoint must be at least 1");
+        }
+        if (endpoints == null || endpoints.length == 0) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        this.bindParam = bindParam;
+        this.endpoints = endpoints.clone();
+        this.sessions = new AtomicReferenceArray<>(sessionsPerEndpoint * endpoints.length);
+        String threadName = "SMPPSessionPool-" + POOL_NUMBER.incrementAndGet() + "-reconnect";
+        this.reconnector = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Set the factory creating the sessions, to configure them before they are
+     * bound. The default creates a {@link SMPPSession} with the default settings.
+     *
+     * @param sessionFactory is the factory of the not connected sessions.
+     */
+    public void setSessionFactory(Supplier<SMPPSession> sessionFactory) {
+        if (sessionFactory == null) {
+            throw new IllegalArgumentException("sessionFactory cannot be null");
+        }
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * Set how the session for a request is chosen. The default is
+     * {@link RoutingPolicy#LEAST_OUTSTANDING}.
+     *
+     * @param routingPolicy is the routing policy.
+     */
+    public void setRoutingPolicy(RoutingPolicy routingPolicy) {
+        if (routingPolicy == null) {
+            throw new IllegalArgumentException("routingPolicy cannot be null");
+        }
+        this.routingPolicy = routingPolicy;
+    }
+
+    public RoutingPolicy getRoutingPolicy() {
+        return routingPolicy;
+    }
+
+    /**
+     * Set the time to wait before replacing a closed session, and between the
+     * attempts to bind it. The default is 5 seconds.
+     *
+     * @param reconnectInterval is the interval in milliseconds.
+     */
+    public void setReconnectInterval(long reconnectInterval) {
+        if (reconnectInterval < 0) {
+            throw new IllegalArgumentException("reconnectInterval cannot be negative");
+        }
+        this.reconnectInterval = reconnectInterval;
+    }
+
+    public long getReconnectInterval() {
+        return reconnectInterval;
+    }
+
+    /**
+     * Bind all the sessions. A session failing to bind is retried in the
+     * background after the reconnect interval.
+     *
+     * @throws IOException if no session could be bound.
+     * @throws IllegalStateException if the pool is closed.
+     */
+    public void start() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The pool is closed");
+        }
+        IOException lastError = null;
+        for (int slot = 0; slot < sessions.length(); slot++) {
+            try {
+                bind(slot);
+            } catch (IOException e) {
+                log.warn("Binding session {} of the pool to {} failed", slot, endpointOf(slot), e);
+                lastError = e;
+                scheduleReconnect(slot);
+            }
+        }
+        if (getBoundSessionCount() == 0 && lastError != null) {
+            throw lastError;
+        }
+    }
+
+    private InetSocketAddress endpointOf(int slot) {
+        return endpoints[slot % endpoints.length];
+    }
+
+    private void bind(final int slot) throws IOException {
+        InetSocketAddress endpoint = endpointOf(slot);
+        final SMPPSession session = sessionFactory.get();
+        session.addSessionStateListener((newState, oldState, source) -> {
+            if (newState == SessionState.CLOSED && sessions.compareAndSet(slot, session, null)) {
+                log.info("Session {} of the pool closed, replace it after {} millis", source.getSessionId(),
+                    reconnectInterval);
+                scheduleReconnect(slot);
+            }
+        });
+        session.connectAndBind(endpoint.getHostString(), endpoint.getPort(), bindParam);
+        sessions.set(slot, session);
+        if (closed) {
+            sessions.compareAndSet(slot, session, null);
+            session.unbindAndClose();
+        } else if (!session.getSessionState().isNotClosed() && sessions.compareAndSet(slot, session, null)) {
+            // closed before it was added to the pool
+            scheduleReconnect(slot);
+        }
+    }
+
+    private void scheduleReconnect(final int slot) {
+        if (closed) {
+            return;
+        }
+        try {
+            reconnector.schedule(() -> reconnect(slot), reconnectInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed meanwhile
+        }
+    }
+
+    private void reconnect(int slot) {
+        if (closed || sessions.get(slot) != null) {
+            return;
+        }
+        try {
+            bind(slot);
+            log.info("Session {} of the pool bound to {}", slot, endpointOf(slot));
+        } catch (IOException e) {
+            log.warn("Rebinding session {} of the pool to {} failed", slot, endpointOf(slot), e);
+            scheduleReconnect(slot);
+        }
+    }
+
+    /**
+     * Get a bound session for a request, chosen by the {@link RoutingPolicy}.
+     *
+     * @return the session.
+     * @throws IOException if no session of the pool is bound to transmit.
+     */
+    public SMPPSession getSession() throws IOException {
+        int size = sessions.length();
+        SMPPSession chosen = null;
+        if (routingPolicy == RoutingPolicy.ROUND_ROBIN) {
+            int start = next.getAndIncrement() & Integer.MAX_VALUE;
+            for (int i = 0; i < size && chosen == null; i++) {
+                SMPPSession session = sessions.get((start + i) % size);
+                if (isTransmittable(session)) {
+                    chosen = session;
+                }
+            }
+        } else {
+            // start at a different slot every time, so equally loaded sessions take turns
+            int start = next.getAndIncrement() & Integer.MAX_VALUE;
+            int fewest = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                SMPPSession session = sessions.get((start + i) % size);
+                if (isTransmittable(session)) {
+                    int unacknowledged = session.getUnacknowledgedRequests();
+                    if (unacknowledged < fewest) {
+                        chosen = session;
+                        fewest = unacknowledged;
+                    }
+                }
+            }
+        }
+        if (chosen == null) {
+            throw new IOException("No session of the pool is bound to transmit");
+        }
+        return chosen;
+    }
+
+    private static boolean isTransmittable(SMPPSession session) {
+        return session != null && session.getSessionState().isTransmittable();
+    }
+
+    /**
+     * Submit a short message on a session of the pool.
+     *
+     * @param serviceType is the service_type.
+     * @param sourceAddrTon is the source_addr_ton.
+     * @param sourceAddrNpi is the source_addr_npi.
+     * @param sourceAddr is the source_addr.
+     * @param destAddrTon is the dest_addr_ton.
+     * @param destAddrNpi is the dest_addr_npi.
+     * @param destinationAddr is the destination_addr.
+     * @param esmClass is the esm_class.
+     * @param protocolId is the protocol_id.
+     * @param priorityFlag is the priority_flag.
+     * @param scheduleDeliveryTime is the schedule_delivery_time.
+     * @param validityPeriod is the validity_period.
+     * @param registeredDelivery is the registered_delivery.
+     * @param replaceIfPresentFlag is the replace_if_present_flag.
+     * @param dataCoding is the data_coding.
+     * @param smDefaultMsgId is the sm_default_msg_id.
+     * @param shortMessage is the short_message.
+     * @param optionalParameters are the optional parameters.
+     * @return the result of the submit_sm.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws ResponseTimeoutException if the response has reach it timeout.
+     * @throws InvalidResponseException if invalid response found.
+     * @throws NegativeResponseException if the negative response found.
+     * @throws IOException if no session is bound or there is an I/O error found.
+     */
+    public SubmitSmResult submitShortMessage(String serviceType, TypeOfNumber sourceAddrTon,
+            NumberingPlanIndicator sourceAddrNpi, String sourceAddr, TypeOfNumber destAddrTon,
+            NumberingPlanIndicator destAddrNpi, String destinationAddr, ESMClass esmClass, byte protocolId,
+            byte priorityFlag, String scheduleDeliveryTime, String validityPeriod,
+            RegisteredDelivery registeredDelivery, byte replaceIfPresentFlag, DataCoding dataCoding,
+            byte smDefaultMsgId, byte[] shortMessage, OptionalParameter... optionalParameters)
+        throws PDUException, ResponseTimeoutException, InvalidResponseException, NegativeResponseException,
+        IOException {
+        submitted.increment();
+        try {
+            return getSession().submitShortMessage(serviceType, sourceAddrTon, sourceAddrNpi, sourceAddr,
+                destAddrTon, destAddrNpi, destinationAddr, esmClass, protocolId, priorityFlag,
+                scheduleDeliveryTime, validityPeriod, registeredDelivery, replaceIfPresentFlag, dataCoding,
+                smDefaultMsgId, shortMessage, optionalParameters);
+        } catch (PDUException | ResponseTimeoutException | InvalidResponseException | NegativeResponseException
+            | IOException | RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Submit a short message composed from a {@link SubmitSmTemplate} on a
+     * session of the pool.
+     *
+     * @param template is the template with the other fields of the submit_sm.
+     * @param destinationAddr is the destination_addr.
+     * @param shortMessage is the short_message.
+     * @return the result of the submit_sm.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws ResponseTimeoutException if the response has reach it timeout.
+     * @throws InvalidResponseException if invalid response found.
+     * @throws NegativeResponseException if the negative response found.
+     * @throws IOException if no session is bound or there is an I/O error found.
+     */
+    public SubmitSmResult submitShortMessage(SubmitSmTemplate template, String destinationAddr, byte[] shortMessage)
+        throws PDUException, ResponseTimeoutException, InvalidResponseException, NegativeResponseException,
+        IOException {
+        submitted.increment();
+        try {
+            return getSession().submitShortMessage(template, destinationAddr, shortMessage);
+        } catch (PDUException | ResponseTimeoutException | InvalidResponseException | NegativeResponseException
+            | IOException | RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Submit a short message composed from a {@link SubmitSmTemplate} on a
+     * session of the pool without waiting for the response.
+     *
+     * @param template is the template with the other fields of the submit_sm.
+     * @param destinationAddr is the destination_addr.
+     * @param shortMessage is the short_message.
+     * @return the future result of the submit_sm.
+     * @throws PDUException if there is invalid PDU parameter found.
+     * @throws IOException if no session is bound or there is an I/O error found.
+     */
+    public CompletableFuture<SubmitSmResult> submitShortMessageAsync(SubmitSmTemplate template,
+            String destinationAddr, byte[] shortMessage) throws PDUException, IOException {
+        submitted.increment();
+        CompletableFuture<SubmitSmResult> result;
+        try {
+            result = getSession().submitShortMessageAsync(template, destinationAddr, shortMessage);
+        } catch (PDUException | IOException | RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+        return result.whenComplete((r, t) -> {
+            if (t != null) {
+                failed.increment();
+            }
+        });
+    }
+
+    /**
+     * @return the number of sessions bound to transmit.
+     */
+    public int getBoundSessionCount() {
+        int bound = 0;
+        for (int slot = 0; slot < sessions.length(); slot++) {
+            if (isTransmittable(sessions.get(slot))) {
+                bound++;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * @return the number of sessions of the pool, bound or not.
+     */
+    public int getSize() {
+        return sessions.length();
+    }
+
+    /**
+     * @return the requests of all the sessions waiting for their response.
+     */
+    public int getUnacknowledgedRequests() {
+        int unacknowledged = 0;
+        for (int slot = 0; slot < sessions.length(); slot++) {
+            SMPPSession session = sessions.get(slot);
+            if (session != null) {
+                unacknowledged += session.getUnacknowledgedRequests();
+            }
+        }
+        return unacknowledged;
+    }
+
+    /**
+     * Get the number of short messages submitted through the pool, the
+     * aggregate throughput of its sessions. Sample it periodically for the
+     * rate.
+     *
+     * @return the number of submit_sm sent or attempted.
+     */
+    public long getSubmitCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the number of short messages submitted through the pool which
+     *         failed, including those which could not be sent.
+     */
+    public long getSubmitFailureCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Unbind and close all the sessions. Closed sessions are not replaced
+     * anymore.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        reconnector.shutdownNow();
+        for (int slot = 0; slot < sessions.length(); slot++) {
+            SMPPSession session = sessions.getAndSet(slot, null);
+            if (session != null) {
+                session.unbindAndClose();
+            }
+        }
+    }
+}
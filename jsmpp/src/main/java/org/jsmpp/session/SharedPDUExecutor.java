@@ -0,0 +1,323 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.extra.QueueMaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A PDU processing executor shared by many {@link SMPPServerSession}s, so the
+ * number of processing threads depends on the number of cores instead of the
+ * number of bound ESMEs.
+ * <p>
+ * Every session gets its own lane on the shared executor. A lane has the
+ * bounded queue of the session ({@link AbstractSession#getQueueCapacity()}) and
+ * runs at most {@link AbstractSession#getPduProcessorDegree()} of its tasks at
+ * the same time. A lane hands one task at a time to the executor, so a busy
+ * session cannot take the executor away from the other sessions.
+ * </p>
+ *
+ * <pre>
+ * SharedPDUExecutor pduExecutor = new SharedPDUExecutor(16);
+ * listener.setSharedPduExecutor(pduExecutor);
+ * ...
+ * listener.close();
+ * pduExecutor.shutdown();
+ * </pre>
+ *
+ * <p>
+ * A listener blocking while it processes a PDU keeps a thread of the shared
+ * executor; size the executor for it, or use an executor running its tasks on
+ * virtual threads.
+ * </p>
+ *
+ * @see SMPPServerSessionListener#setSharedPduExecutor(SharedPDUExecutor)
+ */
+public class SharedPDUExecutor {
+    private static final Logger log = LoggerFactory.getLogger(SharedPDUExecutor.class);
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Construct with a fixed pool of one thread per available processor.
+     */
+    public SharedPDUExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct with a fixed pool of the specified number of threads. The pool
+     * is shut down by {@link #shutdown()}.
+     *
+     * @param threads is the number of threads.
+     */
+    public SharedPDUExecutor(int threads) {
+        this(threads, new NamedThreadFactory("SharedPDUProcessor", false));
+    }
+
+    /**
+     * Construct with a fixed pool of the specified number of threads, created
+     * by the thread factory. The pool is shut down by {@link #shutdown()}.
+     *
+     * @param threads is the number of threads.
+     * @param threadFactory is the factory creating the threads.
+     */
+    public SharedPDUExecutor(int threads, ThreadFactory threadFactory) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        ownedExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+        executor = ownedExecutor;
+    }
+
+    /**
+     * Construct on the specified executor. The executor is owned by the caller
+     * and not shut down by {@link #shutdown()}.
+     *
+     * @param executor is the executor running the PDU processing tasks.
+     */
+    public SharedPDUExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    /**
+     * Shut down the thread pool created by this executor. Does nothing if the
+     * executor was supplied by the caller.
+     */
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Create the lane of a session.
+     *
+     * @param name is the name of the lane, for logging.
+     * @param degree is the maximum number of tasks of the lane running at the same time.
+     * @param queueCapacity is the maximum number of queued tasks of the lane.
+     * @return the lane.
+     */
+    Lane newLane(String name, int degree, int queueCapacity) {
+        return new Lane(name, degree, queueCapacity, new AtomicInteger(), null);
+    }
+
+    /**
+     * Create a lane sharing its queue capacity with other lanes.
+     *
+     * @param name is the name of the lane, for logging.
+     * @param degree is the maximum number of tasks of the lane running at the same time.
+     * @param queueCapacity is the maximum number of queued tasks of all lanes sharing the count.
+     * @param queued is the count of queued tasks shared by the lanes.
+     * @param onTerminated is run when the lane is idle after a shutdown, may be {@code null}.
+     * @return the lane.
+     */
+    Lane newLane(String name, int degree, int queueCapacity, AtomicInteger queued, Runnable onTerminated) {
+        return new Lane(name, degree, queueCapacity, queued, onTerminated);
+    }
+
+    /**
+     * The tasks of one session on the shared executor.
+     */
+    final class Lane {
+        private final String name;
+        private final int degree;
+        private final int queueCapacity;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued;
+        private final AtomicInteger running = new AtomicInteger();
+        private final Runnable drain = this::runNext;
+        private final Runnable onTerminated;
+        private volatile boolean shutdown;
+
+        private Lane(String name, int degree, int queueCapacity, AtomicInteger queued, Runnable onTerminated) {
+            if (degree < 1) {
+                throw new IllegalArgumentException("degree must be at least 1");
+            }
+            this.name = name;
+            this.degree = degree;
+            this.queueCapacity = queueCapacity;
+            this.queued = queued;
+            this.onTerminated = onTerminated;
+        }
+
+        /**
+         * Execute a task.
+         *
+         * @param task is the task.
+         * @param bounded is {@code false} if the task is queued even if the
+         *        queue capacity is reached.
+         * @throws QueueMaxException if the queue capacity is reached.
+         * @throws RejectedExecutionException if the lane is shut down.
+         */
+        void execute(Runnable task, boolean bounded) {
+            if (shutdown) {
+                throw new RejectedExecutionException(name + " is shut down");
+            }
+            if (queued.incrementAndGet() > queueCapacity && bounded) {
+                queued.decrementAndGet();
+                throw new QueueMaxException("Receiving queue capacity " + queueCapacity + " exceeded");
+            }
+            queue.offer(task);
+            schedule();
+        }
+
+        private void schedule() {
+            while (!queue.isEmpty()) {
+                int current = running.get();
+                if (current >= degree) {
+                    return;
+                }
+                if (running.compareAndSet(current, current + 1)) {
+                    try {
+                        executor.execute(drain);
+                    } catch (RejectedExecutionException e) {
+                        running.decrementAndGet();
+                        throw e;
+                    }
+                    return;
+                }
+            }
+        }
+
+        /*
+         * Run one task and reschedule, so the lane goes to the back of the
+         * executor queue when it has more tasks.
+         */
+        private void runNext() {
+            try {
+                Runnable task = queue.poll();
+                if (task != null) {
+                    queued.decrementAndGet();
+                    task.run();
+                }
+            } catch (RuntimeException e) {
+                log.error("Unexpected error processing PDU on {}", name, e);
+            } finally {
+                running.decrementAndGet();
+            }
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                log.warn("Shared PDU executor rejected {}, {} tasks dropped", name, queued.get());
+            }
+            if (shutdown && isIdle()) {
+                synchronized (this) {
+                    notifyAll();
+                }
+                if (onTerminated != null) {
+                    onTerminated.run();
+                }
+            }
+        }
+
+        boolean isIdle() {
+            return running.get() == 0 && queue.isEmpty();
+        }
+
+        /**
+         * @return the number of tasks running.
+         */
+        int getActiveCount() {
+            return running.get();
+        }
+
+        /**
+         * @return the number of queued tasks, of all lanes sharing the count.
+         */
+        int getQueueSize() {
+            return queued.get();
+        }
+
+        int getDegree() {
+            return degree;
+        }
+
+        /**
+         * Stop accepting tasks. The queued tasks are still run.
+         */
+        void shutdown() {
+            shutdown = true;
+        }
+
+        /**
+         * Wait until the queued tasks have run after a {@link #shutdown()}.
+         *
+         * @param timeout is the maximum time to wait in milliseconds.
+         * @return {@code true} if the lane is idle.
+         * @throws InterruptedException if interrupted while waiting.
+         */
+        boolean awaitTermination(long timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+            synchronized (this) {
+                while (!isIdle()) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    wait(remaining);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Create a shared executor of daemon threads, for the executors the library
+     * creates itself and never shuts down.
+     *
+     * @param name is the name prefix of the threads.
+     * @param threads is the number of threads.
+     * @return the executor.
+     */
+    static SharedPDUExecutor newDaemonExecutor(String name, int threads) {
+        return new SharedPDUExecutor(threads, new NamedThreadFactory(name, true));
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+        private final String namePrefix;
+        private final boolean daemon;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        private NamedThreadFactory(String name, boolean daemon) {
+            this.namePrefix = name + "-" + POOL_NUMBER.incrementAndGet() + "-";
+            this.daemon = daemon;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(daemon);
+            return thread;
+        }
+    }
+}
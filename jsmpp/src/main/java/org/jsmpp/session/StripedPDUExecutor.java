@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.extra.QueueMaxException;
+
+/**
+ * The PDU processing lanes of a session on a {@link SharedPDUExecutor}.
+ * <p>
+ * For {@link ProcessingOrder#NONE} there is one lane running up to the PDU
+ * processor degree of tasks in parallel. Otherwise there is a serial lane per
+ * degree, and the {@link ProcessingOrder} chooses the lane of each PDU. All
+ * lanes share the queue capacity of the session.
+ * </p>
+ */
+final class StripedPDUExecutor {
+    private final SharedPDUExecutor executor;
+    private final boolean ownsExecutor;
+    private final ProcessingOrder processingOrder;
+    private final SharedPDUExecutor.Lane[] lanes;
+    private final int degree;
+    private final int queueCapacity;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Construct the lanes of a session.
+     *
+     * @param executor is the executor running the tasks of the lanes.
+     * @param ownsExecutor is {@code true} if the executor is shut down once
+     *        the lanes are shut down and idle.
+     * @param name is the name of the lanes, for logging.
+     * @param processingOrder is the processing order.
+     * @param degree is the maximum number of tasks running at the same time.
+     * @param queueCapacity is the maximum number of queued tasks.
+     */
+    StripedPDUExecutor(SharedPDUExecutor executor, boolean ownsExecutor, String name,
+            ProcessingOrder processingOrder, int degree, int queueCapacity) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.processingOrder = processingOrder;
+        this.degree = degree;
+        this.queueCapacity = queueCapacity;
+        Runnable onTerminated = ownsExecutor ? this::shutdownExecutorWhenIdle : null;
+        if (processingOrder == ProcessingOrder.NONE) {
+            lanes = new SharedPDUExecutor.Lane[] {
+                executor.newLane(name, degree, queueCapacity, queued, onTerminated)
+            };
+        } else {
+            lanes = new SharedPDUExecutor.Lane[degree];
+            for (int i = 0; i < degree; i++) {
+                lanes[i] = executor.newLane(name + "-" + i, 1, queueCapacity, queued, onTerminated);
+            }
+        }
+    }
+
+    /**
+     * Execute the processing of a PDU on its lane.
+     *
+     * @param pduHeader is the header of the PDU, or {@code null} for a task not
+     *        processing a PDU.
+     * @param pdu is the PDU.
+     * @param task is the task processing the PDU.
+     * @throws QueueMaxException if the queue capacity is reached.
+     */
+    void execute(Command pduHeader, byte[] pdu, Runnable task) {
+        if (pduHeader == null || lanes.length == 1) {
+            lanes[0].execute(task, true);
+        } else {
+            lanes[processingOrder.laneOf(pduHeader, pdu, lanes.length)].execute(task, true);
+        }
+    }
+
+    int getActiveCount() {
+        int active = 0;
+        for (SharedPDUExecutor.Lane lane : lanes) {
+            active += lane.getActiveCount();
+        }
+        return active;
+    }
+
+    /*
+     * Return an integer between 0 (Idle) and 100 (Congested/Maximum Load).
+     */
+    int getCongestionRatio() {
+        return ((80 * getActiveCount()) / degree) +
+            ((20 * Math.min(queued.get(), queueCapacity)) / queueCapacity);
+    }
+
+    /**
+     * Stop accepting tasks. The queued tasks are still run.
+     */
+    void shutdown() {
+        for (SharedPDUExecutor.Lane lane : lanes) {
+            lane.shutdown();
+        }
+        if (ownsExecutor) {
+            shutdownExecutorWhenIdle();
+        }
+    }
+
+    /**
+     * Wait until the queued tasks have run after a {@link #shutdown()}.
+     *
+     * @param timeout is the maximum time to wait in milliseconds.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    void awaitTermination(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        for (SharedPDUExecutor.Lane lane : lanes) {
+            if (!lane.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()))) {
+                return;
+            }
+        }
+    }
+
+    private void shutdownExecutorWhenIdle() {
+        for (SharedPDUExecutor.Lane lane : lanes) {
+            if (!lane.isIdle()) {
+                return;
+            }
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.DataCoding;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.util.PDUComposer;
+import org.jsmpp.util.SubmitSmTemplate;
+
+/**
+ * One short message of a {@link SMPPSession#submitBatch(java.util.List)}, either
+ * with all the submit_sm parameters or with a {@link SubmitSmTemplate} and the
+ * fields which differ per message.
+ */
+public class SubmitSmRequest {
+    private static final byte[] EMPTY_SHORT_MESSAGE = new byte[0];
+
+    private final SubmitSmTemplate template;
+    private final String serviceType;
+    private final TypeOfNumber sourceAddrTon;
+    private final NumberingPlanIndicator sourceAddrNpi;
+    private final String sourceAddr;
+    private final TypeOfNumber destAddrTon;
+    private final NumberingPlanIndicator destAddrNpi;
+    private final String destinationAddr;
+    private final ESMClass esmClass;
+    private final byte protocolId;
+    private final byte priorityFlag;
+    private final String scheduleDeliveryTime;
+    private final String validityPeriod;
+    private final RegisteredDelivery registeredDelivery;
+    private final byte replaceIfPresentFlag;
+    private final DataCoding dataCoding;
+    private final byte smDefaultMsgId;
+    private final byte[] shortMessage;
+    private final OptionalParameter[] optionalParameters;
+
+    /**
+     * Construct with all the submit_sm parameters, the same as the ones of
+     * {@link SMPPSession#submitShortMessage(String, TypeOfNumber, NumberingPlanIndicator, String, TypeOfNumber, NumberingPlanIndicator, String, ESMClass, byte, byte, String, String, RegisteredDelivery, byte, DataCoding, byte, byte[], OptionalParameter...)}.
+     *
+     * @param serviceType is the service_type.
+     * @param sourceAddrTon is the source_addr_ton.
+     * @param sourceAddrNpi is the source_addr_npi.
+     * @param sourceAddr is the source_addr.
+     * @param destAddrTon is the dest_addr_ton.
+     * @param destAddrNpi is the dest_addr_npi.
+     * @param destinationAddr is the destination_addr.
+     * @param esmClass is the esm_class.
+     * @param protocolId is the protocol_id.
+     * @param priorityFlag is the priority_flag.
+     * @param scheduleDeliveryTime is the schedule_delivery_time.
+     * @param validityPeriod is the validity_period.
+     * @param registeredDelivery is the registered_delivery.
+     * @param replaceIfPresentFlag is the replace_if_present_flag.
+     * @param dataCoding is the data_coding.
+     * @param smDefaultMsgId is the sm_default_msg_id.
+     * @param shortMessage is the short_message.
+     * @param optionalParameters are the optional parameters.
+     */
+    public SubmitSmRequest(String serviceType, TypeOfNumber sourceAddrTon, NumberingPlanIndicator sourceAddrNpi,
+            String sourceAddr, TypeOfNumber destAddrTon, NumberingPlanIndicator destAddrNpi,
+            String destinationAddr, ESMClass esmClass, byte protocolId, byte priorityFlag,
+            String scheduleDeliveryTime, String validityPeriod, RegisteredDelivery registeredDelivery,
+            byte replaceIfPresentFlag, DataCoding dataCoding, byte smDefaultMsgId, byte[] shortMessage,
+            OptionalParameter... optionalParameters) {
+        this.template = null;
+        this.serviceType = serviceType;
+        this.sourceAddrTon = sourceAddrTon;
+        this.sourceAddrNpi = sourceAddrNpi;
+        this.sourceAddr = sourceAddr;
+        this.destAddrTon = destAddrTon;
+        this.destAddrNpi = destAddrNpi;
+        this.destinationAddr = destinationAddr;
+        this.esmClass = esmClass;
+        this.protocolId = protocolId;
+        this.priorityFlag = priorityFlag;
+        this.scheduleDeliveryTime = scheduleDeliveryTime;
+        this.validityPeriod = validityPeriod;
+        this.registeredDelivery = registeredDelivery;
+        this.replaceIfPresentFlag = replaceIfPresentFlag;
+        this.dataCoding = dataCoding;
+        this.smDefaultMsgId = smDefaultMsgId;
+        this.shortMessage = shortMessage != null ? shortMessage : EMPTY_SHORT_MESSAGE;
+        this.optionalParameters = optionalParameters;
+    }
+
+    /**
+     * Construct with a template and the fields of the message.
+     *
+     * @param template is the template with the other fields of the submit_sm.
+     * @param destinationAddr is the destination_addr.
+     * @param shortMessage is the short_message.
+     */
+    public SubmitSmRequest(SubmitSmTemplate template, String destinationAddr, byte[] shortMessage) {
+        if (template == null) {
+            throw new IllegalArgumentException("template cannot be null");
+        }
+        this.template = template;
+        this.serviceType = null;
+        this.sourceAddrTon = null;
+        this.sourceAddrNpi = null;
+        this.sourceAddr = null;
+        this.destAddrTon = null;
+        this.destAddrNpi = null;
+        this.destinationAddr = destinationAddr;
+        this.esmClass = null;
+        this.protocolId = 0;
+        this.priorityFlag = 0;
+        this.scheduleDeliveryTime = null;
+        this.validityPeriod = null;
+        this.registeredDelivery = null;
+        this.replaceIfPresentFlag = 0;
+        this.dataCoding = null;
+        this.smDefaultMsgId = 0;
+        this.shortMessage = shortMessage != null ? shortMessage : EMPTY_SHORT_MESSAGE;
+        this.optionalParameters = null;
+    }
+
+    public String getDestinationAddr() {
+        return destinationAddr;
+    }
+
+    public byte[] getShortMessage() {
+        return shortMessage;
+    }
+
+    /**
+     * Compose the submit_sm. A request with a template is composed by the
+     * template, the others by the composer.
+     *
+     * @param composer is the PDU composer of the session.
+     * @param sequenceNumber is the sequence_number.
+     * @return the submit_sm PDU.
+     * @throws PDUStringException if a string is not valid.
+     */
+    byte[] compose(PDUComposer composer, int sequenceNumber) throws PDUStringException {
+        if (template != null) {
+            return template.submitSm(sequenceNumber, destinationAddr, shortMessage);
+        }
+        return composer.submitSm(sequenceNumber, serviceType, sourceAddrTon.value(), sourceAddrNpi.value(),
+            sourceAddr, destAddrTon.value(), destAddrNpi.value(), destinationAddr, esmClass.value(), protocolId,
+            priorityFlag, scheduleDeliveryTime, validityPeriod, registeredDelivery.value(), replaceIfPresentFlag,
+            dataCoding.toByte(), smDefaultMsgId, shortMessage, optionalParameters);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads. This is the Java 8 version, which does not
+ * support them; the version in {@code META-INF/versions/21} of the
+ * multi-release jar does.
+ */
+final class VirtualThreads {
+    private static final String UNSUPPORTED = "Virtual threads need Java 21 or later and a jsmpp jar built with JDK 21";
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return false;
+    }
+
+    static Thread newThread(String name, Runnable task) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    static ThreadFactory newThreadFactory(String namePrefix) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+}
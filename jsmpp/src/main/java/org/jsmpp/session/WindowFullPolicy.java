@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+/**
+ * What a session does with a request when it already has its maximum number of
+ * outstanding requests.
+ *
+ * @see AbstractSession#setMaxOutstandingRequests(int)
+ */
+public enum WindowFullPolicy {
+    /**
+     * Wait for a free slot, up to the transaction timer. The asynchronous methods
+     * wait on the calling thread too.
+     */
+    BLOCK,
+
+    /**
+     * Fail right away with {@link org.jsmpp.extra.WindowFullException}, an
+     * unchecked exception raised by the session itself, not by the SMSC.
+     */
+    FAIL_FAST,
+
+    /**
+     * Queue the asynchronous requests and send them as soon as a slot is free;
+     * their future is completed exceptionally with
+     * {@link org.jsmpp.extra.ResponseTimeoutException} if no slot is free within
+     * the transaction timer. The queued requests are sent on the queued request
+     * executor of the session. The synchronous methods wait like {@link #BLOCK}.
+     *
+     * @see AbstractSession#setQueuedRequestExecutor(java.util.concurrent.Executor)
+     */
+    QUEUE
+}
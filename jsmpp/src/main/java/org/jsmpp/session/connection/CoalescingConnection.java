@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Connection} decorator writing through a {@link CoalescingOutputStream}.
+ */
+public class CoalescingConnection implements Connection {
+    private final Connection connection;
+    private final CoalescingOutputStream out;
+
+    /**
+     * Construct the connection.
+     *
+     * @param connection is the decorated connection.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for a full batch.
+     * @param unit is the unit of the maximum latency.
+     */
+    public CoalescingConnection(Connection connection, int maxBatchBytes, long maxLatency, TimeUnit unit) {
+        this(connection, maxBatchBytes, maxLatency, unit, null);
+    }
+
+    /**
+     * Construct the connection with the writer thread created by the thread
+     * factory.
+     *
+     * @param connection is the decorated connection.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for a full batch.
+     * @param unit is the unit of the maximum latency.
+     * @param threadFactory is the factory of the writer thread, or {@code null}
+     *        for a daemon platform thread.
+     */
+    public CoalescingConnection(Connection connection, int maxBatchBytes, long maxLatency, TimeUnit unit,
+        ThreadFactory threadFactory) {
+        this.connection = connection;
+        this.out = new CoalescingOutputStream(connection.getOutputStream(),
+            "CoalescingWriter-" + connection.getInetAddress() + ":" + connection.getPort(), maxBatchBytes, maxLatency, unit,
+            threadFactory);
+    }
+
+    @Override
+    public boolean isOpen() {
+        // a failed writer cannot send anymore, even if the connection is open
+        return out.isOpen() && connection.isOpen();
+    }
+
+    @Override
+    public InetAddress getInetAddress() {
+        return connection.getInetAddress();
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        return connection.getLocalAddress();
+    }
+
+    @Override
+    public int getPort() {
+        return connection.getPort();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return connection.getLocalPort();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return connection.getInputStream();
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return out;
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) throws IOException {
+        connection.setSoTimeout(timeout);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // the connection is closed below anyway
+        }
+        connection.close();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConnectionFactory} decorator creating {@link CoalescingConnection}s, to
+ * gather the PDUs sent by a client session into fewer writes.
+ */
+public class CoalescingConnectionFactory implements ConnectionFactory {
+    private final ConnectionFactory connectionFactory;
+    private final int maxBatchBytes;
+    private final long maxLatency;
+    private final TimeUnit unit;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Construct with a 64 KB batch, writing without waiting for the batch to fill up.
+     *
+     * @param connectionFactory is the decorated connection factory.
+     */
+    public CoalescingConnectionFactory(ConnectionFactory connectionFactory) {
+        this(connectionFactory, 65536, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Construct the connection factory.
+     *
+     * @param connectionFactory is the decorated connection factory.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for a full batch.
+     * @param unit is the unit of the maximum latency.
+     */
+    public CoalescingConnectionFactory(ConnectionFactory connectionFactory, int maxBatchBytes, long maxLatency,
+        TimeUnit unit) {
+        this(connectionFactory, maxBatchBytes, maxLatency, unit, null);
+    }
+
+    /**
+     * Construct the connection factory with the writer threads created by the
+     * thread factory, such as the one of
+     * {@link org.jsmpp.session.ExecutionMode#newThreadFactory(String)} for the
+     * execution mode of the sessions.
+     *
+     * @param connectionFactory is the decorated connection factory.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for a full batch.
+     * @param unit is the unit of the maximum latency.
+     * @param threadFactory is the factory of the writer threads, or {@code null}
+     *        for daemon platform threads.
+     */
+    public CoalescingConnectionFactory(ConnectionFactory connectionFactory, int maxBatchBytes, long maxLatency,
+        TimeUnit unit, ThreadFactory threadFactory) {
+        this.connectionFactory = connectionFactory;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxLatency = maxLatency;
+        this.unit = unit;
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public Connection createConnection(String host, int port) throws IOException {
+        return new CoalescingConnection(connectionFactory.createConnection(host, port), maxBatchBytes, maxLatency, unit, threadFactory);
+    }
+}
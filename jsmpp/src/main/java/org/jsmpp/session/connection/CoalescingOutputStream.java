@@ -0,0 +1,302 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link OutputStream} that gathers the PDUs written by many threads and writes
+ * them to the underlying stream from a single writer thread, so several PDUs go
+ * out with one write and one flush.
+ * <p>
+ * {@link #write(byte[], int, int)} only copies the bytes into the pending batch
+ * and {@link #flush()} only wakes up the writer thread, so both return before
+ * the bytes are written. If the writer thread fails, the next write or flush
+ * throws the {@link IOException}. Writers block while the pending batch is
+ * full.
+ * </p>
+ * <p>
+ * By default the writer thread writes as soon as it is flushed, and the PDUs
+ * written in the meantime are batched with the next write. With a maximum
+ * latency, the writer thread waits up to that long for the batch to fill up.
+ * </p>
+ */
+public class CoalescingOutputStream extends OutputStream {
+    private static final Logger log = LoggerFactory.getLogger(CoalescingOutputStream.class);
+
+    private final OutputStream out;
+    private final int maxBatchBytes;
+    private final long maxLatencyNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+    private final Thread writerThread;
+
+    private byte[] batch;
+    private byte[] writing;
+    private int count;
+    private boolean flushPending;
+    private boolean batchFull;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Construct with a 64 KB batch and without waiting for the batch to fill up.
+     *
+     * @param out is the underlying output stream.
+     * @param name is the name of the writer thread.
+     */
+    public CoalescingOutputStream(OutputStream out, String name) {
+        this(out, name, 65536, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Construct the stream and start its writer thread.
+     *
+     * @param out is the underlying output stream.
+     * @param name is the name of the writer thread.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for more PDUs after
+     *        a flush, if the batch is not full yet; 0 to write right away.
+     * @param unit is the unit of the maximum latency.
+     */
+    public CoalescingOutputStream(OutputStream out, String name, int maxBatchBytes, long maxLatency, TimeUnit unit) {
+        this(out, name, maxBatchBytes, maxLatency, unit, null);
+    }
+
+    /**
+     * Construct the stream and start its writer thread, created by the thread
+     * factory.
+     *
+     * @param out is the underlying output stream.
+     * @param name is the name of the writer thread.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for more PDUs after
+     *        a flush, if the batch is not full yet; 0 to write right away.
+     * @param unit is the unit of the maximum latency.
+     * @param threadFactory is the factory of the writer thread, or {@code null}
+     *        for a daemon platform thread.
+     */
+    public CoalescingOutputStream(OutputStream out, String name, int maxBatchBytes, long maxLatency, TimeUnit unit,
+        ThreadFactory threadFactory) {
+        if (maxBatchBytes <= 0) {
+            throw new IllegalArgumentException("maxBatchBytes must be greater than 0: " + maxBatchBytes);
+        }
+        if (maxLatency < 0) {
+            throw new IllegalArgumentException("maxLatency cannot be negative: " + maxLatency);
+        }
+        this.out = out;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxLatencyNanos = unit.toNanos(maxLatency);
+        batch = new byte[maxBatchBytes];
+        writing = new byte[maxBatchBytes];
+        if (threadFactory == null) {
+            writerThread = new Thread(this::writeBatches, name);
+            writerThread.setDaemon(true);
+        } else {
+            writerThread = threadFactory.newThread(this::writeBatches);
+            writerThread.setName(name);
+        }
+        writerThread.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        lock.lock();
+        try {
+            // a PDU bigger than the batch gets a batch of its own
+            while (count > 0 && count + len > maxBatchBytes) {
+                ensureOpen();
+                flushPending = true;
+                batchFull = true;
+                flushRequested.signal();
+                awaitBatchWritten();
+            }
+            ensureOpen();
+            if (count + len > batch.length) {
+                byte[] bigger = new byte[count + len];
+                System.arraycopy(batch, 0, bigger, 0, count);
+                batch = bigger;
+            }
+            System.arraycopy(b, off, batch, count, len);
+            count += len;
+            if (count >= maxBatchBytes) {
+                batchFull = true;
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (count > 0 && !flushPending) {
+                flushPending = true;
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the pending batch, stop the writer thread and close the underlying
+     * stream.
+     *
+     * @throws IOException if closing the underlying stream failed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (Thread.currentThread() != writerThread) {
+            try {
+                writerThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        out.close();
+    }
+
+    /**
+     * @return the number of bytes waiting to be written.
+     */
+    public int getPendingBytes() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code false} if the stream is closed or writing to the
+     *         underlying stream failed.
+     */
+    public boolean isOpen() {
+        lock.lock();
+        try {
+            return !closed && failure == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (failure != null) {
+            throw new IOException("Writing to the underlying stream failed", failure);
+        }
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void awaitBatchWritten() throws InterruptedIOException {
+        try {
+            batchWritten.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the batch to be written");
+        }
+    }
+
+    private void writeBatches() {
+        while (true) {
+            byte[] toWrite;
+            int length;
+            lock.lock();
+            try {
+                while (!closed && !flushPending) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                if (maxLatencyNanos > 0) {
+                    lingerForFullBatch();
+                }
+                if (count == 0 && closed) {
+                    return;
+                }
+                toWrite = batch;
+                length = count;
+                batch = writing;
+                writing = toWrite;
+                count = 0;
+                flushPending = false;
+                batchFull = false;
+                batchWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (length > 0) {
+                    out.write(toWrite, 0, length);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                log.debug("Writing {} bytes failed", length, e);
+                lock.lock();
+                try {
+                    failure = e;
+                    batchWritten.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    private void lingerForFullBatch() {
+        long remaining = maxLatencyNanos;
+        while (remaining > 0 && !batchFull && !closed) {
+            try {
+                remaining = flushRequested.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ServerConnectionFactory} decorator accepting {@link CoalescingConnection}s,
+ * to gather the PDUs sent by a server session into fewer writes. A
+ * {@link NonBlockingConnection} already queues its writes, so it is accepted
+ * as it is.
+ */
+public class CoalescingServerConnectionFactory implements ServerConnectionFactory {
+    private final ServerConnectionFactory serverConnectionFactory;
+    private final int maxBatchBytes;
+    private final long maxLatency;
+    private final TimeUnit unit;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Construct with a 64 KB batch, writing without waiting for the batch to fill up.
+     *
+     * @param serverConnectionFactory is the decorated server connection factory.
+     */
+    public CoalescingServerConnectionFactory(ServerConnectionFactory serverConnectionFactory) {
+        this(serverConnectionFactory, 65536, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Construct the server connection factory.
+     *
+     * @param serverConnectionFactory is the decorated server connection factory.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for a full batch.
+     * @param unit is the unit of the maximum latency.
+     */
+    public CoalescingServerConnectionFactory(ServerConnectionFactory serverConnectionFactory, int maxBatchBytes,
+        long maxLatency, TimeUnit unit) {
+        this(serverConnectionFactory, maxBatchBytes, maxLatency, unit, null);
+    }
+
+    /**
+     * Construct the server connection factory with the writer threads created
+     * by the thread factory, such as the one of
+     * {@link org.jsmpp.session.ExecutionMode#newThreadFactory(String)} for the
+     * execution mode of the sessions.
+     *
+     * @param serverConnectionFactory is the decorated server connection factory.
+     * @param maxBatchBytes is the size of the batch written at once.
+     * @param maxLatency is how long the writer thread waits for a full batch.
+     * @param unit is the unit of the maximum latency.
+     * @param threadFactory is the factory of the writer threads, or {@code null}
+     *        for daemon platform threads.
+     */
+    public CoalescingServerConnectionFactory(ServerConnectionFactory serverConnectionFactory, int maxBatchBytes,
+        long maxLatency, TimeUnit unit, ThreadFactory threadFactory) {
+        this.serverConnectionFactory = serverConnectionFactory;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxLatency = maxLatency;
+        this.unit = unit;
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public ServerConnection listen(int port) throws IOException {
+        return new CoalescingServerConnection(serverConnectionFactory.listen(port));
+    }
+
+    @Override
+    public ServerConnection listen(int port, int timeout) throws IOException {
+        return new CoalescingServerConnection(serverConnectionFactory.listen(port, timeout));
+    }
+
+    @Override
+    public ServerConnection listen(int port, int timeout, int backlog) throws IOException {
+        return new CoalescingServerConnection(serverConnectionFactory.listen(port, timeout, backlog));
+    }
+
+    private class CoalescingServerConnection implements ServerConnection {
+        private final ServerConnection serverConnection;
+
+        private CoalescingServerConnection(ServerConnection serverConnection) {
+            this.serverConnection = serverConnection;
+        }
+
+        @Override
+        public Connection accept() throws IOException {
+            Connection connection = serverConnection.accept();
+            if (connection instanceof NonBlockingConnection) {
+                return connection;
+            }
+            return new CoalescingConnection(connection, maxBatchBytes, maxLatency, unit, threadFactory);
+        }
+
+        @Override
+        public void setSoTimeout(int timeout) throws IOException {
+            serverConnection.setSoTimeout(timeout);
+        }
+
+        @Override
+        public int getSoTimeout() throws IOException {
+            return serverConnection.getSoTimeout();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverConnection.close();
+        }
+    }
+}
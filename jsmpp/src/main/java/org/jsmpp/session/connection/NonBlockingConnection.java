@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection;
+
+/**
+ * A {@link Connection} that does not need a dedicated reading thread. Instead of
+ * reading from {@link #getInputStream()}, the session starts the connection and
+ * receives the complete PDUs through a {@link PDUFrameHandler}.
+ */
+public interface NonBlockingConnection extends Connection {
+
+    /**
+     * Start reading from the connection. After this call the input stream of the
+     * connection must not be used anymore.
+     *
+     * @param handler the handler which is notified for every PDU read.
+     * @throws IllegalStateException if reading has already been started.
+     */
+    void startReading(PDUFrameHandler handler) throws IllegalStateException;
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection;
+
+/**
+ * Callback for a {@link NonBlockingConnection}. The connection frames the
+ * incoming bytes into complete PDUs and notifies the handler from its I/O
+ * thread, so implementations should never block.
+ */
+public interface PDUFrameHandler {
+
+    /**
+     * A complete PDU has been read.
+     *
+     * @param pdu the complete PDU, including the 16 octets header.
+     */
+    void onPDU(byte[] pdu);
+
+    /**
+     * The command_length of the next PDU is shorter than the PDU header. The
+     * remaining bytes of the stream can not be framed anymore.
+     *
+     * @param commandLength the invalid command_length.
+     */
+    void onInvalidCommandLength(int commandLength);
+
+    /**
+     * Nothing has been read during the timeout set by
+     * {@link Connection#setSoTimeout(int)}. This is the non-blocking equivalent
+     * of a {@link java.net.SocketTimeoutException}.
+     */
+    void onIdle();
+
+    /**
+     * The connection has been closed, either locally or by the other side.
+     *
+     * @param cause the cause or {@code null} if the connection was closed locally.
+     */
+    void onClose(Exception cause);
+}
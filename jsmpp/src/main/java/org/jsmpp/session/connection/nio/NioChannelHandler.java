@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection.nio;
+
+import java.nio.channels.SelectionKey;
+
+/**
+ * Handler for a channel registered with a {@link NioEventLoop}. All methods are
+ * called from the thread of the event loop.
+ */
+interface NioChannelHandler {
+
+    /**
+     * The channel is ready for the operations in the ready set of the key.
+     *
+     * @param key the selection key of the channel.
+     */
+    void ready(SelectionKey key);
+
+    /**
+     * Check for read inactivity.
+     *
+     * @param now the current time in milliseconds.
+     */
+    void checkIdle(long now);
+
+    /**
+     * The event loop is shutting down.
+     */
+    void shutdown();
+}
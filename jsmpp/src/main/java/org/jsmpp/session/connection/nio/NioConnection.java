@@ -0,0 +1,337 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection.nio;
+
+import static org.jsmpp.SMPPConstant.PDU_HEADER_LENGTH;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jsmpp.session.connection.NonBlockingConnection;
+import org.jsmpp.session.connection.PDUFrameHandler;
+import org.jsmpp.util.StrictBufferedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SocketChannel} implementation of {@link NonBlockingConnection}.
+ * Reading and framing of the PDUs is done by the {@link NioEventLoop} the
+ * connection is assigned to. Writes are done directly by the calling thread;
+ * when the socket send buffer is full, the remaining bytes are queued and
+ * written by the event loop.
+ */
+public class NioConnection implements NonBlockingConnection, NioChannelHandler {
+    private static final Logger log = LoggerFactory.getLogger(NioConnection.class);
+    private static final int INITIAL_READ_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_MAX_PENDING_WRITE_BYTES = 1024 * 1024;
+
+    private final SocketChannel channel;
+    private final NioEventLoop eventLoop;
+    private final OutputStream out = new ChannelOutputStream();
+    private final Deque<ByteBuffer> writeQueue = new ArrayDeque<>();
+    private final Object writeLock = new Object();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final int maxPendingWriteBytes;
+    private InputStream in;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+    private int pendingWriteBytes;
+    private volatile int soTimeout;
+    private volatile long lastReadTimestamp = System.currentTimeMillis();
+    private volatile PDUFrameHandler handler;
+    private volatile SelectionKey key;
+
+    public NioConnection(SocketChannel channel, NioEventLoop eventLoop) {
+        this(channel, eventLoop, DEFAULT_MAX_PENDING_WRITE_BYTES);
+    }
+
+    /**
+     * Construct with a limit for the bytes waiting to be written. A thread writing
+     * to the connection while the limit is exceeded, waits until the event loop
+     * has written the pending bytes.
+     *
+     * @param channel the connected channel.
+     * @param eventLoop the event loop to register the channel with.
+     * @param maxPendingWriteBytes the maximum number of bytes waiting to be written.
+     */
+    public NioConnection(SocketChannel channel, NioEventLoop eventLoop, int maxPendingWriteBytes) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.maxPendingWriteBytes = maxPendingWriteBytes;
+    }
+
+    @Override
+    public void startReading(final PDUFrameHandler handler) throws IllegalStateException {
+        if (this.handler != null) {
+            throw new IllegalStateException("Reading already started");
+        }
+        this.handler = handler;
+        lastReadTimestamp = System.currentTimeMillis();
+        eventLoop.register(channel, SelectionKey.OP_READ, this, selectionKey -> {
+            key = selectionKey;
+            synchronized (writeLock) {
+                if (!writeQueue.isEmpty()) {
+                    selectionKey.interestOps(selectionKey.interestOps() | SelectionKey.OP_WRITE);
+                }
+            }
+        });
+    }
+
+    /**
+     * Set the read timeout. If nothing is read during the timeout,
+     * {@link PDUFrameHandler#onIdle()} is called.
+     *
+     * @param timeout the timeout in milliseconds, 0 to disable.
+     */
+    @Override
+    public void setSoTimeout(int timeout) throws IOException {
+        soTimeout = timeout;
+        if (handler == null) {
+            channel.socket().setSoTimeout(timeout);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Suppressing IOException while closing channel", e);
+            }
+            synchronized (writeLock) {
+                writeQueue.clear();
+                pendingWriteBytes = 0;
+                writeLock.notifyAll();
+            }
+            final PDUFrameHandler frameHandler = handler;
+            if (frameHandler != null) {
+                eventLoop.execute(() -> frameHandler.onClose(null));
+            }
+        }
+    }
+
+    private void close(Exception cause) {
+        if (closed.compareAndSet(false, true)) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Suppressing IOException while closing channel", e);
+            }
+            synchronized (writeLock) {
+                writeQueue.clear();
+                pendingWriteBytes = 0;
+                writeLock.notifyAll();
+            }
+            handler.onClose(cause);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed.get() && channel.isOpen();
+    }
+
+    /**
+     * The blocking input stream of the channel. It can only be used until
+     * {@link #startReading(PDUFrameHandler)} is called.
+     *
+     * @return the input stream.
+     */
+    @Override
+    public synchronized InputStream getInputStream() {
+        if (in == null) {
+            try {
+                in = new StrictBufferedInputStream(channel.socket().getInputStream(), INITIAL_READ_BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new IllegalStateException("Input stream not available", e);
+            }
+        }
+        return in;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return out;
+    }
+
+    @Override
+    public InetAddress getInetAddress() {
+        return channel.socket().getInetAddress();
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        return channel.socket().getLocalAddress();
+    }
+
+    @Override
+    public int getPort() {
+        return channel.socket().getPort();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return channel.socket().getLocalPort();
+    }
+
+    @Override
+    public void ready(SelectionKey selectionKey) {
+        try {
+            if (selectionKey.isWritable()) {
+                flushWriteQueue(selectionKey);
+            }
+            if (selectionKey.isValid() && selectionKey.isReadable()) {
+                read();
+            }
+        } catch (IOException e) {
+            close(e);
+        }
+    }
+
+    @Override
+    public void checkIdle(long now) {
+        if (soTimeout > 0 && now - lastReadTimestamp >= soTimeout) {
+            lastReadTimestamp = now;
+            handler.onIdle();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        close(new IOException("Event loop shut down"));
+    }
+
+    private void read() throws IOException {
+        int n = channel.read(readBuffer);
+        if (n < 0) {
+            throw new EOFException("Connection closed by peer");
+        }
+        if (n == 0) {
+            return;
+        }
+        lastReadTimestamp = System.currentTimeMillis();
+        readBuffer.flip();
+        while (readBuffer.remaining() >= 4 && !closed.get()) {
+            int commandLength = readBuffer.getInt(readBuffer.position());
+            if (commandLength < PDU_HEADER_LENGTH) {
+                // the stream can not be framed anymore
+                readBuffer.clear();
+                handler.onInvalidCommandLength(commandLength);
+                return;
+            }
+            if (readBuffer.remaining() < commandLength) {
+                if (readBuffer.capacity() < commandLength) {
+                    ByteBuffer larger = ByteBuffer.allocate(commandLength);
+                    larger.put(readBuffer);
+                    readBuffer = larger;
+                    return;
+                }
+                break;
+            }
+            byte[] pdu = new byte[commandLength];
+            readBuffer.get(pdu);
+            handler.onPDU(pdu);
+        }
+        readBuffer.compact();
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+            if (writeQueue.isEmpty()) {
+                while (buffer.hasRemaining() && channel.write(buffer) > 0) {
+                    // write as much as the socket send buffer accepts
+                }
+                if (!buffer.hasRemaining()) {
+                    return;
+                }
+            }
+            ByteBuffer pending = ByteBuffer.allocate(buffer.remaining());
+            pending.put(buffer);
+            pending.flip();
+            writeQueue.add(pending);
+            pendingWriteBytes += pending.remaining();
+            final SelectionKey selectionKey = key;
+            if (selectionKey != null) {
+                eventLoop.execute(() -> {
+                    if (selectionKey.isValid()) {
+                        selectionKey.interestOps(selectionKey.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                });
+            }
+            if (!eventLoop.inEventLoop()) {
+                while (pendingWriteBytes > maxPendingWriteBytes) {
+                    try {
+                        writeLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for pending writes");
+                    }
+                    ensureOpen();
+                }
+            }
+        }
+    }
+
+    private void flushWriteQueue(SelectionKey selectionKey) throws IOException {
+        synchronized (writeLock) {
+            ByteBuffer buffer;
+            while ((buffer = writeQueue.peek()) != null) {
+                int n = channel.write(buffer);
+                pendingWriteBytes -= n;
+                if (buffer.hasRemaining()) {
+                    return;
+                }
+                writeQueue.poll();
+            }
+            selectionKey.interestOps(selectionKey.interestOps() & ~SelectionKey.OP_WRITE);
+            writeLock.notifyAll();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed.get()) {
+            throw new IOException("Connection closed");
+        }
+    }
+
+    private class ChannelOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            NioConnection.this.write(new byte[]{ (byte)b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            NioConnection.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            NioConnection.this.close();
+        }
+    }
+}
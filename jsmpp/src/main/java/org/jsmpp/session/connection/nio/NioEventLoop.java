@@ -0,0 +1,179 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection.nio;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single selector thread serving many channels.
+ */
+public class NioEventLoop implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(NioEventLoop.class);
+    private static final long IDLE_CHECK_INTERVAL = 100L;
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private long lastIdleCheck;
+
+    public NioEventLoop(String name) throws IOException {
+        selector = Selector.open();
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Check whether the current thread is the thread of this event loop.
+     *
+     * @return {@code true} if called from the event loop.
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Run the task on the event loop thread.
+     *
+     * @param task the task.
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (!inEventLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Register the channel with the selector of this event loop. The channel is
+     * put in non-blocking mode.
+     *
+     * @param channel the channel.
+     * @param ops the interest set.
+     * @param handler the handler of the channel.
+     * @param callback called on the event loop with the selection key once registered.
+     */
+    void register(final SelectableChannel channel, final int ops, final NioChannelHandler handler,
+                  final RegistrationCallback callback) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, ops, handler);
+                callback.registered(key);
+            } catch (ClosedChannelException e) {
+                log.debug("Channel closed before registration");
+                handler.shutdown();
+            } catch (IOException e) {
+                log.warn("Failed registering channel", e);
+                handler.shutdown();
+            }
+        });
+    }
+
+    /**
+     * Number of channels registered with this event loop.
+     *
+     * @return the number of channels.
+     */
+    public int getChannelCount() {
+        return selector.keys().size();
+    }
+
+    @Override
+    public void run() {
+        log.debug("{} started", thread.getName());
+        while (running) {
+            try {
+                selector.select(IDLE_CHECK_INTERVAL);
+                processSelectedKeys();
+                runTasks();
+                checkIdle();
+            } catch (IOException e) {
+                log.error("Selector failure in {}", thread.getName(), e);
+            } catch (RuntimeException e) {
+                log.error("Unexpected runtime exception in {}", thread.getName(), e);
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            ((NioChannelHandler) key.attachment()).shutdown();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Suppressing IOException while closing selector", e);
+        }
+        log.debug("{} stopped", thread.getName());
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            if (key.isValid()) {
+                ((NioChannelHandler) key.attachment()).ready(key);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Task on {} failed", thread.getName(), e);
+            }
+        }
+    }
+
+    private void checkIdle() {
+        long now = System.currentTimeMillis();
+        if (now - lastIdleCheck >= IDLE_CHECK_INTERVAL) {
+            lastIdleCheck = now;
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid()) {
+                    ((NioChannelHandler) key.attachment()).checkIdle(now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the event loop. All channels still registered are closed.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    interface RegistrationCallback {
+        void registered(SelectionKey key);
+    }
+}
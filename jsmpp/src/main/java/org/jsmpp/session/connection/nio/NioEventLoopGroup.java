@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection.nio;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed set of {@link NioEventLoop}s. Connections are assigned to the event
+ * loops in a round-robin fashion, so the number of threads does not depend on
+ * the number of connections.
+ */
+public class NioEventLoopGroup {
+    private static final AtomicInteger groupCounter = new AtomicInteger();
+
+    private final NioEventLoop[] eventLoops;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Construct a group with one event loop per available processor.
+     *
+     * @throws IOException if a selector can not be opened.
+     */
+    public NioEventLoopGroup() throws IOException {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct a group with the specified number of event loops.
+     *
+     * @param size the number of event loops (threads).
+     * @throws IOException if a selector can not be opened.
+     */
+    public NioEventLoopGroup(int size) throws IOException {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size of event loop group must be at least 1");
+        }
+        eventLoops = new NioEventLoop[size];
+        int groupId = groupCounter.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            eventLoops[i] = new NioEventLoop("NioEventLoop-" + groupId + "-" + i);
+        }
+        for (NioEventLoop eventLoop : eventLoops) {
+            eventLoop.start();
+        }
+    }
+
+    /**
+     * Get the event loop for the next connection.
+     *
+     * @return the event loop.
+     */
+    public NioEventLoop next() {
+        return eventLoops[Math.abs(next.getAndIncrement() % eventLoops.length)];
+    }
+
+    public int size() {
+        return eventLoops.length;
+    }
+
+    /**
+     * Stop all event loops. The connections still registered are closed.
+     */
+    public void shutdown() {
+        for (NioEventLoop eventLoop : eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+}
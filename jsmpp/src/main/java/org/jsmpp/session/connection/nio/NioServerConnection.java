@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection.nio;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+
+import org.jsmpp.session.connection.Connection;
+import org.jsmpp.session.connection.ServerConnection;
+
+/**
+ * The {@link ServerSocketChannel} implementation of {@link ServerConnection}.
+ * Every accepted connection is assigned to the next event loop of the group.
+ */
+public class NioServerConnection implements ServerConnection {
+    private final ServerSocketChannel serverChannel;
+    private final NioEventLoopGroup eventLoopGroup;
+
+    public NioServerConnection(ServerSocketChannel serverChannel, NioEventLoopGroup eventLoopGroup) {
+        this.serverChannel = serverChannel;
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    @Override
+    public Connection accept() throws IOException {
+        // the socket adaptor honours the so_timeout, where the channel itself does not
+        Socket socket = serverChannel.socket().accept();
+        return new NioConnection(socket.getChannel(), eventLoopGroup.next());
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) throws IOException {
+        serverChannel.socket().setSoTimeout(timeout);
+    }
+
+    @Override
+    public int getSoTimeout() throws IOException {
+        return serverChannel.socket().getSoTimeout();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session.connection.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+
+import org.jsmpp.session.connection.ServerConnection;
+import org.jsmpp.session.connection.ServerConnectionFactory;
+
+/**
+ * Factory for non-blocking server connections. All connections accepted by the
+ * server connections of this factory share the event loops of one
+ * {@link NioEventLoopGroup}, so a {@link org.jsmpp.session.SMPPServerSession}
+ * using such a connection does not need its own reading thread.
+ *
+ * <pre>
+ * NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(4);
+ * SMPPServerSessionListener listener = new SMPPServerSessionListener(port,
+ *     new NioServerConnectionFactory(eventLoopGroup));
+ * </pre>
+ */
+public class NioServerConnectionFactory implements ServerConnectionFactory {
+    private final NioEventLoopGroup eventLoopGroup;
+
+    /**
+     * Construct with a new event loop group, with one event loop per available processor.
+     *
+     * @throws IOException if a selector can not be opened.
+     */
+    public NioServerConnectionFactory() throws IOException {
+        this(new NioEventLoopGroup());
+    }
+
+    public NioServerConnectionFactory(NioEventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    public NioEventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    @Override
+    public ServerConnection listen(int port) throws IOException {
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        return new NioServerConnection(serverChannel, eventLoopGroup);
+    }
+
+    @Override
+    public ServerConnection listen(int port, int timeout) throws IOException {
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.socket().setSoTimeout(timeout);
+        return new NioServerConnection(serverChannel, eventLoopGroup);
+    }
+
+    @Override
+    public ServerConnection listen(int port, int timeout, int backlog) throws IOException {
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), backlog);
+        serverChannel.socket().setSoTimeout(timeout);
+        return new NioServerConnection(serverChannel, eventLoopGroup);
+    }
+}
@@ -124,7 +124,7 @@ abstract class AbstractGenericSMPPSessionBound implements GenericSMPPSessionStat
     public void processDataSm(Command pduHeader, byte[] pdu,
             BaseResponseHandler responseHandler) throws IOException {
         try {
-            DataSm dataSm = pduDecomposer.dataSm(pdu);
+            DataSm dataSm = responseHandler.getPduDecomposer().dataSm(pdu);
             DataSmResult dataSmResult = responseHandler.processDataSm(dataSm);
             log.debug("Sending response with message_id {} for request with sequence_number {}", dataSmResult.getMessageId(), pduHeader.getSequenceNumber());
             responseHandler.sendDataSmResp(dataSmResult, pduHeader.getSequenceNumber());
@@ -22,7 +22,6 @@ import org.jsmpp.bean.DeliverSm;
 import org.jsmpp.extra.ProcessRequestException;
 import org.jsmpp.extra.SessionState;
 import org.jsmpp.session.OutboundServerResponseHandler;
-import org.jsmpp.util.DefaultDecomposer;
 import org.jsmpp.util.PDUDecomposer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +38,6 @@ import org.slf4j.LoggerFactory;
 class SMPPOutboundServerSessionBoundRX extends SMPPOutboundServerSessionBound
     implements SMPPOutboundServerSessionState {
     private static final Logger logger = LoggerFactory.getLogger(SMPPOutboundServerSessionBoundRX.class);
-    private static final PDUDecomposer pduDecomposer = new DefaultDecomposer();
     
     public SessionState getSessionState() {
         return SessionState.BOUND_RX;
@@ -52,10 +50,12 @@ class SMPPOutboundServerSessionBoundRX extends SMPPOutboundServerSessionBound
 
     static void processDeliverSm0(Command pduHeader, byte[] pdu,
             OutboundServerResponseHandler responseHandler) throws IOException {
+        PDUDecomposer decomposer = responseHandler.getPduDecomposer();
         try {
-            DeliverSm deliverSm = pduDecomposer.deliverSm(pdu);
+            DeliverSm deliverSm = decomposer.deliverSm(pdu);
             responseHandler.processDeliverSm(deliverSm);
             responseHandler.sendDeliverSmResp(0, pduHeader.getSequenceNumber(), deliverSm.getId());
+            decomposer.release(deliverSm);
         } catch (PDUStringException e) {
             logger.error("Failed decomposing deliver_sm", e);
             responseHandler.sendGenericNack(e.getErrorCode(), pduHeader
@@ -65,7 +65,7 @@ class SMPPServerSessionBoundTX extends SMPPServerSessionBound implements
     public void processSubmitSm(Command pduHeader, byte[] pdu,
             ServerResponseHandler responseHandler) throws IOException {
         try {
-            SubmitSm submitSm = pduDecomposer.submitSm(pdu);
+            SubmitSm submitSm = responseHandler.getPduDecomposer().submitSm(pdu);
             SubmitSmResult submitSmResult = responseHandler.processSubmitSm(submitSm);
             logger.debug("Sending response with message_id {} for request with sequence_number {}",
                 submitSmResult.getMessageId(), pduHeader.getSequenceNumber());
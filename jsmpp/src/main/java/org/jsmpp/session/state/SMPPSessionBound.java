@@ -23,6 +23,7 @@ import org.jsmpp.bean.DeliverSm;
 import org.jsmpp.extra.ProcessRequestException;
 import org.jsmpp.session.ResponseHandler;
 import org.jsmpp.session.SMPPSessionContext;
+import org.jsmpp.util.PDUDecomposer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,10 +47,12 @@ abstract class SMPPSessionBound extends AbstractGenericSMPPSessionBound implemen
 
     static void processDeliverSm0(Command pduHeader, byte[] pdu,
                                   ResponseHandler responseHandler) throws IOException {
+        PDUDecomposer decomposer = responseHandler.getPduDecomposer();
         try {
-            DeliverSm deliverSm = pduDecomposer.deliverSm(pdu);
+            DeliverSm deliverSm = decomposer.deliverSm(pdu);
             responseHandler.processDeliverSm(deliverSm);
             responseHandler.sendDeliverSmResp(SMPPConstant.STAT_ESME_ROK, pduHeader.getSequenceNumber(), deliverSm.getId());
+            decomposer.release(deliverSm);
         } catch (PDUStringException e) {
             log.error("Failed decomposing deliver_sm", e);
             responseHandler.sendGenericNack(e.getErrorCode(), pduHeader.getSequenceNumber());
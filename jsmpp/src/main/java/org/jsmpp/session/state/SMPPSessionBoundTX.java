@@ -61,7 +61,7 @@ class SMPPSessionBoundTX extends SMPPSessionBound implements SMPPSessionState {
                 .removeSentItem(pduHeader.getSequenceNumber());
         if (pendingResp != null) {
             try {
-                SubmitSmResp resp = pduDecomposer.submitSmResp(pdu);
+                SubmitSmResp resp = responseHandler.getPduDecomposer().submitSmResp(pdu);
                 pendingResp.done(resp);
             } catch (PDUStringException e) {
                 log.error("Failed decomposing submit_sm_resp", e);
@@ -204,8 +204,12 @@ public class DefaultComposer implements PDUComposer {
         StringValidator.validateString(validityPeriod, StringParameter.VALIDITY_PERIOD);
         StringValidator.validateString(shortMessage, StringParameter.SHORT_MESSAGE);
 
+        int commandLength = 16 + PDUByteBuffer.lengthOf(serviceType) + 2
+            + PDUByteBuffer.lengthOf(sourceAddr) + 2 + PDUByteBuffer.lengthOf(destinationAddr) + 3
+            + PDUByteBuffer.lengthOf(scheduleDeliveryTime) + PDUByteBuffer.lengthOf(validityPeriod) + 5
+            + shortMessage.length + lengthOf(optionalParameters);
         PDUByteBuffer buf = new PDUByteBuffer(SMPPConstant.CID_SUBMIT_SM,
-            SMPPConstant.STAT_ESME_ROK, sequenceNumber);
+            SMPPConstant.STAT_ESME_ROK, sequenceNumber, commandLength);
         buf.append(serviceType);
         buf.append(sourceAddrTon);
         buf.append(sourceAddrNpi);
@@ -315,8 +319,11 @@ public class DefaultComposer implements PDUComposer {
         StringValidator.validateString(destinationAddr, StringParameter.DESTINATION_ADDR);
         StringValidator.validateString(shortMessage, StringParameter.SHORT_MESSAGE);
 
+        int commandLength = 16 + PDUByteBuffer.lengthOf(serviceType) + 2
+            + PDUByteBuffer.lengthOf(sourceAddr) + 2 + PDUByteBuffer.lengthOf(destinationAddr) + 3
+            + 2 + 5 + shortMessage.length + lengthOf(optionalParameters);
         PDUByteBuffer buf = new PDUByteBuffer(SMPPConstant.CID_DELIVER_SM,
-            SMPPConstant.STAT_ESME_ROK, sequenceNumber);
+            SMPPConstant.STAT_ESME_ROK, sequenceNumber, commandLength);
         buf.append(serviceType);
         buf.append(sourceAddrTon);
         buf.append(sourceAddrNpi);
@@ -706,4 +713,14 @@ public class DefaultComposer implements PDUComposer {
         return buf.toBytes();
     }
 
+    private static int lengthOf(OptionalParameter[] optionalParameters) {
+        int length = 0;
+        if (optionalParameters != null) {
+            for (OptionalParameter optionalParameter : optionalParameters) {
+                length += optionalParameter.serializedLength();
+            }
+        }
+        return length;
+    }
+
 }
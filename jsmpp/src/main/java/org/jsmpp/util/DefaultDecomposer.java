@@ -17,9 +17,6 @@ package org.jsmpp.util;
 import static org.jsmpp.SMPPConstant.PDU_HEADER_LENGTH;
 import static org.jsmpp.bean.OptionalParameters.EMPTY_OPTIONAL_PARAMETERS;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.jsmpp.InvalidNumberOfDestinationsException;
 import org.jsmpp.PDUStringException;
 import org.jsmpp.bean.Address;
@@ -110,21 +107,13 @@ public class DefaultDecomposer implements PDUDecomposer {
         Bind req = new Bind();
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(req, reader);
-        req.setSystemId(reader.readCString());
-        StringValidator.validateString(req.getSystemId(),
-                StringParameter.SYSTEM_ID);
-        req.setPassword(reader.readCString());
-        StringValidator.validateString(req.getPassword(),
-                StringParameter.PASSWORD);
-        req.setSystemType(reader.readCString());
-        StringValidator.validateString(req.getSystemType(),
-                StringParameter.SYSTEM_TYPE);
+        req.setSystemId(reader.readCString(StringParameter.SYSTEM_ID));
+        req.setPassword(reader.readCString(StringParameter.PASSWORD));
+        req.setSystemType(reader.readCString(StringParameter.SYSTEM_TYPE));
         req.setInterfaceVersion(reader.readByte());
         req.setAddrTon(reader.readByte());
         req.setAddrNpi(reader.readByte());
-        req.setAddressRange(reader.readCString());
-        StringValidator.validateString(req.getAddressRange(),
-                StringParameter.ADDRESS_RANGE);
+        req.setAddressRange(reader.readCString(StringParameter.ADDRESS_RANGE));
         return req;
     }
 
@@ -139,9 +128,7 @@ public class DefaultDecomposer implements PDUDecomposer {
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(resp, reader);
         if (resp.getCommandLength() > PDU_HEADER_LENGTH) {
-            resp.setSystemId(reader.readCString());
-            StringValidator.validateString(resp.getSystemId(),
-                    StringParameter.SYSTEM_ID);
+            resp.setSystemId(reader.readCString(StringParameter.SYSTEM_ID));
 
             resp.setOptionalParameters(readOptionalParameters(reader));
         }
@@ -182,12 +169,8 @@ public class DefaultDecomposer implements PDUDecomposer {
         Outbind req = new Outbind();
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(req, reader);
-        req.setSystemId(reader.readCString());
-        StringValidator.validateString(req.getSystemId(),
-                StringParameter.SYSTEM_ID);
-        req.setPassword(reader.readCString());
-        StringValidator.validateString(req.getPassword(),
-                StringParameter.PASSWORD);
+        req.setSystemId(reader.readCString(StringParameter.SYSTEM_ID));
+        req.setPassword(reader.readCString(StringParameter.PASSWORD));
         return req;
     }
 
@@ -240,39 +223,27 @@ public class DefaultDecomposer implements PDUDecomposer {
         SubmitSm req = new SubmitSm();
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-                StringParameter.SERVICE_TYPE);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
 
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
 
         req.setDestAddrTon(reader.readByte());
         req.setDestAddrNpi(reader.readByte());
-        req.setDestAddress(reader.readCString());
-        StringValidator.validateString(req.getDestAddress(),
-                StringParameter.DESTINATION_ADDR);
+        req.setDestAddress(reader.readCString(StringParameter.DESTINATION_ADDR));
 
         req.setEsmClass(reader.readByte());
         req.setProtocolId(reader.readByte());
         req.setPriorityFlag(reader.readByte());
-        req.setScheduleDeliveryTime(reader.readCString());
-        StringValidator.validateString(req.getScheduleDeliveryTime(),
-                StringParameter.SCHEDULE_DELIVERY_TIME);
-        req.setValidityPeriod(reader.readCString());
-        StringValidator.validateString(req.getValidityPeriod(),
-                StringParameter.VALIDITY_PERIOD);
+        req.setScheduleDeliveryTime(reader.readCString(StringParameter.SCHEDULE_DELIVERY_TIME));
+        req.setValidityPeriod(reader.readCString(StringParameter.VALIDITY_PERIOD));
         req.setRegisteredDelivery(reader.readByte());
         req.setReplaceIfPresent(reader.readByte());
         req.setDataCoding(reader.readByte());
         req.setSmDefaultMsgId(reader.readByte());
         byte smLength = reader.readByte();
-        req.setShortMessage(reader.readBytes(smLength));
-        StringValidator.validateString(req.getShortMessage(),
-                StringParameter.SHORT_MESSAGE);
+        req.setShortMessage(reader.readBytes(smLength, StringParameter.SHORT_MESSAGE));
         req.setOptionalParameters(readOptionalParameters(reader));
         return req;
     }
@@ -284,13 +255,22 @@ public class DefaultDecomposer implements PDUDecomposer {
      */
     @Override
     public SubmitSmResp submitSmResp(byte[] b) throws PDUStringException {
-        SubmitSmResp resp = new SubmitSmResp();
+        return submitSmResp(b, new SubmitSmResp());
+    }
+
+    /**
+     * Decompose a submit_sm_resp into the specified command.
+     *
+     * @param b is the PDU.
+     * @param resp is the command to set the fields of.
+     * @return the command.
+     * @throws PDUStringException if a string is not valid.
+     */
+    protected SubmitSmResp submitSmResp(byte[] b, SubmitSmResp resp) throws PDUStringException {
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(resp, reader);
         if (resp.getCommandLength() > PDU_HEADER_LENGTH) {
-            resp.setMessageId(reader.readCString());
-            StringValidator.validateString(resp.getMessageId(),
-                    StringParameter.MESSAGE_ID);
+            resp.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
             resp.setOptionalParameters(readOptionalParameters(reader));
         }
         return resp;
@@ -307,14 +287,10 @@ public class DefaultDecomposer implements PDUDecomposer {
         QuerySm req = new QuerySm();
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(req, reader);
-        req.setMessageId(reader.readCString());
-        StringValidator.validateString(req.getMessageId(),
-                StringParameter.MESSAGE_ID);
+        req.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
 
         return req;
     }
@@ -330,12 +306,8 @@ public class DefaultDecomposer implements PDUDecomposer {
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(resp, reader);
         if (resp.getCommandLength() > PDU_HEADER_LENGTH) {
-            resp.setMessageId(reader.readCString());
-            StringValidator.validateString(resp.getMessageId(),
-                    StringParameter.MESSAGE_ID);
-            resp.setFinalDate(reader.readCString());
-            StringValidator.validateString(resp.getFinalDate(),
-                    StringParameter.FINAL_DATE);
+            resp.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
+            resp.setFinalDate(reader.readCString(StringParameter.FINAL_DATE));
             resp.setMessageState(MessageState.valueOf(reader.readByte()));
             resp.setErrorCode(reader.readByte());
         }
@@ -350,36 +322,37 @@ public class DefaultDecomposer implements PDUDecomposer {
      */
     @Override
     public DeliverSm deliverSm(byte[] b) throws PDUStringException {
-        DeliverSm req = new DeliverSm();
+        return deliverSm(b, new DeliverSm());
+    }
+
+    /**
+     * Decompose a deliver_sm into the specified command.
+     *
+     * @param b is the PDU.
+     * @param req is the command to set the fields of.
+     * @return the command.
+     * @throws PDUStringException if a string is not valid.
+     */
+    protected DeliverSm deliverSm(byte[] b, DeliverSm req) throws PDUStringException {
         SequentialBytesReader reader = new SequentialBytesReader(b);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-                StringParameter.SERVICE_TYPE);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
 
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
 
         req.setDestAddrTon(reader.readByte());
         req.setDestAddrNpi(reader.readByte());
-        req.setDestAddress(reader.readCString());
-        StringValidator.validateString(req.getDestAddress(),
-                StringParameter.DESTINATION_ADDR);
+        req.setDestAddress(reader.readCString(StringParameter.DESTINATION_ADDR));
 
         req.setEsmClass(reader.readByte());
         req.setProtocolId(reader.readByte());
         req.setPriorityFlag(reader.readByte());
         // scheduleDeliveryTime should be null of c-octet string
-        req.setScheduleDeliveryTime(reader.readCString());
-        StringValidator.validateString(req.getScheduleDeliveryTime(),
-                StringParameter.SCHEDULE_DELIVERY_TIME);
+        req.setScheduleDeliveryTime(reader.readCString(StringParameter.SCHEDULE_DELIVERY_TIME));
         // validityPeriod should be null of c-octet string
-        req.setValidityPeriod(reader.readCString());
-        StringValidator.validateString(req.getValidityPeriod(),
-                StringParameter.VALIDITY_PERIOD);
+        req.setValidityPeriod(reader.readCString(StringParameter.VALIDITY_PERIOD));
         req.setRegisteredDelivery(reader.readByte());
         // replaceIfPresent should be null
         req.setReplaceIfPresent(reader.readByte());
@@ -387,9 +360,7 @@ public class DefaultDecomposer implements PDUDecomposer {
         // smDefaultMsgId should be null
         req.setSmDefaultMsgId(reader.readByte());
         byte smLength = reader.readByte();
-        req.setShortMessage(reader.readBytes(smLength));
-        StringValidator.validateString(req.getShortMessage(),
-                StringParameter.SHORT_MESSAGE);
+        req.setShortMessage(reader.readBytes(smLength, StringParameter.SHORT_MESSAGE));
         req.setOptionalParameters(readOptionalParameters(reader));
         return req;
     }
@@ -437,21 +408,15 @@ public class DefaultDecomposer implements PDUDecomposer {
         DataSm req = new DataSm();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-                StringParameter.SERVICE_TYPE);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
 
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
 
         req.setDestAddrTon(reader.readByte());
         req.setDestAddrNpi(reader.readByte());
-        req.setDestAddress(reader.readCString());
-        StringValidator.validateString(req.getDestAddress(),
-                StringParameter.DESTINATION_ADDR);
+        req.setDestAddress(reader.readCString(StringParameter.DESTINATION_ADDR));
 
         req.setEsmClass(reader.readByte());
         req.setRegisteredDelivery(reader.readByte());
@@ -466,9 +431,7 @@ public class DefaultDecomposer implements PDUDecomposer {
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(resp, reader);
         if (resp.getCommandLength() > PDU_HEADER_LENGTH) {
-            resp.setMessageId(reader.readCString());
-            StringValidator.validateString(resp.getMessageId(),
-                    StringParameter.MESSAGE_ID);
+            resp.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
             resp.setOptionalParameters(readOptionalParameters(reader));
         }
 
@@ -480,25 +443,17 @@ public class DefaultDecomposer implements PDUDecomposer {
         CancelSm req = new CancelSm();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-                StringParameter.SERVICE_TYPE);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
 
-        req.setMessageId(reader.readCString());
-        StringValidator.validateString(req.getMessageId(),
-                StringParameter.MESSAGE_ID);
+        req.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
 
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
 
         req.setDestAddrTon(reader.readByte());
         req.setDestAddrNpi(reader.readByte());
-        req.setDestinationAddress(reader.readCString());
-        StringValidator.validateString(req.getDestinationAddress(),
-                StringParameter.DESTINATION_ADDR);
+        req.setDestinationAddress(reader.readCString(StringParameter.DESTINATION_ADDR));
 
         return req;
     }
@@ -516,15 +471,11 @@ public class DefaultDecomposer implements PDUDecomposer {
         SubmitMulti req = new SubmitMulti();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-                StringParameter.SERVICE_TYPE);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
 
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
 
         int totalDest = 0xff & reader.readByte();
         DestinationAddress[] destAddresses = new DestinationAddress[totalDest];
@@ -533,9 +484,7 @@ public class DefaultDecomposer implements PDUDecomposer {
             if (flag == Flag.SME_ADDRESS.getValue()) {
                 byte ton = reader.readByte();
                 byte npi = reader.readByte();
-                String addr = reader.readCString();
-                StringValidator.validateString(addr,
-                        StringParameter.DESTINATION_ADDR);
+                String addr = reader.readCString(StringParameter.DESTINATION_ADDR);
                 Address destAddr = new Address(ton, npi, addr);
                 destAddresses[i] = destAddr;
             } else if (flag == Flag.DISTRIBUTION_LIST.getValue()) {
@@ -549,20 +498,14 @@ public class DefaultDecomposer implements PDUDecomposer {
         req.setEsmClass(reader.readByte());
         req.setProtocolId(reader.readByte());
         req.setPriorityFlag(reader.readByte());
-        req.setScheduleDeliveryTime(reader.readCString());
-        StringValidator.validateString(req.getScheduleDeliveryTime(),
-                StringParameter.SCHEDULE_DELIVERY_TIME);
-        req.setValidityPeriod(reader.readCString());
-        StringValidator.validateString(req.getValidityPeriod(),
-                StringParameter.VALIDITY_PERIOD);
+        req.setScheduleDeliveryTime(reader.readCString(StringParameter.SCHEDULE_DELIVERY_TIME));
+        req.setValidityPeriod(reader.readCString(StringParameter.VALIDITY_PERIOD));
         req.setRegisteredDelivery(reader.readByte());
         req.setReplaceIfPresentFlag(reader.readByte());
         req.setDataCoding(reader.readByte());
         req.setSmDefaultMsgId(reader.readByte());
         byte smLength = reader.readByte();
-        req.setShortMessage(reader.readBytes(smLength));
-        StringValidator.validateString(req.getShortMessage(),
-                StringParameter.SHORT_MESSAGE);
+        req.setShortMessage(reader.readBytes(smLength, StringParameter.SHORT_MESSAGE));
         req.setOptionalParameters(readOptionalParameters(reader));
         return req;
     }
@@ -574,17 +517,13 @@ public class DefaultDecomposer implements PDUDecomposer {
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(resp, reader);
         if (resp.getCommandLength() > PDU_HEADER_LENGTH) {
-            resp.setMessageId(reader.readCString());
-            StringValidator.validateString(resp.getMessageId(),
-                StringParameter.MESSAGE_ID);
+            resp.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
             int noUnsuccess = 0xff & reader.readByte();
             UnsuccessDelivery[] unsuccessSmes = new UnsuccessDelivery[noUnsuccess];
             for (int i = 0; i < noUnsuccess; i++) {
                 byte ton = reader.readByte();
                 byte npi = reader.readByte();
-                String addr = reader.readCString();
-                StringValidator.validateString(addr,
-                    StringParameter.DESTINATION_ADDR);
+                String addr = reader.readCString(StringParameter.DESTINATION_ADDR);
                 int errorStatusCode = reader.readInt();
                 unsuccessSmes[i] = new UnsuccessDelivery(ton, npi, addr,
                     errorStatusCode);
@@ -599,26 +538,16 @@ public class DefaultDecomposer implements PDUDecomposer {
         ReplaceSm req = new ReplaceSm();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setMessageId(reader.readCString());
-        StringValidator.validateString(req.getMessageId(),
-                StringParameter.MESSAGE_ID);
+        req.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-                StringParameter.SOURCE_ADDR);
-        req.setScheduleDeliveryTime(reader.readCString());
-        StringValidator.validateString(req.getScheduleDeliveryTime(),
-                StringParameter.SCHEDULE_DELIVERY_TIME);
-        req.setValidityPeriod(reader.readCString());
-        StringValidator.validateString(req.getValidityPeriod(),
-                StringParameter.VALIDITY_PERIOD);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
+        req.setScheduleDeliveryTime(reader.readCString(StringParameter.SCHEDULE_DELIVERY_TIME));
+        req.setValidityPeriod(reader.readCString(StringParameter.VALIDITY_PERIOD));
         req.setRegisteredDelivery(reader.readByte());
         req.setSmDefaultMsgId(reader.readByte());
         byte smLength = reader.readByte();
-        req.setShortMessage(reader.readBytes(smLength));
-        StringValidator.validateString(req.getShortMessage(),
-                StringParameter.SHORT_MESSAGE);
+        req.setShortMessage(reader.readBytes(smLength, StringParameter.SHORT_MESSAGE));
         return req;
     }
 
@@ -634,24 +563,14 @@ public class DefaultDecomposer implements PDUDecomposer {
         BroadcastSm req = new BroadcastSm();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-            StringParameter.SERVICE_TYPE);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-            StringParameter.SOURCE_ADDR);
-        req.setMessageId(reader.readCString());
-        StringValidator.validateString(req.getMessageId(),
-            StringParameter.MESSAGE_ID);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
+        req.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         req.setPriorityFlag(reader.readByte());
-        req.setScheduleDeliveryTime(reader.readCString());
-        StringValidator.validateString(req.getScheduleDeliveryTime(),
-            StringParameter.SCHEDULE_DELIVERY_TIME);
-        req.setValidityPeriod(reader.readCString());
-        StringValidator.validateString(req.getValidityPeriod(),
-            StringParameter.VALIDITY_PERIOD);
+        req.setScheduleDeliveryTime(reader.readCString(StringParameter.SCHEDULE_DELIVERY_TIME));
+        req.setValidityPeriod(reader.readCString(StringParameter.VALIDITY_PERIOD));
         req.setReplaceIfPresentFlag(reader.readByte());
         req.setDataCoding(reader.readByte());
         req.setSmDefaultMsgId(reader.readByte());
@@ -664,9 +583,7 @@ public class DefaultDecomposer implements PDUDecomposer {
         BroadcastSmResp resp = new BroadcastSmResp();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(resp, reader);
-        resp.setMessageId(reader.readCString());
-        StringValidator.validateString(resp.getMessageId(),
-            StringParameter.MESSAGE_ID);
+        resp.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         resp.setOptionalParameters(readOptionalParameters(reader));
         return resp;
     }
@@ -676,17 +593,11 @@ public class DefaultDecomposer implements PDUDecomposer {
         CancelBroadcastSm req = new CancelBroadcastSm();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setServiceType(reader.readCString());
-        StringValidator.validateString(req.getServiceType(),
-            StringParameter.SERVICE_TYPE);
-        req.setMessageId(reader.readCString());
-        StringValidator.validateString(req.getMessageId(),
-            StringParameter.MESSAGE_ID);
+        req.setServiceType(reader.readCString(StringParameter.SERVICE_TYPE));
+        req.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-            StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
         req.setOptionalParameters(readOptionalParameters(reader));
         return req;
     }
@@ -704,14 +615,10 @@ public class DefaultDecomposer implements PDUDecomposer {
         QueryBroadcastSm req = new QueryBroadcastSm();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(req, reader);
-        req.setMessageId(reader.readCString());
-        StringValidator.validateString(req.getMessageId(),
-            StringParameter.MESSAGE_ID);
+        req.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(),
-            StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
         req.setOptionalParameters(readOptionalParameters(reader));
         return req;
     }
@@ -721,9 +628,7 @@ public class DefaultDecomposer implements PDUDecomposer {
         QueryBroadcastSmResp resp = new QueryBroadcastSmResp();
         SequentialBytesReader reader = new SequentialBytesReader(data);
         assignHeader(resp, reader);
-        resp.setMessageId(reader.readCString());
-        StringValidator.validateString(resp.getMessageId(),
-            StringParameter.MESSAGE_ID);
+        resp.setMessageId(reader.readCString(StringParameter.MESSAGE_ID));
         resp.setOptionalParameters(readOptionalParameters(reader));
         return resp;
     }
@@ -735,8 +640,7 @@ public class DefaultDecomposer implements PDUDecomposer {
         assignHeader(req, reader);
         req.setSourceAddrTon(reader.readByte());
         req.setSourceAddrNpi(reader.readByte());
-        req.setSourceAddr(reader.readCString());
-        StringValidator.validateString(req.getSourceAddr(), StringParameter.SOURCE_ADDR);
+        req.setSourceAddr(reader.readCString(StringParameter.SOURCE_ADDR));
         req.setEsmeAddrTon(reader.readByte());
         req.setEsmeAddrNpi(reader.readByte());
         /*
@@ -753,14 +657,33 @@ public class DefaultDecomposer implements PDUDecomposer {
         if (!reader.hasMoreBytes()) {
             return EMPTY_OPTIONAL_PARAMETERS;
         }
-        List<OptionalParameter> params = new ArrayList<>();
-        while (reader.hasMoreBytes()) {
+        OptionalParameter[] params = new OptionalParameter[countOptionalParameters(reader)];
+        for (int i = 0; i < params.length; i++) {
             short tag = reader.readShort();
             short length = reader.readShort();
             byte[] content = reader.readBytes(length);
-            params.add(OptionalParameters.deserialize(tag, content));
+            params[i] = OptionalParameters.deserialize(tag, content);
+        }
+        return params;
+    }
+
+    /*
+     * Count the TLVs from the cursor of the reader, so they are read into an
+     * array of the right size. A truncated TLV, or one with a negative length,
+     * is counted last, and reading it fails like before.
+     */
+    private static int countOptionalParameters(SequentialBytesReader reader) {
+        byte[] b = reader.getBytes();
+        int offset = b.length - reader.remainBytesLength();
+        int count = 0;
+        while (offset < b.length) {
+            count++;
+            if (offset + 4 > b.length || OctetUtil.bytesToShort(b, offset + 2) < 0) {
+                break;
+            }
+            offset += 4 + OctetUtil.bytesToShort(b, offset + 2);
         }
-        return params.toArray(new OptionalParameter[]{});
+        return count;
     }
 
     private static void assignHeader(Command pdu,
@@ -0,0 +1,343 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed wheel timer for a large number of short timeouts that are usually
+ * cancelled before they expire, such as the response timeout of an SMPP request.
+ * <p>
+ * A single worker thread advances the wheel every tick and runs all timeouts of
+ * the current bucket in one pass, so the expiration is accurate to about one tick.
+ * Scheduling and cancelling a timeout only enqueue it on a lock-free queue; the
+ * worker thread moves it into or out of the wheel on the next tick.
+ * </p>
+ * <p>
+ * The expiration tasks run on the worker thread and should not block.
+ * </p>
+ */
+public class HashedTimerWheel {
+    private static final Logger log = LoggerFactory.getLogger(HashedTimerWheel.class);
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_SHUTDOWN = 2;
+
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+    private final Thread workerThread;
+
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * Construct a timer wheel with 10 milliseconds ticks and 512 buckets.
+     *
+     * @param name is the name of the worker thread.
+     */
+    public HashedTimerWheel(String name) {
+        this(name, 10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Construct a timer wheel.
+     *
+     * @param name is the name of the worker thread.
+     * @param tickDuration is the duration of one tick.
+     * @param unit is the unit of the tick duration.
+     * @param ticksPerWheel is the number of buckets, rounded up to a power of two.
+     */
+    public HashedTimerWheel(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30: " + ticksPerWheel);
+        }
+        tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+        workerThread = new Thread(new Worker(), name);
+        workerThread.setDaemon(true);
+    }
+
+    /**
+     * Schedule the task to run once after the specified delay. The worker thread
+     * is started on the first call.
+     *
+     * @param task is the task to run when the timeout expires.
+     * @param delay is the delay.
+     * @param unit is the unit of the delay.
+     * @return the timeout handle that can be used to cancel the task.
+     * @throws IllegalStateException if the timer wheel has been stopped.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) throws IllegalStateException {
+        if (task == null) {
+            throw new IllegalArgumentException("task cannot be null");
+        }
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        Timeout timeout = new Timeout(task, deadline);
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stop the worker thread. The timeouts that have not expired yet are discarded
+     * without running their task.
+     */
+    public void stop() {
+        if (state.getAndSet(STATE_SHUTDOWN) == STATE_STARTED) {
+            workerThread.interrupt();
+        }
+    }
+
+    private void start() {
+        switch (state.get()) {
+            case STATE_INIT:
+                if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    workerThread.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("Timer wheel " + workerThread.getName() + " has been stopped");
+        }
+        boolean interrupted = false;
+        while (startTime == 0) {
+            try {
+                startTimeInitialized.await();
+            } catch (InterruptedException e) {
+                // wait again, the worker sets the start time right away
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class Worker implements Runnable {
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            // zero means not initialized
+            startTime = now == 0 ? 1 : now;
+            startTimeInitialized.countDown();
+
+            while (state.get() == STATE_STARTED) {
+                long deadline = waitForNextTick();
+                if (deadline > 0) {
+                    processCancelledTimeouts();
+                    transferNewTimeouts();
+                    wheel[(int) (tick & mask)].expireTimeouts(deadline);
+                    tick++;
+                }
+            }
+            log.debug("Timer wheel {} stopped", workerThread.getName());
+        }
+
+        private long waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            while (true) {
+                long current = System.nanoTime() - startTime;
+                long sleepMillis = (deadline - current + 999999) / 1000000;
+                if (sleepMillis <= 0) {
+                    return current;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (state.get() == STATE_SHUTDOWN) {
+                        return Long.MIN_VALUE;
+                    }
+                }
+            }
+        }
+
+        private void transferNewTimeouts() {
+            for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+                Timeout timeout = newTimeouts.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (timeout.state.get() != Timeout.ST_INIT) {
+                    continue;
+                }
+                long calculated = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+
+        private void processCancelledTimeouts() {
+            Timeout timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task.
+         *
+         * @return {@code true} if the task was cancelled, {@code false} if it
+         *         already expired or was cancelled before.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * @return {@code true} if the task has been cancelled.
+         */
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        /**
+         * @return {@code true} if the task has run or is running.
+         */
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Timeout task {} threw an exception", task, t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed to the same tick, only accessed
+     * by the worker thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        log.warn("Timeout deadline {} is after the tick deadline {}", timeout.deadline, deadline);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
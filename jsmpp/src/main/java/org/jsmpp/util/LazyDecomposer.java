@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.LazyDeliverSm;
+import org.jsmpp.bean.LazySubmitSm;
+import org.jsmpp.bean.SubmitSm;
+
+/**
+ * A {@link PDUDecomposer} returning submit_sm and deliver_sm decoded on
+ * demand, for relays and gateways forwarding most messages without reading
+ * all their fields. All other PDUs are decoded like the
+ * {@link DefaultDecomposer} does.
+ *
+ * <pre>
+ * session.setPduDecomposer(LazyDecomposer.getInstance());
+ * </pre>
+ *
+ * @see LazySubmitSm
+ * @see LazyDeliverSm
+ */
+public class LazyDecomposer extends DefaultDecomposer {
+    private static final PDUDecomposer instance = new LazyDecomposer();
+
+    public static PDUDecomposer getInstance() {
+        return instance;
+    }
+
+    @Override
+    public SubmitSm submitSm(byte[] b) throws PDUStringException {
+        return new LazySubmitSm(b);
+    }
+
+    @Override
+    public DeliverSm deliverSm(byte[] b) throws PDUStringException {
+        return new LazyDeliverSm(b);
+    }
+}
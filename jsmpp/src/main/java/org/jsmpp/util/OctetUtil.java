@@ -41,6 +41,20 @@ public class OctetUtil {
         return result;
     }
 
+    /**
+     * Write integer value as bytes (4 octets) into the specified array.
+     *
+     * @param value is the integer value.
+     * @param bytes is the destination array.
+     * @param offset is the offset of the first octet in the destination array.
+     */
+    public static void intToBytes(int value, byte[] bytes, int offset) {
+        bytes[offset] = (byte)(value >> 24 & 0xff);
+        bytes[offset + 1] = (byte)(value >> 16 & 0xff);
+        bytes[offset + 2] = (byte)(value >> 8 & 0xff);
+        bytes[offset + 3] = (byte)(value & 0xff);
+    }
+
     /**
      * Convert short value to bytes (2 octets) .
      * 
@@ -54,6 +68,18 @@ public class OctetUtil {
         return result;
     }
 
+    /**
+     * Write short value as bytes (2 octets) into the specified array.
+     *
+     * @param value is the short value.
+     * @param bytes is the destination array.
+     * @param offset is the offset of the first octet in the destination array.
+     */
+    public static void shortToBytes(short value, byte[] bytes, int offset) {
+        bytes[offset] = (byte)(value >> 8 & 0xff);
+        bytes[offset + 1] = (byte)(value & 0xff);
+    }
+
     /**
      * Construct an int from 32 bit.
      * 
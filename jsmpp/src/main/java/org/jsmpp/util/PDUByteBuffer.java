@@ -14,12 +14,21 @@
  */
 package org.jsmpp.util;
 
+import java.nio.ByteBuffer;
+
 import org.jsmpp.bean.OptionalParameter;
 
 
 /**
  * Utility to compose the PDU bytes. The size of the buffer depends on the
  * entities appended to the buffer.
+ * <p>
+ * Values are written in place, and the command_length is only assigned when
+ * the PDU is taken with {@link #toBytes()} or {@link #writeTo(ByteBuffer)}.
+ * When the buffer is constructed with the exact command_length of the PDU,
+ * composing it takes a single allocation and {@link #toBytes()} returns the
+ * buffer without copying it.
+ * </p>
  * 
  * @author uudashr
  * @version 1.0
@@ -53,11 +62,28 @@ public class PDUByteBuffer {
      * @param capacityPolicy is the capacity policy.
      */
     public PDUByteBuffer(int commandId, int commandStatus, int sequenceNumber, CapacityPolicy capacityPolicy) {
-        this(capacityPolicy);
+        this(capacityPolicy, 16);
+        append(commandId);
+        append(commandStatus);
+        append(sequenceNumber);
+    }
+
+    /**
+     * Construct with specified command_id, command_status, sequence_number and
+     * the expected command_length. The buffer is allocated with exactly the
+     * expected length, so if the PDU ends up with that length no other array is
+     * created.
+     * 
+     * @param commandId is the command_id.
+     * @param commandStatus is the command_status.
+     * @param sequenceNumber is the sequence_number.
+     * @param commandLength is the expected command_length, including the header.
+     */
+    public PDUByteBuffer(int commandId, int commandStatus, int sequenceNumber, int commandLength) {
+        this(DEFAULT_CAPACITY_POLICY, Math.max(commandLength, 16));
         append(commandId);
         append(commandStatus);
         append(sequenceNumber);
-        normalizeCommandLength();
     }
 
     /**
@@ -76,10 +102,31 @@ public class PDUByteBuffer {
         /*
          * the initial is 4 byte, just for the command_length
          */
-        bytes = new byte[4];
+        this(capacityPolicy, 4);
+    }
+
+    private PDUByteBuffer(CapacityPolicy capacityPolicy, int initialCapacity) {
+        bytes = new byte[initialCapacity];
         this.capacityPolicy = capacityPolicy;
         bytesLength = 4;
-        normalizeCommandLength();
+    }
+
+    /**
+     * Make room for the specified number of bytes after the current length.
+     * 
+     * @param length is the number of bytes that will be appended.
+     * @return the offset where the bytes should be written.
+     */
+    private int reserve(int length) {
+        int oldLength = bytesLength;
+        bytesLength += length;
+        if (bytesLength > bytes.length) {
+            int newCapacity = capacityPolicy.ensureCapacity(bytesLength, bytes.length);
+            byte[] newB = new byte[newCapacity];
+            System.arraycopy(bytes, 0, newB, 0, oldLength); // copy current bytes to new bytes
+            bytes = newB;
+        }
+        return oldLength;
     }
     
     /**
@@ -92,16 +139,8 @@ public class PDUByteBuffer {
      * @return the latest length of the byte buffer.
      */
     public int append(byte[] b, int offset, int length) {
-        int oldLength = bytesLength;
-        bytesLength += length;
-        int newCapacity = capacityPolicy.ensureCapacity(bytesLength, bytes.length);
-        if (newCapacity > bytes.length) {
-            byte[] newB = new byte[newCapacity];
-            System.arraycopy(bytes, 0, newB, 0, bytes.length); // copy current bytes to new bytes
-            bytes = newB;
-        }
+        int oldLength = reserve(length);
         System.arraycopy(b, offset, bytes, oldLength, length); // assign value
-        normalizeCommandLength();
         return bytesLength;
     }
     
@@ -122,7 +161,22 @@ public class PDUByteBuffer {
      * @return the latest length of the buffer.
      */
     public int append(byte b) {
-        return append(new byte[] { b });
+        int offset = reserve(1);
+        bytes[offset] = b;
+        return bytesLength;
+    }
+
+    /**
+     * Append short value (contains 2 octet).
+     * 
+     * @param shortValue is the value to append.
+     * @return the latest length of the buffer.
+     */
+    public int appendShort(short shortValue) {
+        int offset = reserve(2);
+        bytes[offset] = (byte)(shortValue >> 8);
+        bytes[offset + 1] = (byte)shortValue;
+        return bytesLength;
     }
 
     /**
@@ -132,7 +186,9 @@ public class PDUByteBuffer {
      * @return the latest length of the buffer.
      */
     public int append(int intValue) {
-        return append(OctetUtil.intToBytes(intValue));
+        int offset = reserve(4);
+        OctetUtil.intToBytes(intValue, bytes, offset);
+        return bytesLength;
     }
 
     /**
@@ -143,8 +199,17 @@ public class PDUByteBuffer {
      * @return the latest length of the buffer.
      */
     public int append(String stringValue, boolean nullTerminated) {
-        if (stringValue != null)
-            append(stringValue.getBytes());
+        if (stringValue != null) {
+            if (isAscii(stringValue)) {
+                int length = stringValue.length();
+                int offset = reserve(length);
+                for (int i = 0; i < length; i++) {
+                    bytes[offset + i] = (byte)stringValue.charAt(i);
+                }
+            } else {
+                append(stringValue.getBytes());
+            }
+        }
         if (nullTerminated)
             append((byte)0);
         return bytesLength;
@@ -167,7 +232,9 @@ public class PDUByteBuffer {
      * @return the latest length of the buffer.
      */
     public int append(OptionalParameter optionalParameter) {
-        return append(optionalParameter.serialize());
+        int offset = reserve(optionalParameter.serializedLength());
+        optionalParameter.serialize(bytes, offset);
+        return bytesLength;
     }
     
     /**
@@ -188,19 +255,76 @@ public class PDUByteBuffer {
      * Assign the proper command length to the first 4 octet.
      */
     private void normalizeCommandLength() {
-        System.arraycopy(OctetUtil.intToBytes(bytesLength), 0, bytes, 0, 4);
+        OctetUtil.intToBytes(bytesLength, bytes, 0);
     }
 
     /**
-     * Get the composed bytes of PDU.
+     * Get the composed bytes of PDU. If the buffer is exactly filled, the
+     * buffer itself is returned; appending afterwards never modifies the
+     * returned bytes.
      * 
      * @return the composed bytes.
      */
     public byte[] toBytes() {
+        normalizeCommandLength();
+        if (bytesLength == bytes.length) {
+            return bytes;
+        }
         byte[] returnBytes = new byte[bytesLength];
         System.arraycopy(bytes, 0, returnBytes, 0, bytesLength);
         return returnBytes;
     }
+
+    /**
+     * Write the composed bytes of PDU to the specified buffer, without
+     * creating an intermediate array.
+     * 
+     * @param dst is the destination buffer.
+     * @return the number of bytes written.
+     * @throws java.nio.BufferOverflowException if there is insufficient space
+     *         remaining in the destination buffer.
+     */
+    public int writeTo(ByteBuffer dst) {
+        normalizeCommandLength();
+        dst.put(bytes, 0, bytesLength);
+        return bytesLength;
+    }
+
+    /**
+     * Get the number of octets {@link #append(String, boolean)} appends for the
+     * specified value, to calculate the exact command_length in advance.
+     * 
+     * @param stringValue is the value, may be {@code null}.
+     * @param nullTerminated {@code true} means C-Octet String.
+     * @return the number of octets.
+     */
+    public static int lengthOf(String stringValue, boolean nullTerminated) {
+        int length = nullTerminated ? 1 : 0;
+        if (stringValue != null) {
+            length += isAscii(stringValue) ? stringValue.length() : stringValue.getBytes().length;
+        }
+        return length;
+    }
+
+    /**
+     * Get the number of octets {@link #append(String)} appends for the
+     * specified C-Octet String value.
+     * 
+     * @param stringValue is the value, may be {@code null}.
+     * @return the number of octets.
+     */
+    public static int lengthOf(String stringValue) {
+        return lengthOf(stringValue, true);
+    }
+
+    static boolean isAscii(String stringValue) {
+        for (int i = 0, length = stringValue.length(); i < length; i++) {
+            if (stringValue.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
     
     int getCommandLengthValue() {
         return OctetUtil.bytesToInt(bytes, 0);
@@ -209,4 +333,4 @@ public class PDUByteBuffer {
     int getBytesLength() {
         return bytesLength;
     }
-}
\ No newline at end of file
+}
@@ -302,4 +302,13 @@ public interface PDUDecomposer {
     QueryBroadcastSm queryBroadcastSm(byte[] data) throws PDUStringException;
 
     QueryBroadcastSmResp queryBroadcastSmResp(byte[] data) throws PDUStringException;
+
+    /**
+     * Release a command decomposed by this decomposer once the session no
+     * longer uses it, so it can be reused. The default does nothing.
+     *
+     * @param command is the command.
+     */
+    default void release(Command command) {
+    }
 }
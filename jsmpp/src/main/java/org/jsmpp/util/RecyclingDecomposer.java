@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.Command;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.SubmitSmResp;
+
+/**
+ * A {@link PDUDecomposer} reusing the deliver_sm and submit_sm_resp commands
+ * released by the sessions, for receivers of high message rates. All other
+ * PDUs are decoded like the {@link DefaultDecomposer} does.
+ * <p>
+ * A received deliver_sm is released once the
+ * {@link org.jsmpp.session.MessageReceiverListener} returns and the
+ * deliver_sm_resp is sent, a submit_sm_resp once the session has read the
+ * {@link org.jsmpp.session.SubmitSmResult} from it. The listener must not keep
+ * a reference to the {@link DeliverSm} after returning; copy the fields it
+ * needs later. Commands which are not released, for example because of an
+ * error, are left to the garbage collector.
+ * </p>
+ *
+ * <pre>
+ * session.setPduDecomposer(new RecyclingDecomposer());
+ * </pre>
+ */
+public class RecyclingDecomposer extends DefaultDecomposer {
+    private final BlockingQueue<DeliverSm> deliverSms;
+    private final BlockingQueue<SubmitSmResp> submitSmResps;
+
+    /**
+     * Construct keeping up to 64 released commands of each type.
+     */
+    public RecyclingDecomposer() {
+        this(64);
+    }
+
+    /**
+     * Construct keeping up to the specified number of released commands of
+     * each type. The decomposer can be shared by many sessions; size the
+     * capacity for the number of commands processed at the same time.
+     *
+     * @param capacity is the maximum number of released commands kept of each type.
+     */
+    public RecyclingDecomposer(int capacity) {
+        deliverSms = new ArrayBlockingQueue<>(capacity);
+        submitSmResps = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public DeliverSm deliverSm(byte[] b) throws PDUStringException {
+        DeliverSm req = deliverSms.poll();
+        return deliverSm(b, req != null ? req : new DeliverSm());
+    }
+
+    @Override
+    public SubmitSmResp submitSmResp(byte[] b) throws PDUStringException {
+        SubmitSmResp resp = submitSmResps.poll();
+        return submitSmResp(b, resp != null ? resp : new SubmitSmResp());
+    }
+
+    @Override
+    public void release(Command command) {
+        // subclasses, like a LazyDeliverSm, are not from this decomposer
+        if (command.getClass() == DeliverSm.class) {
+            DeliverSm deliverSm = (DeliverSm) command;
+            deliverSm.setId(null);
+            deliverSms.offer(deliverSm);
+        } else if (command.getClass() == SubmitSmResp.class) {
+            // a submit_sm_resp without body leaves these fields untouched
+            SubmitSmResp resp = (SubmitSmResp) command;
+            resp.setMessageId(null);
+            resp.setOptionalParameters(null);
+            submitSmResps.offer(resp);
+        }
+    }
+
+    /**
+     * @return the number of released deliver_sm commands waiting to be reused.
+     */
+    public int getDeliverSmPoolSize() {
+        return deliverSms.size();
+    }
+
+    /**
+     * @return the number of released submit_sm_resp commands waiting to be reused.
+     */
+    public int getSubmitSmRespPoolSize() {
+        return submitSmResps.size();
+    }
+}
@@ -14,9 +14,11 @@
  */
 package org.jsmpp.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Sequence number that able to rolling.
+ * Sequence number that able to rolling. The sequence is lock-free, so it can be
+ * shared by many sending threads.
  * 
  * @author uudashr
  * @version 1.0
@@ -24,32 +26,35 @@ package org.jsmpp.util;
  * 
  */
 public class Sequence {
-    private int value;
+    private final AtomicInteger value;
 
     /**
      * @param start is the start/init value of the sequence.
      */
     public Sequence(int start) {
-        value = start;
+        value = new AtomicInteger(start);
     }
 
     /**
-     * Return the next value.
+     * Return the next value. After {@link Integer#MAX_VALUE} the sequence
+     * continues with 1.
      * 
      * @return the next value.
      */
-    public synchronized int nextValue() {
-        int curValue = value++;
-        if (curValue == Integer.MAX_VALUE) {
-            value = 1;
+    public int nextValue() {
+        while (true) {
+            int curValue = value.get();
+            int nextValue = curValue == Integer.MAX_VALUE ? 1 : curValue + 1;
+            if (value.compareAndSet(curValue, nextValue)) {
+                return curValue;
+            }
         }
-        return curValue;
     }
 
     /**
      * @return the current value.
      */
-    public synchronized int currentValue() {
-        return value;
+    public int currentValue() {
+        return value.get();
     }
 }
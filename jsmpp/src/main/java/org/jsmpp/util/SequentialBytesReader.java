@@ -14,12 +14,23 @@
  */
 package org.jsmpp.util;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.jsmpp.PDUStringException;
+
 /**
  * Utility to read value from bytes sequentially.
  *
  * @author uudashr
  */
 class SequentialBytesReader {
+  private static final int MAX_SHARED_LENGTH = 8;
+  /*
+   * Strings are immutable, so racing updates of a slot only cost a new string.
+   */
+  private static final String[] SHARED_STRINGS = new String[1024];
+
   int cursor;
   private byte[] bytes;
 
@@ -39,18 +50,9 @@ class SequentialBytesReader {
   }
 
   public byte[] readBytesUntilNull() {
-    // TODO uudashr: we can do some improvement here
-    int i = cursor;
-    while (bytes[i++] != (byte) 0) {
-    }
-    int length = i - 1 - cursor;
-    if (length == 0) {
-      cursor += 1 + length;
-      return new byte[]{};
-    }
-    byte[] data = new byte[length];
-    System.arraycopy(bytes, cursor, data, 0, length);
-    cursor += 1 + length;
+    int end = indexOfNull(cursor);
+    byte[] data = Arrays.copyOfRange(bytes, cursor, end);
+    cursor = end + 1;
     return data;
   }
 
@@ -60,20 +62,107 @@ class SequentialBytesReader {
    * @return {@code String} value. Nullable.
    */
   public String readCString() {
-    // TODO uudashr: we can do some improvement here
-    int i = cursor;
-    while (bytes[i++] != (byte) 0) {
+    int end = indexOfNull(cursor);
+    String val = decode(cursor, end - cursor, false);
+    cursor = end + 1;
+    return val;
+  }
+
+  /**
+   * Read and validate C-Octet string from bytes, scanning at most the maximum
+   * length of the parameter for the terminating NULL. An ASCII string without
+   * the NULL within the maximum length is not valid, and the exception is
+   * thrown before the rest of the PDU is scanned. The length is validated on
+   * the bytes, only an invalid string is decoded for the exception message.
+   * Short values of the parameters repeated in every PDU, like service_type or
+   * a short code source_addr, are shared.
+   *
+   * @param param is the parameter of the string.
+   * @return {@code String} value. Nullable.
+   * @throws PDUStringException if the string is not valid.
+   */
+  public String readCString(StringParameter param) throws PDUStringException {
+    int limit = Math.min(cursor + param.getMax(), bytes.length);
+    int ascii = 0;
+    int end = cursor;
+    while (end < limit && bytes[end] != 0) {
+      ascii |= bytes[end++];
+    }
+    if (end == limit && end > cursor) {
+      if (ascii >= 0 && limit - cursor == param.getMax()) {
+        // decoded string is at least as long as the maximum, so never valid
+        StringValidator.validateString(bytes, cursor, limit - cursor, param);
+      }
+      end = indexOfNull(end);
+    }
+    StringValidator.validateString(bytes, cursor, end - cursor, param);
+    String val = decode(cursor, end - cursor, isRepeated(param));
+    cursor = end + 1;
+    return val;
+  }
+
+  private int indexOfNull(int from) {
+    int i = from;
+    while (bytes[i] != 0) {
+      i++;
     }
-    int length = i - 1 - cursor;
+    return i;
+  }
+
+  /*
+   * ASCII is decoded as ISO-8859-1, the same characters as the ASCII
+   * compatible platform charsets but without a charset lookup. Other
+   * strings are decoded with the platform charset as before.
+   */
+  private String decode(int offset, int length, boolean shared) {
     if (length == 0) {
-      cursor += 1 + length;
       return null;
     }
-    String val = new String(bytes, cursor, length);
-    cursor += 1 + length;
+    int hash = 0;
+    int ascii = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + bytes[i];
+      ascii |= bytes[i];
+    }
+    if (ascii < 0) {
+      return new String(bytes, offset, length);
+    }
+    if (!shared || length > MAX_SHARED_LENGTH) {
+      return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+    int index = (hash ^ (hash >>> 16)) & (SHARED_STRINGS.length - 1);
+    String val = SHARED_STRINGS[index];
+    if (val == null || !equals(val, offset, length)) {
+      val = new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+      SHARED_STRINGS[index] = val;
+    }
     return val;
   }
 
+  private boolean equals(String val, int offset, int length) {
+    if (val.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (val.charAt(i) != bytes[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isRepeated(StringParameter param) {
+    switch (param) {
+      case SYSTEM_ID:
+      case SYSTEM_TYPE:
+      case SERVICE_TYPE:
+      case SOURCE_ADDR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public byte[] readBytes(int length) {
     if (length == 0) {
       return new byte[0];
@@ -88,6 +177,19 @@ class SequentialBytesReader {
     return readBytes(length & 0xff);
   }
 
+  /**
+   * Read and validate Octet string from bytes.
+   *
+   * @param length is the number of bytes to read.
+   * @param param is the parameter of the string.
+   * @return the bytes.
+   * @throws PDUStringException if the string is not valid.
+   */
+  public byte[] readBytes(byte length, StringParameter param) throws PDUStringException {
+    StringValidator.validateString(bytes, cursor, length & 0xff, param);
+    return readBytes(length & 0xff);
+  }
+
   /**
    * @param length The number of bytes to read.
    * @return {@code String} value. Nullable.
@@ -14,6 +14,8 @@
  */
 package org.jsmpp.util;
 
+import java.util.Arrays;
+
 import org.jsmpp.PDUStringException;
 
 /**
@@ -81,6 +83,51 @@ public final class StringValidator {
         }
     }
 
+    /**
+     * Validate a string in a PDU without copying it. Only when the length in
+     * bytes is not valid, a C-Octet String is decoded and validated by
+     * {@link #validateString(String, StringParameter)}, since a decoded string
+     * is not longer than its bytes. A fixed length C-Octet String is decoded
+     * too if it is not ASCII, as it may decode to fewer characters. An Octet
+     * String is validated as bytes.
+     *
+     * @param bytes the PDU.
+     * @param offset the offset of the string, without the terminating NULL.
+     * @param length the length of the string in bytes.
+     * @param param the parameter of the string.
+     * @throws PDUStringException if the string is not valid.
+     */
+    public static void validateString(byte[] bytes, int offset, int length, StringParameter param)
+            throws PDUStringException {
+        boolean valid;
+        if (param.getType() == StringType.C_OCTET_STRING) {
+            if (param.isRangeMinAndMax()) {
+                valid = length < param.getMax();
+            } else {
+                valid = length == 0 || length == param.getMax() - 1 && isAscii(bytes, offset, length);
+            }
+        } else {
+            valid = length <= param.getMax();
+        }
+        if (valid) {
+            return;
+        }
+        if (param.getType() == StringType.C_OCTET_STRING) {
+            validateString(new String(bytes, offset, length), param);
+        } else {
+            validateString(Arrays.copyOfRange(bytes, offset, offset + length), param);
+        }
+    }
+
+    private static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Validate the C-Octet String.
      * 
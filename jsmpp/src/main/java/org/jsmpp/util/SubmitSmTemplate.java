@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import java.util.Arrays;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.OptionalParameter;
+
+/**
+ * A submit_sm compiled once from the fields which are the same for every
+ * message, for bulk traffic where only the destination_addr and the
+ * short_message change. The fixed fields and the optional parameters are
+ * validated and encoded when the template is constructed; composing a
+ * message copies the encoded parts around the destination_addr and the
+ * short_message, which are the only fields validated per message.
+ *
+ * <pre>
+ * SubmitSmTemplate template = new SubmitSmTemplate("CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)1,
+ *     (byte)0, (byte)0, (byte)0, null, null, (byte)1, (byte)0, (byte)0, (byte)0);
+ * for (String destinationAddr : destinations) {
+ *     session.submitShortMessage(template, destinationAddr, shortMessage);
+ * }
+ * </pre>
+ *
+ * A template is immutable and can be shared by many sessions and threads.
+ */
+public class SubmitSmTemplate {
+    private final byte[] prefix;
+    private final byte[] middle;
+    private final byte[] optionalParameters;
+
+    /**
+     * Compile a submit_sm template. The parameters are the ones of
+     * {@link PDUComposer#submitSm(int, String, byte, byte, String, byte, byte, String, byte, byte, byte, String, String, byte, byte, byte, byte, byte[], OptionalParameter...)}
+     * without the sequence_number, the destination_addr and the short_message.
+     *
+     * @param serviceType is the service_type.
+     * @param sourceAddrTon is the source_addr_ton.
+     * @param sourceAddrNpi is the source_addr_npi.
+     * @param sourceAddr is the source_addr.
+     * @param destAddrTon is the dest_addr_ton.
+     * @param destAddrNpi is the dest_addr_npi.
+     * @param esmClass is the esm_class.
+     * @param protocolId is the protocol_id.
+     * @param priorityFlag is the priority_flag.
+     * @param scheduleDeliveryTime is the schedule_delivery_time.
+     * @param validityPeriod is the validity_period.
+     * @param registeredDelivery is the registered_delivery.
+     * @param replaceIfPresentFlag is the replace_if_present_flag.
+     * @param dataCoding is the data_coding.
+     * @param smDefaultMsgId is the sm_default_msg_id.
+     * @param optionalParameters are the optional parameters of every message.
+     * @throws PDUStringException if a string is not valid.
+     */
+    public SubmitSmTemplate(String serviceType, byte sourceAddrTon, byte sourceAddrNpi, String sourceAddr,
+            byte destAddrTon, byte destAddrNpi, byte esmClass, byte protocolId, byte priorityFlag,
+            String scheduleDeliveryTime, String validityPeriod, byte registeredDelivery,
+            byte replaceIfPresentFlag, byte dataCoding, byte smDefaultMsgId,
+            OptionalParameter... optionalParameters) throws PDUStringException {
+        StringValidator.validateString(serviceType, StringParameter.SERVICE_TYPE);
+        StringValidator.validateString(sourceAddr, StringParameter.SOURCE_ADDR);
+        StringValidator.validateString(scheduleDeliveryTime, StringParameter.SCHEDULE_DELIVERY_TIME);
+        StringValidator.validateString(validityPeriod, StringParameter.VALIDITY_PERIOD);
+
+        PDUByteBuffer buf = new PDUByteBuffer(SMPPConstant.CID_SUBMIT_SM, SMPPConstant.STAT_ESME_ROK, 0);
+        buf.append(serviceType);
+        buf.append(sourceAddrTon);
+        buf.append(sourceAddrNpi);
+        buf.append(sourceAddr);
+        buf.append(destAddrTon);
+        buf.append(destAddrNpi);
+        int prefixLength = buf.getBytesLength();
+        buf.append(esmClass);
+        buf.append(protocolId);
+        buf.append(priorityFlag);
+        buf.append(scheduleDeliveryTime);
+        buf.append(validityPeriod);
+        buf.append(registeredDelivery);
+        buf.append(replaceIfPresentFlag);
+        buf.append(dataCoding);
+        buf.append(smDefaultMsgId);
+        int middleLength = buf.getBytesLength();
+        if (optionalParameters != null) {
+            buf.appendAll(optionalParameters);
+        }
+        byte[] b = buf.toBytes();
+        prefix = Arrays.copyOfRange(b, 0, prefixLength);
+        middle = Arrays.copyOfRange(b, prefixLength, middleLength);
+        this.optionalParameters = Arrays.copyOfRange(b, middleLength, b.length);
+    }
+
+    /**
+     * Compose a submit_sm from the template.
+     *
+     * @param sequenceNumber is the sequence_number.
+     * @param destinationAddr is the destination_addr.
+     * @param shortMessage is the short_message.
+     * @return the submit_sm PDU.
+     * @throws PDUStringException if the destination_addr or the short_message is not valid.
+     */
+    public byte[] submitSm(int sequenceNumber, String destinationAddr, byte[] shortMessage)
+            throws PDUStringException {
+        StringValidator.validateString(destinationAddr, StringParameter.DESTINATION_ADDR);
+        StringValidator.validateString(shortMessage, StringParameter.SHORT_MESSAGE);
+
+        byte[] destination = null;
+        int destinationLength = 0;
+        if (destinationAddr != null) {
+            if (PDUByteBuffer.isAscii(destinationAddr)) {
+                destinationLength = destinationAddr.length();
+            } else {
+                destination = destinationAddr.getBytes();
+                destinationLength = destination.length;
+            }
+        }
+        byte[] b = new byte[prefix.length + destinationLength + 1 + middle.length + 1 + shortMessage.length
+            + optionalParameters.length];
+        System.arraycopy(prefix, 0, b, 0, prefix.length);
+        int offset = prefix.length;
+        if (destination != null) {
+            System.arraycopy(destination, 0, b, offset, destinationLength);
+        } else {
+            for (int i = 0; i < destinationLength; i++) {
+                b[offset + i] = (byte)destinationAddr.charAt(i);
+            }
+        }
+        offset += destinationLength + 1;
+        System.arraycopy(middle, 0, b, offset, middle.length);
+        offset += middle.length;
+        b[offset++] = (byte)shortMessage.length;
+        System.arraycopy(shortMessage, 0, b, offset, shortMessage.length);
+        offset += shortMessage.length;
+        System.arraycopy(optionalParameters, 0, b, offset, optionalParameters.length);
+        OctetUtil.intToBytes(b.length, b, 0);
+        OctetUtil.intToBytes(sequenceNumber, b, 12);
+        return b;
+    }
+}
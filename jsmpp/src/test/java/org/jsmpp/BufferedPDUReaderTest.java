@@ -0,0 +1,57 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+import org.jsmpp.bean.Command;
+import org.testng.annotations.Test;
+
+public class BufferedPDUReaderTest {
+
+    @Test(groups = "checkintest")
+    public void testReadPDUs() throws Exception {
+        BufferedPDUReader pduReader = new BufferedPDUReader();
+        DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(
+                new byte[]{ 0x00, 0x00, 0x00, 0x12, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0a, 0x0b, 0x0c, 0x41, 0x42,
+                    0x00, 0x00, 0x00, 0x10, 0x00, 0x00, 0x00, 0x15, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x02 }));
+
+        Command first = pduReader.readPDUHeader(in);
+        assertEquals(first.getCommandLength(), 18);
+        assertEquals(first.getCommandId(), 0x01020304);
+        assertEquals(first.getCommandStatus(), 0x05060708);
+        assertEquals(first.getSequenceNumber(), 0x090a0b0c);
+        assertEquals(pduReader.readPDU(in, first),
+            new byte[]{ 0x00, 0x00, 0x00, 0x12, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0a, 0x0b, 0x0c, 0x41, 0x42 });
+
+        Command second = pduReader.readPDUHeader(in);
+        assertEquals(second.getCommandLength(), 16);
+        assertEquals(second.getCommandId(), SMPPConstant.CID_ENQUIRE_LINK);
+        assertEquals(second.getSequenceNumber(), 2);
+        assertEquals(pduReader.readPDU(in, second).length, 16);
+    }
+
+    @Test(groups = "checkintest", expectedExceptions = InvalidCommandLengthException.class)
+    public void testInvalidPDUHeaderWithCommandLengthEight() throws Exception {
+        DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(
+                new byte[]{ 0x00, 0x00, 0x00, 0x08, 0x01, 0x02, 0x03, 0x04 }));
+        new BufferedPDUReader().readPDUHeader(in);
+    }
+}
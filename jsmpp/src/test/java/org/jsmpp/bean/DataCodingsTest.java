@@ -2,6 +2,7 @@ package org.jsmpp.bean;
 
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import org.testng.annotations.Test;
 
@@ -16,6 +17,13 @@ public class DataCodingsTest {
     assertEquals(dataCoding.toByte(), (byte) 0x00);
   }
 
+  @Test
+  public void testDataCodingsShared() {
+    for (int i = 0; i < 256; i++) {
+      assertSame(DataCodings.newInstance((byte) i), DataCodings.newInstance((byte) i));
+    }
+  }
+
   @Test
   public void testDataCodingsFactories() {
     for (int i = 0; i < 256; i++) {
@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.bean;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test the lookup of the enum constants by their SMPP value.
+ */
+public class EnumValueOfTest {
+
+    @Test(groups="checkintest")
+    public void testRoundTrip() {
+        for (TypeOfNumber ton : TypeOfNumber.values()) {
+            assertEquals(TypeOfNumber.valueOf(ton.value()), ton);
+        }
+        for (NumberingPlanIndicator npi : NumberingPlanIndicator.values()) {
+            assertEquals(NumberingPlanIndicator.valueOf(npi.value()), npi);
+        }
+        for (Alphabet alphabet : Alphabet.values()) {
+            assertEquals(Alphabet.valueOf(alphabet.value()), alphabet);
+        }
+        for (MessageClass messageClass : MessageClass.values()) {
+            assertEquals(MessageClass.valueOf(messageClass.value()), messageClass);
+        }
+        for (InterfaceVersion interfaceVersion : InterfaceVersion.values()) {
+            assertEquals(InterfaceVersion.valueOf(interfaceVersion.value()), interfaceVersion);
+        }
+        for (BindType bindType : BindType.values()) {
+            assertEquals(BindType.valueOf(bindType.commandId()), bindType);
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testParseDataCoding() {
+        assertEquals(Alphabet.parseDataCoding((byte) 0xf6), Alphabet.ALPHA_8_BIT);
+        assertEquals(Alphabet.parseDataCoding((byte) 0x08), Alphabet.ALPHA_UCS2);
+        assertEquals(MessageClass.parseDataCoding((byte) 0xf6), MessageClass.CLASS2);
+    }
+
+    @Test(groups="checkintest", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidTypeOfNumber() {
+        TypeOfNumber.valueOf((byte) 0x80);
+    }
+
+    @Test(groups="checkintest", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidMessageClass() {
+        MessageClass.valueOf((byte) 0x04);
+    }
+
+    @Test(groups="checkintest", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidBindType() {
+        BindType.valueOf(0x80000002);
+    }
+}
@@ -21,6 +21,7 @@ import static org.testng.Assert.fail;
 import static org.testng.AssertJUnit.assertFalse;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
 
 import org.jsmpp.bean.OptionalParameter.COctetString;
 import org.jsmpp.bean.OptionalParameter.Callback_num_pres_ind.Presentation_Indicator;
@@ -31,6 +32,7 @@ import org.jsmpp.bean.OptionalParameter.Network_error_code.Network_error_code_ty
 import org.jsmpp.bean.OptionalParameter.OctetString;
 import org.jsmpp.bean.OptionalParameter.Tag;
 import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.PDUByteBuffer;
 import org.testng.annotations.Test;
 
 /**
@@ -43,6 +45,18 @@ import org.testng.annotations.Test;
  */
 public class OptionalParameterTest {
 
+    @Test(groups="checkintest")
+    public void tagLookup() {
+        for (Tag tag : Tag.values()) {
+            assertEquals(Tag.valueOf(tag.code()), tag);
+            assertEquals(Tag.valueOf(tag.type()), tag);
+        }
+        assertNull(Tag.valueOf((short) 0x0001));
+        assertNull(Tag.valueOf((short) 0x1400));
+        assertNull(Tag.valueOf((short) 0xfffe));
+        assertNull(Tag.valueOf(OctetString.class));
+    }
+
     @Test(groups="checkintest")
     public void stringParameterSerialization() {
         OptionalParameter param = new OptionalParameter.OctetString(Tag.DEST_SUBADDRESS, "jeah");
@@ -53,6 +67,54 @@ public class OptionalParameterTest {
         assertEquals(new String(serialised, 4, serialised.length - 4), "jeah");
     }
     
+    @Test(groups="checkintest")
+    public void serializeInPlace() {
+        OptionalParameter[] params = {
+            new OptionalParameter.Null(Tag.ALERT_ON_MESSAGE_DELIVERY),
+            new OptionalParameter.Byte(Tag.SAR_TOTAL_SEGMENTS, (byte) 3),
+            new OptionalParameter.Short(Tag.SAR_MSG_REF_NUM, (short) 0xabcd),
+            new OptionalParameter.Int(Tag.QOS_TIME_TO_LIVE, 0x01020304),
+            new OptionalParameter.OctetString(Tag.DEST_SUBADDRESS, "jeah"),
+            new OptionalParameter.COctetString(Tag.RECEIPTED_MESSAGE_ID.code(), "123456")
+        };
+        for (OptionalParameter param : params) {
+            byte[] serialized = param.serialize();
+            assertEquals(param.serializedLength(), serialized.length);
+            byte[] dest = new byte[serialized.length + 3];
+            assertEquals(param.serialize(dest, 1), serialized.length + 1);
+            assertEquals(Arrays.copyOfRange(dest, 1, serialized.length + 1), serialized, param.getClass().getName());
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void serializeOverriddenValue() {
+        OptionalParameter param = new OptionalParameter.Short(Tag.SAR_MSG_REF_NUM, (short) 0xabcd) {
+            @Override
+            protected byte[] serializeValue() {
+                return new byte[] { 1, 2, 3 };
+            }
+        };
+        assertEquals(param.serializedLength(), 7);
+        byte[] dest = new byte[7];
+        assertEquals(param.serialize(dest, 0), 7);
+        assertEquals(dest, new byte[] { 0x02, 0x0c, 0x00, 0x03, 1, 2, 3 });
+        assertEquals(param.serialize(), dest);
+    }
+
+    @Test(groups="checkintest")
+    public void composeOverriddenSerialize() {
+        OptionalParameter param = new OptionalParameter.Byte(Tag.SAR_TOTAL_SEGMENTS, (byte) 2) {
+            @Override
+            public byte[] serialize() {
+                return new byte[] { 0x02, 0x0e, 0x00, 0x02, 0x00, 0x02 };
+            }
+        };
+        PDUByteBuffer buf = new PDUByteBuffer();
+        buf.append(param);
+        byte[] composed = buf.toBytes();
+        assertEquals(Arrays.copyOfRange(composed, 4, composed.length), param.serialize());
+    }
+
     @Test(groups="checkintest")
     public void stringParameterDeserialization() {
         OptionalParameter param = OptionalParameters.deserialize(Tag.DEST_SUBADDRESS.code(), "jeah".getBytes());
@@ -16,8 +16,11 @@ package org.jsmpp.extra;
 
 import static org.testng.Assert.fail;
 
+import java.util.concurrent.TimeUnit;
+
 import org.jsmpp.InvalidResponseException;
 import org.jsmpp.bean.Command;
+import org.jsmpp.util.HashedTimerWheel;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -70,6 +73,22 @@ public class PendingResponseTest {
         }
     }
     
+    @Test(groups="checkintest")
+    public void testExpireOnTimerWheel() {
+        HashedTimerWheel timerWheel = new HashedTimerWheel("TestTimerWheel");
+        try {
+            pendingResponse.setExpiry(timerWheel.newTimeout(pendingResponse::expire, 100, TimeUnit.MILLISECONDS));
+            notifyDone(1010, pendingResponse);
+            pendingResponse.waitDone();
+            fail("Timeout should be reached");
+        } catch (ResponseTimeoutException e) {
+        } catch (InvalidResponseException e) {
+            fail("Timeout should be reached");
+        } finally {
+            timerWheel.stop();
+        }
+    }
+
     /**
      * Notify done of a pendingResponse on specified interval.
      *
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.BroadcastSm;
+import org.jsmpp.bean.CancelBroadcastSm;
+import org.jsmpp.bean.CancelSm;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.MessageState;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.QueryBroadcastSm;
+import org.jsmpp.bean.QuerySm;
+import org.jsmpp.bean.ReplaceSm;
+import org.jsmpp.bean.SubmitMulti;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.bean.UnsuccessDelivery;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.util.MessageIDGenerator;
+import org.jsmpp.util.RandomMessageIDGenerator;
+
+/**
+ * Server listener accepting all submit_sm, data_sm, query_sm and cancel_sm requests.
+ */
+public class AcceptingServerMessageReceiverListener implements ServerMessageReceiverListener {
+    private final MessageIDGenerator messageIDGenerator = new RandomMessageIDGenerator();
+    private final AtomicInteger submitSmCount = new AtomicInteger();
+    private final AtomicInteger cancelSmCount = new AtomicInteger();
+    private volatile long responseDelay;
+
+    /**
+     * Delay the response of each request.
+     *
+     * @param responseDelay the delay in milliseconds.
+     */
+    public void setResponseDelay(long responseDelay) {
+        this.responseDelay = responseDelay;
+    }
+
+    public int getSubmitSmCount() {
+        return submitSmCount.get();
+    }
+
+    public int getCancelSmCount() {
+        return cancelSmCount.get();
+    }
+
+    @Override
+    public SubmitSmResult onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source) throws ProcessRequestException {
+        submitSmCount.incrementAndGet();
+        delay();
+        return new SubmitSmResult(messageIDGenerator.newMessageId(), new OptionalParameter[0]);
+    }
+
+    @Override
+    public SubmitMultiResult onAcceptSubmitMulti(SubmitMulti submitMulti, SMPPServerSession source) throws ProcessRequestException {
+        return new SubmitMultiResult(messageIDGenerator.newMessageId().getValue(), new UnsuccessDelivery[0], new OptionalParameter[0]);
+    }
+
+    @Override
+    public QuerySmResult onAcceptQuerySm(QuerySm querySm, SMPPServerSession source) throws ProcessRequestException {
+        return new QuerySmResult("", MessageState.DELIVERED, (byte)0);
+    }
+
+    @Override
+    public void onAcceptReplaceSm(ReplaceSm replaceSm, SMPPServerSession source) throws ProcessRequestException {
+        throw new ProcessRequestException("replace_sm not supported", SMPPConstant.STAT_ESME_RREPLACEFAIL);
+    }
+
+    @Override
+    public void onAcceptCancelSm(CancelSm cancelSm, SMPPServerSession source) throws ProcessRequestException {
+        cancelSmCount.incrementAndGet();
+    }
+
+    @Override
+    public BroadcastSmResult onAcceptBroadcastSm(BroadcastSm broadcastSm, SMPPServerSession source) throws ProcessRequestException {
+        throw new ProcessRequestException("broadcast_sm not supported", SMPPConstant.STAT_ESME_RBCASTFAIL);
+    }
+
+    @Override
+    public void onAcceptCancelBroadcastSm(CancelBroadcastSm cancelBroadcastSm, SMPPServerSession source) throws ProcessRequestException {
+        throw new ProcessRequestException("cancel_broadcast_sm not supported", SMPPConstant.STAT_ESME_RBCASTCANCELFAIL);
+    }
+
+    @Override
+    public QueryBroadcastSmResult onAcceptQueryBroadcastSm(QueryBroadcastSm queryBroadcastSm, SMPPServerSession source) throws ProcessRequestException {
+        throw new ProcessRequestException("query_broadcast_sm not supported", SMPPConstant.STAT_ESME_RBCASTQUERYFAIL);
+    }
+
+    @Override
+    public DataSmResult onAcceptDataSm(DataSm dataSm, Session source) throws ProcessRequestException {
+        return new DataSmResult(messageIDGenerator.newMessageId(), new OptionalParameter[0]);
+    }
+
+    private void delay() {
+        if (responseDelay > 0) {
+            try {
+                Thread.sleep(responseDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
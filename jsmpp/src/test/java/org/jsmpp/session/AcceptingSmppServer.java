@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.bean.InterfaceVersion;
+import org.jsmpp.session.connection.ServerConnectionFactory;
+import org.jsmpp.session.connection.socket.ServerSocketConnectionFactory;
+
+/**
+ * SMPP server accepting every bind, using an {@link AcceptingServerMessageReceiverListener}.
+ */
+public class AcceptingSmppServer implements AutoCloseable {
+    private final SMPPServerSessionListener sessionListener;
+    private final AcceptingServerMessageReceiverListener messageReceiverListener = new AcceptingServerMessageReceiverListener();
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    public AcceptingSmppServer(int port) throws IOException {
+        this(port, new ServerSocketConnectionFactory());
+    }
+
+    public AcceptingSmppServer(int port, ServerConnectionFactory serverConnectionFactory) throws IOException {
+        sessionListener = new SMPPServerSessionListener(port, serverConnectionFactory);
+        sessionListener.setMessageReceiverListener(messageReceiverListener);
+        executorService.execute(this::acceptSessions);
+    }
+
+    public SMPPServerSessionListener getSessionListener() {
+        return sessionListener;
+    }
+
+    public AcceptingServerMessageReceiverListener getMessageReceiverListener() {
+        return messageReceiverListener;
+    }
+
+    private void acceptSessions() {
+        try {
+            while (true) {
+                final SMPPServerSession serverSession = sessionListener.accept();
+                executorService.execute(() -> {
+                    try {
+                        serverSession.waitForBind(5000).accept("sys", InterfaceVersion.IF_34);
+                    } catch (Exception e) {
+                        serverSession.close();
+                    }
+                });
+            }
+        } catch (IOException e) {
+            // listener closed
+        }
+    }
+
+    /**
+     * Close the listener and wait for the accept thread to finish, so the port
+     * can be bound again right away.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        sessionListener.close();
+        executorService.shutdownNow();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
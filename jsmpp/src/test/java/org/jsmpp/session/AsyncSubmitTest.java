@@ -0,0 +1,119 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ResponseTimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test the asynchronous requests of {@link SMPPSession}.
+ */
+public class AsyncSubmitTest {
+    private static final int PORT = 6011;
+
+    private AcceptingSmppServer server;
+    private SMPPSession session;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new AcceptingSmppServer(PORT);
+        server.getSessionListener().setQueueCapacity(1000);
+        session = new SMPPSession();
+        session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        session.unbindAndClose();
+        server.close();
+    }
+
+    @Test(groups="checkintest")
+    public void testSubmitFromSingleThread() throws Exception {
+        List<CompletableFuture<SubmitSmResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(submitAsync());
+        }
+        assertTrue(session.getUnacknowledgedRequests() <= 200);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<SubmitSmResult> future : futures) {
+            assertNotNull(future.get().getMessageId());
+        }
+        assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 200);
+        assertEquals(session.getUnacknowledgedRequests(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testSubmitWithRingPendingResponseTable() throws Exception {
+        session.setPendingResponseTable(new RingPendingResponseTable(64));
+        List<CompletableFuture<SubmitSmResult>> futures = new ArrayList<>();
+        // more requests than slots, so some of them overflow
+        for (int i = 0; i < 200; i++) {
+            futures.add(submitAsync());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 200);
+        assertEquals(session.getUnacknowledgedRequests(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testResponseTimeout() throws Exception {
+        server.getMessageReceiverListener().setResponseDelay(500);
+        session.setTransactionTimer(100);
+        CompletableFuture<SubmitSmResult> future = submitAsync();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected a response timeout");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ResponseTimeoutException);
+        }
+        assertEquals(session.getUnacknowledgedRequests(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testCancel() throws Exception {
+        session.cancelShortMessageAsync("", "1234", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657").get(5, TimeUnit.SECONDS);
+        assertEquals(server.getMessageReceiverListener().getCancelSmCount(), 1);
+    }
+
+    private CompletableFuture<SubmitSmResult> submitAsync() throws Exception {
+        return session.submitShortMessageAsync("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(), (byte)0, (byte)0,
+            null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0,
+            "Hello".getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
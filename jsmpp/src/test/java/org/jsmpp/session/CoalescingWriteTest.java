@@ -0,0 +1,178 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.session.connection.CoalescingConnection;
+import org.jsmpp.session.connection.CoalescingConnectionFactory;
+import org.jsmpp.session.connection.CoalescingOutputStream;
+import org.jsmpp.session.connection.CoalescingServerConnectionFactory;
+import org.jsmpp.session.connection.Connection;
+import org.jsmpp.session.connection.socket.ServerSocketConnectionFactory;
+import org.jsmpp.session.connection.socket.SocketConnection;
+import org.jsmpp.session.connection.socket.SocketConnectionFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Test sessions writing through a {@link CoalescingOutputStream}.
+ */
+public class CoalescingWriteTest {
+    private static final int PORT = 6013;
+
+    @Test(groups="checkintest")
+    public void testBatchWrites() throws Exception {
+        final AtomicInteger writes = new AtomicInteger();
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes.incrementAndGet();
+                written.write(b, off, len);
+            }
+        };
+        CoalescingOutputStream out = new CoalescingOutputStream(counting, "TestCoalescingWriter", 1024, 50,
+            TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 100; i++) {
+            out.write(new byte[] { (byte) i, (byte) i });
+            out.flush();
+        }
+        out.close();
+        assertEquals(written.size(), 200);
+        byte[] bytes = written.toByteArray();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(bytes[i * 2], (byte) i);
+        }
+        assertTrue(writes.get() < 100, "Expected batched writes, was " + writes.get());
+    }
+
+    @Test(groups="checkintest")
+    public void testWriterFromThreadFactory() throws Exception {
+        final List<Thread> threads = new ArrayList<>();
+        ThreadFactory threadFactory = task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            threads.add(thread);
+            return thread;
+        };
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        CoalescingOutputStream out = new CoalescingOutputStream(written, "TestCoalescingWriter", 1024, 0,
+            TimeUnit.MILLISECONDS, threadFactory);
+        out.write(new byte[] { 1, 2 });
+        out.flush();
+        out.close();
+        assertEquals(threads.size(), 1);
+        assertEquals(threads.get(0).getName(), "TestCoalescingWriter");
+        assertEquals(written.toByteArray(), new byte[] { 1, 2 });
+    }
+
+    @Test(groups="checkintest")
+    public void testWriteFailure() throws Exception {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        CoalescingOutputStream out = new CoalescingOutputStream(failing, "TestCoalescingWriter");
+        out.write(new byte[16]);
+        out.flush();
+        try {
+            for (int i = 0; i < 100; i++) {
+                Thread.sleep(10);
+                out.write(new byte[16]);
+            }
+            fail("Expected the write failure");
+        } catch (IOException e) {
+            assertEquals(e.getCause().getMessage(), "Broken pipe");
+        }
+        assertFalse(out.isOpen());
+    }
+
+    @Test(groups="checkintest")
+    public void testConnectionNotOpenAfterWriteFailure() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            Socket socket = new Socket("localhost", serverSocket.getLocalPort());
+            try (Socket accepted = serverSocket.accept()) {
+                Connection connection = new CoalescingConnection(new SocketConnection(socket), 1024, 0,
+                    TimeUnit.MILLISECONDS);
+                assertTrue(connection.isOpen());
+                // the socket stays open, only the writer fails
+                socket.shutdownOutput();
+                connection.getOutputStream().write(new byte[16]);
+                connection.getOutputStream().flush();
+                long deadline = System.currentTimeMillis() + 5000;
+                while (connection.isOpen() && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertFalse(connection.isOpen());
+                assertFalse(socket.isClosed());
+                connection.close();
+            }
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testSubmitOverCoalescingConnections() throws Exception {
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT,
+            new CoalescingServerConnectionFactory(new ServerSocketConnectionFactory()))) {
+            server.getSessionListener().setQueueCapacity(1000);
+            SMPPSession session = new SMPPSession(new CoalescingConnectionFactory(SocketConnectionFactory.getInstance(),
+                4096, 1, TimeUnit.MILLISECONDS));
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            try {
+                List<CompletableFuture<SubmitSmResult>> futures = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    futures.add(session.submitShortMessageAsync("", TypeOfNumber.UNKNOWN,
+                        NumberingPlanIndicator.UNKNOWN, "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                        "628176504657", new ESMClass(), (byte)0, (byte)0, null, null, new RegisteredDelivery(),
+                        (byte)0, new GeneralDataCoding(), (byte)0, ("Hello " + i).getBytes(StandardCharsets.ISO_8859_1)));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+                assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 200);
+            } finally {
+                session.unbindAndClose();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@link ExecutionMode} of sessions.
+ */
+public class ExecutionModeTest {
+    private static final int PORT = 6014;
+
+    @Test(groups="checkintest")
+    public void testPlatformThreadsByDefault() throws Exception {
+        SMPPSession session = new SMPPSession();
+        assertEquals(session.getExecutionMode(), ExecutionMode.PLATFORM_THREADS);
+        assertTrue(ExecutionMode.PLATFORM_THREADS.isSupported());
+        assertFalse(isVirtual(submitOnce(session)));
+    }
+
+    @Test(groups="checkintest")
+    public void testVirtualThreads() throws Exception {
+        SMPPSession session = new SMPPSession();
+        if (!ExecutionMode.VIRTUAL_THREADS.isSupported()) {
+            try {
+                session.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+                fail("Virtual threads should not be supported");
+            } catch (UnsupportedOperationException e) {
+                assertEquals(session.getExecutionMode(), ExecutionMode.PLATFORM_THREADS);
+            }
+            return;
+        }
+        session.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+        assertTrue(isVirtual(submitOnce(session)));
+    }
+
+    /**
+     * Bind the session, submit one short message and unbind.
+     *
+     * @return the thread that processed the submit_sm_resp.
+     */
+    private static Thread submitOnce(SMPPSession session) throws Exception {
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT)) {
+            // respond after the completion stage below is registered
+            server.getMessageReceiverListener().setResponseDelay(200);
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            try {
+                return session.submitShortMessageAsync("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                    "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(),
+                    (byte)0, (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(),
+                    (byte)0, "Hello".getBytes(StandardCharsets.ISO_8859_1))
+                    .thenApply(result -> Thread.currentThread())
+                    .get(5, TimeUnit.SECONDS);
+            } finally {
+                session.unbindAndClose();
+            }
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        try {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            return (Boolean)isVirtual.invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
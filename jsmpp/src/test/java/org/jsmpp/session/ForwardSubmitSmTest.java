@@ -0,0 +1,158 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jsmpp.DefaultPDUSender;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.LazySubmitSm;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.LazyDecomposer;
+import org.jsmpp.util.OctetUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Test relaying submit_sm PDUs with {@link SMPPSession#forwardSubmitSm(byte[])}.
+ */
+public class ForwardSubmitSmTest {
+    private static final int RELAY_PORT = 6018;
+    private static final int UPSTREAM_PORT = 6019;
+
+    @Test(groups="checkintest")
+    public void testRelaySubmitSm() throws Exception {
+        final List<String> upstreamReceived = new CopyOnWriteArrayList<>();
+        final List<String> upstreamMessageIds = new CopyOnWriteArrayList<>();
+        try (AcceptingSmppServer upstream = new AcceptingSmppServer(UPSTREAM_PORT);
+             AcceptingSmppServer relay = new AcceptingSmppServer(RELAY_PORT)) {
+            upstream.getSessionListener().setMessageReceiverListener(new AcceptingServerMessageReceiverListener() {
+                @Override
+                public SubmitSmResult onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source)
+                        throws ProcessRequestException {
+                    upstreamReceived.add(submitSm.getSequenceNumber() + ":" + submitSm.getDestAddress() + ":"
+                        + new String(submitSm.getShortMessage(), StandardCharsets.ISO_8859_1));
+                    SubmitSmResult result = super.onAcceptSubmitSm(submitSm, source);
+                    upstreamMessageIds.add(result.getMessageId());
+                    return result;
+                }
+            });
+
+            final SMPPSession upstreamSession = new SMPPSession();
+            upstreamSession.connectAndBind("localhost", UPSTREAM_PORT, new BindParameter(BindType.BIND_TX, "relay",
+                "test", "", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            // use up a sequence number, so the relayed PDUs are renumbered
+            upstreamSession.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628100000000", new ESMClass(), (byte)0, (byte)0,
+                null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0, new byte[0]);
+            upstreamReceived.clear();
+            upstreamMessageIds.clear();
+
+            relay.getSessionListener().setPduDecomposer(LazyDecomposer.getInstance());
+            relay.getSessionListener().setMessageReceiverListener(new AcceptingServerMessageReceiverListener() {
+                @Override
+                public SubmitSmResult onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source)
+                        throws ProcessRequestException {
+                    try {
+                        return upstreamSession.forwardSubmitSm(((LazySubmitSm) submitSm).getPdu());
+                    } catch (Exception e) {
+                        throw new ProcessRequestException(e.getMessage(), 8);
+                    }
+                }
+            });
+
+            SMPPSession session = new SMPPSession();
+            try {
+                session.connectAndBind("localhost", RELAY_PORT, new BindParameter(BindType.BIND_TX, "esme", "test", "",
+                    TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+                for (int i = 0; i < 3; i++) {
+                    String messageId = session.submitShortMessage("", TypeOfNumber.UNKNOWN,
+                        NumberingPlanIndicator.UNKNOWN, "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                        "62817650465" + i, new ESMClass(), (byte)0, (byte)0, null, null, new RegisteredDelivery(),
+                        (byte)0, new GeneralDataCoding(), (byte)0, ("Hello " + i).getBytes(StandardCharsets.ISO_8859_1))
+                        .getMessageId();
+                    assertEquals(messageId, upstreamMessageIds.get(i));
+                }
+                session.forwardSubmitSmAsync(new DefaultComposer().submitSm(1, "", (byte)0, (byte)0, "1616",
+                    (byte)0, (byte)0, "628176504653", (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0,
+                    (byte)0, (byte)0, "Hello 3".getBytes(StandardCharsets.ISO_8859_1))).get();
+            } finally {
+                session.unbindAndClose();
+                upstreamSession.unbindAndClose();
+            }
+            assertEquals(upstreamReceived.size(), 4);
+            for (int i = 0; i < 4; i++) {
+                // the upstream session already used sequence_number 1 for the bind and 2 for a submit_sm
+                assertEquals(upstreamReceived.get(i), (i + 3) + ":62817650465" + i + ":Hello " + i);
+            }
+        }
+    }
+
+    @Test(groups="checkintest", expectedExceptions = IllegalArgumentException.class)
+    public void testRejectOtherCommand() throws Exception {
+        new ForwardCommandTask(null, new DefaultComposer().enquireLink(1), 4, "submit_sm");
+    }
+
+    @Test(groups="checkintest")
+    public void testRejectTruncatedPdu() throws Exception {
+        byte[] pdu = new DefaultComposer().submitSm(1, "", (byte)0, (byte)0, "1616", (byte)0, (byte)0, "6281",
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0, new byte[0]);
+        byte[] truncated = new byte[pdu.length - 1];
+        System.arraycopy(pdu, 0, truncated, 0, truncated.length);
+        try {
+            new ForwardCommandTask(null, truncated, 4, "submit_sm");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("submit_sm"));
+            return;
+        }
+        throw new AssertionError("IllegalArgumentException expected");
+    }
+
+    @Test(groups="checkintest")
+    public void testSendOwnedPduWithoutCopy() throws Exception {
+        byte[] pdu = new DefaultComposer().submitSm(0, "", (byte)0, (byte)0, "1616", (byte)0, (byte)0, "6281",
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0, new byte[0]);
+        final List<byte[]> written = new CopyOnWriteArrayList<>();
+        DefaultPDUSender pduSender = new DefaultPDUSender() {
+            @Override
+            public byte[] sendPdu(OutputStream os, int sequenceNumber, byte[] pdu) {
+                throw new AssertionError("The owned PDU is copied");
+            }
+
+            @Override
+            public void sendPdus(OutputStream os, byte[] pdus, int length) {
+                written.add(pdus);
+            }
+        };
+        new ForwardCommandTask(pduSender, pdu, 4, "submit_sm", true).executeTask(new ByteArrayOutputStream(), 42);
+        assertEquals(written.size(), 1);
+        assertSame(written.get(0), pdu);
+        assertEquals(OctetUtil.bytesToInt(pdu, 12), 42);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jsmpp.bean.AlertNotification;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.EnquireLink;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.extra.SessionState;
+import org.jsmpp.session.connection.nio.NioEventLoopGroup;
+import org.jsmpp.session.connection.nio.NioServerConnectionFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SMPPServerSession} on a non-blocking connection.
+ */
+public class NioServerSessionTest {
+    private static final int PORT = 6010;
+    private static final int SESSIONS = 5;
+
+    private NioEventLoopGroup eventLoopGroup;
+    private AcceptingSmppServer server;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        eventLoopGroup = new NioEventLoopGroup(2);
+        server = new AcceptingSmppServer(PORT, new NioServerConnectionFactory(eventLoopGroup));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        server.close();
+        eventLoopGroup.shutdown();
+    }
+
+    @Test(groups="checkintest")
+    public void testSubmitOnSharedEventLoops() throws Exception {
+        SMPPSession[] sessions = new SMPPSession[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions[i] = new SMPPSession();
+            sessions[i].connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+        }
+        for (SMPPSession session : sessions) {
+            for (int i = 0; i < 10; i++) {
+                SubmitSmResult result = session.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+                    TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(), (byte)0, (byte)0,
+                    null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0,
+                    "Hello".getBytes(StandardCharsets.ISO_8859_1));
+                assertNotNull(result.getMessageId());
+            }
+        }
+        assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), SESSIONS * 10);
+
+        final CountDownLatch closed = new CountDownLatch(SESSIONS);
+        for (SMPPSession session : sessions) {
+            session.addSessionStateListener((newState, oldState, source) -> {
+                if (newState == SessionState.CLOSED) {
+                    closed.countDown();
+                }
+            });
+            session.unbindAndClose();
+        }
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(groups="checkintest")
+    public void testResponsesOnResponseExecutor() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final AtomicInteger responses = new AtomicInteger();
+        final AtomicReference<SMPPServerSession> smsc = new AtomicReference<>();
+        final CountDownLatch bound = new CountDownLatch(1);
+        server.getSessionListener().setResponseExecutor(new SharedPDUExecutor(task -> {
+            responses.incrementAndGet();
+            executorService.execute(task);
+        }));
+        server.getSessionListener().setSessionStateListener((newState, oldState, source) -> {
+            if (newState.isBound()) {
+                smsc.set((SMPPServerSession) source);
+                bound.countDown();
+            }
+        });
+        SMPPSession session = new SMPPSession();
+        session.setMessageReceiverListener(new ReceiverListener());
+        try {
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            assertTrue(bound.await(5, TimeUnit.SECONDS));
+            smsc.get().deliverShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616", new ESMClass(), (byte)0, (byte)0,
+                new RegisteredDelivery(), new GeneralDataCoding(), "Hi".getBytes(StandardCharsets.ISO_8859_1));
+            assertTrue(responses.get() > 0);
+        } finally {
+            session.unbindAndClose();
+            executorService.shutdown();
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testEnquireLinkWithoutSessionThreads() throws Exception {
+        final AtomicReference<SMPPServerSession> smsc = new AtomicReference<>();
+        final CountDownLatch bound = new CountDownLatch(1);
+        server.getSessionListener().setSessionStateListener((newState, oldState, source) -> {
+            if (newState.isBound()) {
+                SMPPServerSession serverSession = (SMPPServerSession) source;
+                serverSession.setEnquireLinkTimer(100);
+                smsc.set(serverSession);
+                bound.countDown();
+            }
+        });
+        SMPPSession session = new SMPPSession();
+        ReceiverListener receiverListener = new ReceiverListener();
+        session.setMessageReceiverListener(receiverListener);
+        try {
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            assertTrue(bound.await(5, TimeUnit.SECONDS));
+            assertTrue(receiverListener.enquireLinks.await(5, TimeUnit.SECONDS));
+            String sessionId = smsc.get().getSessionId();
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                assertFalse(thread.getName().contains(sessionId), thread.getName());
+            }
+            assertTrue(smsc.get().getSessionState().isBound());
+        } finally {
+            session.unbindAndClose();
+        }
+    }
+
+    private static class ReceiverListener implements MessageReceiverListener {
+        private final CountDownLatch enquireLinks = new CountDownLatch(2);
+
+        @Override
+        public void onAcceptDeliverSm(DeliverSm deliverSm) {
+        }
+
+        @Override
+        public void onAcceptAlertNotification(AlertNotification alertNotification) {
+        }
+
+        @Override
+        public DataSmResult onAcceptDataSm(DataSm dataSm, Session source) throws ProcessRequestException {
+            return null;
+        }
+
+        @Override
+        public void onAcceptEnquireLink(EnquireLink enquireLink, Session source) {
+            enquireLinks.countDown();
+        }
+    }
+}
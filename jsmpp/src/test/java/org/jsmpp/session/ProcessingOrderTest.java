@@ -0,0 +1,209 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.Command;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.OctetUtil;
+import org.jsmpp.util.PDUComposer;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@link ProcessingOrder} lanes of the {@link StripedPDUExecutor}.
+ */
+public class ProcessingOrderTest {
+    private static final int PORT = 6016;
+    private static final int LANES = 4;
+    private final PDUComposer composer = new DefaultComposer();
+
+    @Test(groups="checkintest")
+    public void testLaneOfAddress() throws Exception {
+        byte[] first = deliverSm(1, "6281111", "1616");
+        byte[] second = deliverSm(2, "6281111", "2727");
+        assertEquals(laneOf(ProcessingOrder.SOURCE_ADDRESS, first), laneOf(ProcessingOrder.SOURCE_ADDRESS, second));
+
+        byte[] third = submitSm(3, "1616", "6282222");
+        byte[] fourth = submitSm(4, "2727", "6282222");
+        assertEquals(laneOf(ProcessingOrder.DESTINATION_ADDRESS, third),
+            laneOf(ProcessingOrder.DESTINATION_ADDRESS, fourth));
+
+        boolean spread = false;
+        for (int i = 0; i < 10 && !spread; i++) {
+            spread = laneOf(ProcessingOrder.SOURCE_ADDRESS, first)
+                != laneOf(ProcessingOrder.SOURCE_ADDRESS, deliverSm(5, "628000" + i, "1616"));
+        }
+        assertTrue(spread, "All source addresses in the same lane");
+    }
+
+    @Test(groups="checkintest")
+    public void testLaneOfResponseType() throws Exception {
+        byte[] first = composer.submitSmResp(1, "id1");
+        byte[] second = composer.submitSmResp(2, "id2");
+        assertEquals(laneOf(ProcessingOrder.SOURCE_ADDRESS, first), laneOf(ProcessingOrder.SOURCE_ADDRESS, second));
+        assertNotEquals(laneOf(ProcessingOrder.SOURCE_ADDRESS, first),
+            laneOf(ProcessingOrder.SOURCE_ADDRESS, composer.enquireLinkResp(3)));
+    }
+
+    @Test(groups="checkintest")
+    public void testLaneOfTruncatedPdu() throws Exception {
+        byte[] pdu = deliverSm(1, "6281111", "1616");
+        byte[] truncated = new byte[20];
+        System.arraycopy(pdu, 0, truncated, 0, truncated.length);
+        int lane = laneOf(ProcessingOrder.DESTINATION_ADDRESS, truncated);
+        assertTrue(lane >= 0 && lane < LANES);
+    }
+
+    @Test(groups="checkintest")
+    public void testOrderPerAddress() throws Exception {
+        SharedPDUExecutor executor = new SharedPDUExecutor(LANES);
+        try {
+            StripedPDUExecutor lanes = new StripedPDUExecutor(executor, false, "test",
+                ProcessingOrder.SOURCE_ADDRESS, LANES, 1000);
+            Map<String, List<Integer>> processed = new HashMap<>();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(200);
+            for (int i = 0; i < 200; i++) {
+                final String sourceAddr = "62800" + (i % 8);
+                final int number = i;
+                byte[] pdu = deliverSm(i + 1, sourceAddr, "1616");
+                lanes.execute(header(pdu), pdu, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(number % 3);
+                    synchronized (processed) {
+                        processed.computeIfAbsent(sourceAddr, k -> new ArrayList<>()).add(number);
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(processed.size(), 8);
+            for (List<Integer> numbers : processed.values()) {
+                List<Integer> sorted = new ArrayList<>(numbers);
+                Collections.sort(sorted);
+                assertEquals(numbers, sorted);
+            }
+            assertTrue(maxRunning.get() > 1, "Lanes did not run in parallel");
+            assertTrue(maxRunning.get() <= LANES);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testOwnedExecutorShutDownWhenIdle() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        SharedPDUExecutor executor = new SharedPDUExecutor(pool) {
+            @Override
+            public void shutdown() {
+                pool.shutdown();
+            }
+        };
+        StripedPDUExecutor lanes = new StripedPDUExecutor(executor, true, "test",
+            ProcessingOrder.DESTINATION_ADDRESS, 2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] pdu = submitSm(1, "1616", "6281111");
+        lanes.execute(header(pdu), pdu, () -> await(release));
+        lanes.shutdown();
+        assertTrue(!pool.isShutdown());
+        release.countDown();
+        lanes.awaitTermination(5000);
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(groups="checkintest")
+    public void testOrderedSessions() throws Exception {
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT)) {
+            server.getSessionListener().setProcessingOrder(ProcessingOrder.DESTINATION_ADDRESS);
+            SMPPSession session = new SMPPSession();
+            session.setProcessingOrder(ProcessingOrder.SOURCE_ADDRESS);
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            try {
+                for (int i = 0; i < 5; i++) {
+                    session.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                        "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "62817650465" + i, new ESMClass(),
+                        (byte)0, (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(),
+                        (byte)0, "Hello".getBytes(StandardCharsets.ISO_8859_1));
+                }
+            } finally {
+                session.unbindAndClose();
+            }
+            assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 5);
+        }
+    }
+
+    private static int laneOf(ProcessingOrder processingOrder, byte[] pdu) {
+        return processingOrder.laneOf(header(pdu), pdu, LANES);
+    }
+
+    private static Command header(byte[] pdu) {
+        Command pduHeader = new Command();
+        pduHeader.setCommandLength(OctetUtil.bytesToInt(pdu, 0));
+        pduHeader.setCommandId(OctetUtil.bytesToInt(pdu, 4));
+        pduHeader.setSequenceNumber(OctetUtil.bytesToInt(pdu, 12));
+        return pduHeader;
+    }
+
+    private byte[] deliverSm(int sequenceNumber, String sourceAddr, String destinationAddr) throws PDUStringException {
+        return composer.deliverSm(sequenceNumber, "CMT", (byte)1, (byte)1, sourceAddr, (byte)1, (byte)1, destinationAddr,
+            (byte)0, (byte)0, (byte)1, (byte)0, (byte)0, "hello".getBytes());
+    }
+
+    private byte[] submitSm(int sequenceNumber, String sourceAddr, String destinationAddr) throws Exception {
+        return composer.submitSm(sequenceNumber, "CMT", (byte)1, (byte)1, sourceAddr, (byte)1, (byte)1, destinationAddr,
+            (byte)0, (byte)0, (byte)1, null, null, (byte)1, (byte)0, (byte)0, (byte)0, "hello".getBytes());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
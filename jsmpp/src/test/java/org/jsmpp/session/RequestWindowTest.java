@@ -0,0 +1,174 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.WindowFullException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test the window of outstanding requests of {@link SMPPSession}.
+ */
+public class RequestWindowTest {
+    private static final int PORT = 6012;
+
+    private AcceptingSmppServer server;
+    private SMPPSession session;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new AcceptingSmppServer(PORT);
+        server.getSessionListener().setQueueCapacity(1000);
+        session = new SMPPSession();
+        session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        session.unbindAndClose();
+        server.close();
+    }
+
+    @Test(groups="checkintest")
+    public void testQueueAsyncRequests() throws Exception {
+        server.getMessageReceiverListener().setResponseDelay(10);
+        session.setMaxOutstandingRequests(10);
+        session.setWindowFullPolicy(WindowFullPolicy.QUEUE);
+        List<CompletableFuture<SubmitSmResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(submitAsync());
+            assertTrue(session.getUnacknowledgedRequests() <= 10);
+            assertTrue(session.getWindowOccupancy() <= 10);
+        }
+        assertTrue(session.getQueuedRequests() > 0);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 50);
+        assertEquals(session.getWindowOccupancy(), 0);
+        assertEquals(session.getQueuedRequests(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testQueuedRequestsSentOnExecutor() throws Exception {
+        server.getMessageReceiverListener().setResponseDelay(10);
+        session.setMaxOutstandingRequests(2);
+        session.setWindowFullPolicy(WindowFullPolicy.QUEUE);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final AtomicInteger executions = new AtomicInteger();
+        session.setQueuedRequestExecutor(task -> {
+            executions.incrementAndGet();
+            executorService.execute(task);
+        });
+        try {
+            List<CompletableFuture<SubmitSmResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(submitAsync());
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(executions.get() > 0);
+        assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 10);
+        assertEquals(session.getQueuedRequests(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testFailFast() throws Exception {
+        server.getMessageReceiverListener().setResponseDelay(300);
+        session.setMaxOutstandingRequests(2);
+        session.setWindowFullPolicy(WindowFullPolicy.FAIL_FAST);
+        CompletableFuture<SubmitSmResult> first = submitAsync();
+        CompletableFuture<SubmitSmResult> second = submitAsync();
+        assertEquals(session.getWindowOccupancy(), 2);
+        try {
+            submitAsync().get(5, TimeUnit.SECONDS);
+            fail("Expected a full window");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof WindowFullException);
+            assertEquals(((WindowFullException)e.getCause()).getMaxOutstandingRequests(), 2);
+        }
+        try {
+            submit();
+            fail("Expected a full window");
+        } catch (WindowFullException e) {
+            // raised locally, not a negative response of the SMSC
+            assertEquals(e.getMaxOutstandingRequests(), 2);
+        }
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(session.getWindowOccupancy(), 0);
+        submitAsync().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test(groups="checkintest")
+    public void testBlockSynchronousRequests() throws Exception {
+        server.getMessageReceiverListener().setResponseDelay(50);
+        session.setMaxOutstandingRequests(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SubmitSmResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    SubmitSmResult result = submit();
+                    assertTrue(session.getUnacknowledgedRequests() <= 1);
+                    return result;
+                }));
+            }
+            for (Future<SubmitSmResult> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 8);
+    }
+
+    private SubmitSmResult submit() throws Exception {
+        return session.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(), (byte)0, (byte)0,
+            null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0,
+            "Hello".getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private CompletableFuture<SubmitSmResult> submitAsync() throws Exception {
+        return session.submitShortMessageAsync("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+            TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(), (byte)0, (byte)0,
+            null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0,
+            "Hello".getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
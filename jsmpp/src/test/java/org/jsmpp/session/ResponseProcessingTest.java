@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.bean.AlertNotification;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.InterfaceVersion;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ProcessRequestException;
+import org.testng.annotations.Test;
+
+/**
+ * Test that responses are not processed behind the received requests.
+ */
+public class ResponseProcessingTest {
+    private static final int PORT = 6017;
+
+    @Test(groups="checkintest")
+    public void testResponseNotQueuedBehindSlowRequest() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch deliverSmReceived = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SMPPSession session = new SMPPSession();
+        try (SMPPServerSessionListener listener = new SMPPServerSessionListener(PORT)) {
+            listener.setMessageReceiverListener(new AcceptingServerMessageReceiverListener());
+            Future<SMPPServerSession> serverSession = executor.submit(() -> {
+                SMPPServerSession accepted = listener.accept();
+                accepted.waitForBind(5000).accept("sys", InterfaceVersion.IF_34);
+                return accepted;
+            });
+
+            // a single PDU processor thread, kept busy by the deliver_sm
+            session.setPduProcessorDegree(1);
+            session.setTransactionTimer(2000);
+            session.setMessageReceiverListener(new MessageReceiverListener() {
+                @Override
+                public void onAcceptDeliverSm(DeliverSm deliverSm) {
+                    deliverSmReceived.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void onAcceptAlertNotification(AlertNotification alertNotification) {
+                }
+
+                @Override
+                public DataSmResult onAcceptDataSm(DataSm dataSm, Session source) throws ProcessRequestException {
+                    return null;
+                }
+            });
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            SMPPServerSession smsc = serverSession.get(5, TimeUnit.SECONDS);
+            executor.execute(() -> {
+                try {
+                    smsc.deliverShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657",
+                        TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616", new ESMClass(), (byte)0, (byte)0,
+                        new RegisteredDelivery(), new GeneralDataCoding(), "Hi".getBytes(StandardCharsets.ISO_8859_1));
+                } catch (Exception e) {
+                    // the deliver_sm_resp comes after the release
+                }
+            });
+            assertTrue(deliverSmReceived.await(5, TimeUnit.SECONDS));
+
+            String messageId = session.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(),
+                (byte)0, (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(),
+                (byte)0, "Hello".getBytes(StandardCharsets.ISO_8859_1)).getMessageId();
+            assertFalse(messageId.isEmpty());
+        } finally {
+            release.countDown();
+            session.unbindAndClose();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.bean.Command;
+import org.jsmpp.extra.PendingResponse;
+import org.testng.annotations.Test;
+
+public class RingPendingResponseTableTest {
+
+    @Test(groups="checkintest")
+    public void testPutAndRemove() {
+        RingPendingResponseTable table = new RingPendingResponseTable(10);
+        assertEquals(table.getCapacity(), 16);
+        PendingResponse<Command> first = new PendingResponse<>(1000);
+        PendingResponse<Command> second = new PendingResponse<>(1000);
+        table.put(1, first);
+        table.put(2, second);
+        assertEquals(table.size(), 2);
+
+        assertNull(table.remove(17));
+        assertFalse(table.remove(2, first));
+        assertSame(table.remove(1), first);
+        assertNull(table.remove(1));
+        assertTrue(table.remove(2, second));
+        assertEquals(table.size(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testOverflow() {
+        RingPendingResponseTable table = new RingPendingResponseTable(4);
+        List<PendingResponse<Command>> pendingResponses = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            PendingResponse<Command> pendingResponse = new PendingResponse<>(1000);
+            pendingResponses.add(pendingResponse);
+            table.put(i, pendingResponse);
+        }
+        assertEquals(table.size(), 10);
+        for (int i = 10; i >= 1; i--) {
+            assertSame(table.remove(i), pendingResponses.get(i - 1));
+        }
+        assertEquals(table.size(), 0);
+    }
+
+    @Test(groups="checkintest")
+    public void testConcurrentPutAndRemove() throws Exception {
+        final RingPendingResponseTable table = new RingPendingResponseTable(64);
+        final AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executorService.submit(() -> {
+                    int removed = 0;
+                    for (int i = 0; i < 10000; i++) {
+                        int sequenceNumber = sequence.incrementAndGet();
+                        PendingResponse<Command> pendingResponse = new PendingResponse<>(1000);
+                        table.put(sequenceNumber, pendingResponse);
+                        if (table.remove(sequenceNumber) == pendingResponse) {
+                            removed++;
+                        }
+                    }
+                    return removed;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertEquals(future.get().intValue(), 10000);
+            }
+            assertEquals(table.size(), 0);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.util.SubmitSmTemplate;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@link SMPPSessionPool} spreading requests over its sessions.
+ */
+public class SMPPSessionPoolTest {
+    private static final int FIRST_PORT = 6022;
+    private static final int SECOND_PORT = 6023;
+    private static final BindParameter BIND_PARAM = new BindParameter(BindType.BIND_TX, "test", "test", "",
+        TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null);
+
+    @Test(groups="checkintest")
+    public void testRoundRobinAndReplaceClosedSession() throws Exception {
+        SubmitSmTemplate template = new SubmitSmTemplate("", (byte)0, (byte)0, "1616", (byte)1, (byte)1,
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0);
+        byte[] message = "Hello".getBytes(StandardCharsets.ISO_8859_1);
+        try (AcceptingSmppServer first = new AcceptingSmppServer(FIRST_PORT);
+             AcceptingSmppServer second = new AcceptingSmppServer(SECOND_PORT);
+             SMPPSessionPool pool = new SMPPSessionPool(BIND_PARAM, 2,
+                 new InetSocketAddress("localhost", FIRST_PORT), new InetSocketAddress("localhost", SECOND_PORT))) {
+            pool.setRoutingPolicy(RoutingPolicy.ROUND_ROBIN);
+            pool.setReconnectInterval(100);
+            pool.start();
+            assertEquals(pool.getSize(), 4);
+            assertEquals(pool.getBoundSessionCount(), 4);
+
+            for (int i = 0; i < 20; i++) {
+                pool.submitShortMessage(template, "62817650465" + (i % 10), message);
+            }
+            assertEquals(first.getMessageReceiverListener().getSubmitSmCount(), 10);
+            assertEquals(second.getMessageReceiverListener().getSubmitSmCount(), 10);
+            assertEquals(pool.getSubmitCount(), 20);
+            assertEquals(pool.getSubmitFailureCount(), 0);
+
+            pool.getSession().unbindAndClose();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pool.getBoundSessionCount() < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(pool.getBoundSessionCount(), 4);
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testLeastOutstanding() throws Exception {
+        SubmitSmTemplate template = new SubmitSmTemplate("", (byte)0, (byte)0, "1616", (byte)1, (byte)1,
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0);
+        try (AcceptingSmppServer server = new AcceptingSmppServer(FIRST_PORT);
+             SMPPSessionPool pool = new SMPPSessionPool(BIND_PARAM, 3, new InetSocketAddress("localhost", FIRST_PORT))) {
+            // hold the responses, so the requests stay outstanding
+            server.getMessageReceiverListener().setResponseDelay(1000);
+            pool.start();
+            List<CompletableFuture<SubmitSmResult>> futures = new ArrayList<>();
+            SMPPSession busy = pool.getSession();
+            for (int i = 0; i < 3; i++) {
+                futures.add(busy.submitShortMessageAsync(template, "6281765046" + i, new byte[0]));
+            }
+            assertEquals(busy.getUnacknowledgedRequests(), 3);
+
+            for (int i = 3; i < 7; i++) {
+                futures.add(pool.submitShortMessageAsync(template, "6281765046" + i, new byte[0]));
+            }
+            // the other two sessions took two requests each
+            assertEquals(busy.getUnacknowledgedRequests(), 3);
+            assertEquals(pool.getUnacknowledgedRequests(), 7);
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 7);
+            assertEquals(pool.getUnacknowledgedRequests(), 0);
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testNoBoundSession() throws Exception {
+        // nothing listens on the port
+        SMPPSessionPool pool = new SMPPSessionPool(BIND_PARAM, 1, new InetSocketAddress("localhost", SECOND_PORT));
+        try {
+            pool.start();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals(pool.getBoundSessionCount(), 0);
+        } finally {
+            pool.close();
+        }
+        try {
+            pool.getSession();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("No session"));
+        }
+    }
+}
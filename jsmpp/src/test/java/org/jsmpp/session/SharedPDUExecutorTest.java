@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.QueueMaxException;
+import org.testng.annotations.Test;
+
+/**
+ * Test the lanes of the {@link SharedPDUExecutor}.
+ */
+public class SharedPDUExecutorTest {
+    private static final int PORT = 6015;
+
+    @Test(groups="checkintest")
+    public void testLaneRunsAtMostDegreeTasks() throws Exception {
+        SharedPDUExecutor executor = new SharedPDUExecutor(4);
+        try {
+            SharedPDUExecutor.Lane lane = executor.newLane("lane", 2, 100);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(20);
+            for (int i = 0; i < 20; i++) {
+                lane.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(5);
+                    running.decrementAndGet();
+                    done.countDown();
+                }, true);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(maxRunning.get(), 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testLaneQueueCapacity() throws Exception {
+        SharedPDUExecutor executor = new SharedPDUExecutor(1);
+        try {
+            SharedPDUExecutor.Lane lane = executor.newLane("lane", 1, 2);
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            lane.execute(() -> {
+                blocked.countDown();
+                await(release);
+            }, true);
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            lane.execute(() -> {}, true);
+            lane.execute(() -> {}, true);
+            try {
+                lane.execute(() -> {}, true);
+                fail("Queue capacity should be exceeded");
+            } catch (QueueMaxException e) {
+                assertEquals(lane.getQueueSize(), 2);
+            }
+            // responses are queued beyond the capacity
+            lane.execute(() -> {}, false);
+            assertEquals(lane.getQueueSize(), 3);
+            release.countDown();
+            lane.shutdown();
+            assertTrue(lane.awaitTermination(5000));
+            assertEquals(lane.getQueueSize(), 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testBusyLaneDoesNotStarveOtherLanes() throws Exception {
+        SharedPDUExecutor executor = new SharedPDUExecutor(1);
+        try {
+            SharedPDUExecutor.Lane busy = executor.newLane("busy", 1, 1000);
+            SharedPDUExecutor.Lane quiet = executor.newLane("quiet", 1, 1000);
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch release = new CountDownLatch(1);
+            busy.execute(() -> await(release), true);
+            for (int i = 0; i < 100; i++) {
+                busy.execute(() -> order.add("busy"), true);
+            }
+            quiet.execute(() -> order.add("quiet"), true);
+            release.countDown();
+            busy.shutdown();
+            quiet.shutdown();
+            assertTrue(busy.awaitTermination(5000));
+            assertTrue(quiet.awaitTermination(5000));
+            assertEquals(order.size(), 101);
+            assertTrue(order.indexOf("quiet") <= 1, "quiet lane ran at " + order.indexOf("quiet"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testServerSessionsShareExecutor() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger executed = new AtomicInteger();
+        SharedPDUExecutor sharedPduExecutor = new SharedPDUExecutor(task -> {
+            executed.incrementAndGet();
+            pool.execute(task);
+        });
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT)) {
+            server.getSessionListener().setSharedPduExecutor(sharedPduExecutor);
+            List<SMPPSession> sessions = new ArrayList<>();
+            try {
+                for (int i = 0; i < 3; i++) {
+                    SMPPSession session = new SMPPSession();
+                    session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TRX, "test", "test", "",
+                        TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+                    sessions.add(session);
+                }
+                for (SMPPSession session : sessions) {
+                    for (int i = 0; i < 5; i++) {
+                        String messageId = session.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                            "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(),
+                            (byte)0, (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(),
+                            (byte)0, "Hello".getBytes(StandardCharsets.ISO_8859_1)).getMessageId();
+                        assertFalse(messageId.isEmpty());
+                    }
+                }
+            } finally {
+                for (SMPPSession session : sessions) {
+                    session.unbindAndClose();
+                }
+            }
+            assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 15);
+            // the binds, submits and unbinds of all sessions
+            assertTrue(executed.get() >= 21, "executed " + executed.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsmpp.BufferedPDUReader;
+import org.jsmpp.DefaultPDUSender;
+import org.jsmpp.PDUStringException;
+import org.jsmpp.SynchronizedPDUSender;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.session.connection.socket.SocketConnectionFactory;
+import org.jsmpp.util.DefaultComposer;
+import org.jsmpp.util.PDUComposer;
+import org.jsmpp.util.SubmitSmTemplate;
+import org.testng.annotations.Test;
+
+/**
+ * Test pipelining submit_sm with {@link SMPPSession#submitBatch(List)}.
+ */
+public class SubmitBatchTest {
+    private static final int PORT = 6021;
+
+    @Test(groups="checkintest")
+    public void testSubmitBatch() throws Exception {
+        SubmitSmTemplate template = new SubmitSmTemplate("CMT", (byte)0, (byte)0, "1616", (byte)1, (byte)1,
+            (byte)0, (byte)0, (byte)0, null, null, (byte)1, (byte)0, (byte)0, (byte)0);
+        List<SubmitSmRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            byte[] message = ("Hello " + i).getBytes(StandardCharsets.ISO_8859_1);
+            if (i % 2 == 0) {
+                requests.add(new SubmitSmRequest(template, "6281765" + i, message));
+            } else {
+                requests.add(new SubmitSmRequest("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+                    TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "6281765" + i, new ESMClass(), (byte)0,
+                    (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0, message));
+            }
+        }
+        // destination_addr longer than 20 octets
+        requests.set(50, new SubmitSmRequest(template, "628176504657628176504657", new byte[0]));
+
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT)) {
+            SMPPSession session = new SMPPSession();
+            session.setMaxOutstandingRequests(8);
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            try {
+                List<CompletableFuture<SubmitSmResult>> results = session.submitBatch(requests);
+                assertEquals(results.size(), requests.size());
+                Set<String> messageIds = new HashSet<>();
+                for (int i = 0; i < results.size(); i++) {
+                    if (i == 50) {
+                        assertInvalid(results.get(i));
+                    } else {
+                        String messageId = results.get(i).get(5, TimeUnit.SECONDS).getMessageId();
+                        assertFalse(messageId.isEmpty());
+                        assertTrue(messageIds.add(messageId));
+                    }
+                }
+                assertEquals(session.getWindowOccupancy(), 0);
+            } finally {
+                session.unbindAndClose();
+            }
+            assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 99);
+        }
+    }
+
+    @Test(groups="checkintest")
+    public void testSubmitBatchWithSessionComposer() throws Exception {
+        final AtomicInteger composed = new AtomicInteger();
+        PDUComposer composer = new DefaultComposer() {
+            @Override
+            public byte[] submitSm(int sequenceNumber, String serviceType, byte sourceAddrTon, byte sourceAddrNpi,
+                    String sourceAddr, byte destAddrTon, byte destAddrNpi, String destinationAddr, byte esmClass,
+                    byte protocolId, byte priorityFlag, String scheduleDeliveryTime, String validityPeriod,
+                    byte registeredDelivery, byte replaceIfPresentFlag, byte dataCoding, byte smDefaultMsgId,
+                    byte[] shortMessage, OptionalParameter... optionalParameters) throws PDUStringException {
+                composed.incrementAndGet();
+                return super.submitSm(sequenceNumber, serviceType, sourceAddrTon, sourceAddrNpi, sourceAddr,
+                    destAddrTon, destAddrNpi, destinationAddr, esmClass, protocolId, priorityFlag,
+                    scheduleDeliveryTime, validityPeriod, registeredDelivery, replaceIfPresentFlag, dataCoding,
+                    smDefaultMsgId, shortMessage, optionalParameters);
+            }
+        };
+        List<SubmitSmRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new SubmitSmRequest("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "1616",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "6281765" + i, new ESMClass(), (byte)0,
+                (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(), (byte)0,
+                ("Hello " + i).getBytes(StandardCharsets.ISO_8859_1)));
+        }
+
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT)) {
+            SMPPSession session = new SMPPSession(new SynchronizedPDUSender(new DefaultPDUSender(composer)),
+                new BufferedPDUReader(), SocketConnectionFactory.getInstance());
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            try {
+                List<CompletableFuture<SubmitSmResult>> results = session.submitBatch(requests);
+                CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            } finally {
+                session.unbindAndClose();
+            }
+            assertEquals(composed.get(), 10);
+            assertEquals(server.getMessageReceiverListener().getSubmitSmCount(), 10);
+        }
+    }
+
+    private static void assertInvalid(CompletableFuture<SubmitSmResult> result) throws Exception {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("PDUStringException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PDUStringException);
+        }
+    }
+}
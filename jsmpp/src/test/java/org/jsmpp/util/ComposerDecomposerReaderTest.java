@@ -20,6 +20,9 @@ import org.jsmpp.PDUStringException;
 import org.jsmpp.SMPPConstant;
 import org.jsmpp.bean.BindResp;
 import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.SubmitSm;
 import org.testng.annotations.Test;
 
 /**
@@ -97,6 +100,62 @@ public class ComposerDecomposerReaderTest {
         }
     }
     
+    @Test(groups="checkintest")
+    public void submitSmAndDeliverSm() throws Exception {
+        PDUComposer composer = new DefaultComposer();
+        PDUDecomposer decomposer = new DefaultDecomposer();
+        byte[] message = "hello world".getBytes();
+        OptionalParameter sarMsgRefNum = new OptionalParameter.Sar_msg_ref_num((short)7);
+
+        byte[] b = composer.submitSm(2, "CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)1, "62161616",
+            (byte)0, (byte)0, (byte)1, null, "000001000000000R", (byte)1, (byte)0, (byte)0, (byte)0,
+            message, sarMsgRefNum);
+        SubmitSm submitSm = decomposer.submitSm(b);
+        assertEquals(submitSm.getCommandLength(), b.length);
+        assertEquals(submitSm.getValidityPeriod(), "000001000000000R");
+        assertEquals(submitSm.getShortMessage(), message);
+        assertEquals(submitSm.getOptionalParameters().length, 1);
+
+        b = composer.deliverSm(3, "CMT", (byte)1, (byte)1, "62161616", (byte)1, (byte)1, "1616",
+            (byte)0, (byte)0, (byte)1, (byte)0, (byte)0, message);
+        DeliverSm deliverSm = decomposer.deliverSm(b);
+        assertEquals(deliverSm.getCommandLength(), b.length);
+        assertEquals(deliverSm.getSourceAddr(), "62161616");
+        assertEquals(deliverSm.getShortMessage(), message);
+    }
+
+    @Test(groups="checkintest")
+    public void invalidStringsOfSubmitSm() {
+        PDUDecomposer decomposer = new DefaultDecomposer();
+        assertInvalid(decomposer, submitSm("CMTCMTCMT", null), StringParameter.SERVICE_TYPE);
+        assertInvalid(decomposer, submitSm("CMT", "0000010000R"), StringParameter.SCHEDULE_DELIVERY_TIME);
+    }
+
+    private static byte[] submitSm(String serviceType, String scheduleDeliveryTime) {
+        PDUByteBuffer buf = new PDUByteBuffer(SMPPConstant.CID_SUBMIT_SM, 0, 1);
+        buf.append(serviceType);
+        buf.append((byte)1);
+        buf.append((byte)1);
+        buf.append("1616");
+        buf.append((byte)1);
+        buf.append((byte)1);
+        buf.append("62161616");
+        buf.append(new byte[3]); // esm_class, protocol_id, priority_flag
+        buf.append(scheduleDeliveryTime);
+        buf.append((String)null); // validity_period
+        buf.append(new byte[5]); // registered_delivery to sm_length
+        return buf.toBytes();
+    }
+
+    private static void assertInvalid(PDUDecomposer decomposer, byte[] pdu, StringParameter param) {
+        try {
+            decomposer.submitSm(pdu);
+            fail("PDUStringException expected for " + param);
+        } catch (PDUStringException e) {
+            assertEquals(e.getParameter(), param);
+        }
+    }
+
     private static void printLog(String message) {
         if (DEBUG) {
             System.out.println(message);
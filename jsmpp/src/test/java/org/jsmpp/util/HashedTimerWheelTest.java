@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class HashedTimerWheelTest {
+    private HashedTimerWheel timerWheel;
+
+    @BeforeMethod
+    public void setUp() {
+        // small wheel, so the 300 millis timeouts need more than one round
+        timerWheel = new HashedTimerWheel("TestTimerWheel", 10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        timerWheel.stop();
+    }
+
+    @Test(groups="checkintest")
+    public void testExpireAfterDelay() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(100);
+        final long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            timerWheel.newTimeout(latch::countDown, 300, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+    }
+
+    @Test(groups="checkintest")
+    public void testCancel() throws Exception {
+        final AtomicInteger expired = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        HashedTimerWheel.Timeout cancelled = timerWheel.newTimeout(expired::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        HashedTimerWheel.Timeout notCancelled = timerWheel.newTimeout(latch::countDown, 200, TimeUnit.MILLISECONDS);
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(expired.get(), 0);
+        assertTrue(cancelled.isCancelled());
+        assertTrue(notCancelled.isExpired());
+        assertFalse(notCancelled.cancel());
+    }
+
+    @Test(groups="checkintest")
+    public void testStartKeepsInterruptStatus() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        Thread.currentThread().interrupt();
+        try {
+            timerWheel.newTimeout(latch::countDown, 10, TimeUnit.MILLISECONDS);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(groups="checkintest", expectedExceptions = IllegalStateException.class)
+    public void testNewTimeoutAfterStop() {
+        timerWheel.newTimeout(() -> { }, 10, TimeUnit.MILLISECONDS);
+        timerWheel.stop();
+        timerWheel.newTimeout(() -> { }, 10, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.LazyDeliverSm;
+import org.jsmpp.bean.LazySubmitSm;
+import org.jsmpp.bean.OptionalParameter;
+import org.jsmpp.bean.SubmitSm;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@link LazyDecomposer} against the {@link DefaultDecomposer}.
+ */
+public class LazyDecomposerTest {
+    private final PDUComposer composer = new DefaultComposer();
+    private final PDUDecomposer decomposer = DefaultDecomposer.getInstance();
+    private final PDUDecomposer lazyDecomposer = LazyDecomposer.getInstance();
+
+    @Test(groups="checkintest")
+    public void testSubmitSmSameAsDefault() throws Exception {
+        byte[] pdu = composer.submitSm(7, "CMT", (byte)1, (byte)2, "1616", (byte)3, (byte)4, "628176504657",
+            (byte)5, (byte)6, (byte)1, "000001000000000R", null, (byte)1, (byte)0, (byte)8, (byte)0,
+            "Hello".getBytes(StandardCharsets.ISO_8859_1),
+            new OptionalParameter.Byte(OptionalParameter.Tag.DEST_ADDR_SUBUNIT, (byte)1),
+            new OptionalParameter.Short(OptionalParameter.Tag.SAR_MSG_REF_NUM, (short)42));
+        SubmitSm expected = decomposer.submitSm(pdu);
+        SubmitSm submitSm = lazyDecomposer.submitSm(pdu);
+
+        assertTrue(submitSm instanceof LazySubmitSm);
+        assertSame(((LazySubmitSm) submitSm).getPdu(), pdu);
+        assertEquals(submitSm.getSequenceNumber(), 7);
+        assertEquals(submitSm.getCommandLength(), pdu.length);
+        assertEquals(submitSm.getServiceType(), expected.getServiceType());
+        assertEquals(submitSm.getSourceAddrTon(), expected.getSourceAddrTon());
+        assertEquals(submitSm.getSourceAddrNpi(), expected.getSourceAddrNpi());
+        assertEquals(submitSm.getSourceAddr(), expected.getSourceAddr());
+        assertEquals(submitSm.getDestAddrTon(), expected.getDestAddrTon());
+        assertEquals(submitSm.getDestAddrNpi(), expected.getDestAddrNpi());
+        assertEquals(submitSm.getDestAddress(), expected.getDestAddress());
+        assertEquals(submitSm.getEsmClass(), expected.getEsmClass());
+        assertEquals(submitSm.getProtocolId(), expected.getProtocolId());
+        assertEquals(submitSm.getPriorityFlag(), expected.getPriorityFlag());
+        assertEquals(submitSm.getScheduleDeliveryTime(), expected.getScheduleDeliveryTime());
+        assertNull(submitSm.getValidityPeriod());
+        assertEquals(submitSm.getRegisteredDelivery(), expected.getRegisteredDelivery());
+        assertEquals(submitSm.getDataCoding(), expected.getDataCoding());
+        assertEquals(submitSm.getShortMessage(), expected.getShortMessage());
+        assertEquals(submitSm.getOptionalParameters(), expected.getOptionalParameters());
+        assertEquals(submitSm.getOptionalParameter(OptionalParameter.Tag.SAR_MSG_REF_NUM),
+            expected.getOptionalParameter(OptionalParameter.Tag.SAR_MSG_REF_NUM));
+    }
+
+    @Test(groups="checkintest")
+    public void testDeliverSmSameAsDefault() throws Exception {
+        byte[] pdu = composer.deliverSm(9, "", (byte)1, (byte)1, "628176504657", (byte)1, (byte)1, "1616",
+            (byte)4, (byte)0, (byte)0, (byte)0, (byte)0,
+            "id:1 sub:001 dlvrd:001 submit date:2101010000 done date:2101010001 stat:DELIVRD err:000 text:"
+                .getBytes(StandardCharsets.ISO_8859_1));
+        DeliverSm expected = decomposer.deliverSm(pdu);
+        DeliverSm deliverSm = lazyDecomposer.deliverSm(pdu);
+
+        assertTrue(deliverSm instanceof LazyDeliverSm);
+        assertNull(deliverSm.getServiceType());
+        assertEquals(deliverSm.getSourceAddr(), expected.getSourceAddr());
+        assertEquals(deliverSm.getDestAddress(), expected.getDestAddress());
+        assertEquals(deliverSm.isSmscDeliveryReceipt(), expected.isSmscDeliveryReceipt());
+        assertEquals(deliverSm.getShortMessageAsDeliveryReceipt().getId(),
+            expected.getShortMessageAsDeliveryReceipt().getId());
+        assertEquals(deliverSm.getOptionalParameters(), expected.getOptionalParameters());
+    }
+
+    @Test(groups="checkintest")
+    public void testSingleOptionalParameter() throws Exception {
+        byte[] pdu = composer.submitSm(1, "CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)1, "628176504657",
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0, new byte[0],
+            new OptionalParameter.Short(OptionalParameter.Tag.SAR_MSG_REF_NUM, (short)42),
+            new OptionalParameter.Message_payload("Hello".getBytes(StandardCharsets.ISO_8859_1)));
+        SubmitSm submitSm = lazyDecomposer.submitSm(pdu);
+
+        OptionalParameter.Message_payload payload = submitSm.getOptionalParameter(OptionalParameter.Message_payload.class);
+        assertEquals(payload.getValue(), "Hello".getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(((OptionalParameter.Short) submitSm.getOptionalParameter(OptionalParameter.Tag.SAR_MSG_REF_NUM))
+            .getValue(), (short)42);
+        assertNull(submitSm.getOptionalParameter(OptionalParameter.Tag.RECEIPTED_MESSAGE_ID));
+        assertNull(submitSm.getOptionalParameter(OptionalParameter.Receipted_message_id.class));
+
+        submitSm.setOptionalParameters();
+        assertNull(submitSm.getOptionalParameter(OptionalParameter.Message_payload.class));
+    }
+
+    @Test(groups="checkintest")
+    public void testSetterOverridesPdu() throws Exception {
+        byte[] pdu = composer.submitSm(1, "CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)1, "628176504657",
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0,
+            "Hello".getBytes(StandardCharsets.ISO_8859_1));
+        SubmitSm submitSm = lazyDecomposer.submitSm(pdu);
+        submitSm.setDestAddress("628100000000");
+        submitSm.setShortMessage("Bye".getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(submitSm.getDestAddress(), "628100000000");
+        assertEquals(submitSm.getShortMessage(), "Bye".getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(submitSm.getSourceAddr(), "1616");
+    }
+
+    @Test(groups="checkintest")
+    public void testInvalidStringLength() throws Exception {
+        byte[] pdu = composer.submitSm(1, "CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)1, "628176504657",
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0,
+            "Hello".getBytes(StandardCharsets.ISO_8859_1));
+        // turn the empty validity_period into a 1 byte string
+        int offset = 17 + "CMT".length() + 3 + "1616".length() + 3 + "628176504657".length() + 4;
+        assertEquals(pdu[offset], 0);
+        pdu[offset] = '1';
+        try {
+            lazyDecomposer.submitSm(pdu);
+            fail("PDUStringException expected");
+        } catch (PDUStringException e) {
+            // the validity_period length is not valid
+        }
+    }
+}
@@ -36,6 +36,14 @@ public class OctetUtilTest {
         assertEquals(out, in);
     }
 
+    @Test
+    public void intConversionAtOffset() {
+        byte[] bytes = new byte[6];
+        OctetUtil.intToBytes(0x01020304, bytes, 1);
+        assertEquals(bytes, new byte[]{0x00, 0x01, 0x02, 0x03, 0x04, 0x00});
+        assertEquals(OctetUtil.bytesToInt(bytes, 1), 0x01020304);
+    }
+
     @Test
     public void testIntConversions() {
         assertEquals(OctetUtil.bytesToInt(new byte[]{(byte)0x00, (byte)0x00, (byte)0x00, (byte)0x00}), 0);
@@ -15,7 +15,12 @@
 package org.jsmpp.util;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
+import java.nio.ByteBuffer;
+
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.OptionalParameter;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 /**
@@ -87,4 +92,49 @@ public class PDUByteBufferTest {
             assertEquals(pdu.length, byteBuffer.getBytesLength(), "Failed on iteration " + i);
         }
     }
+
+    @Test(groups="checkintest")
+    public void testShortAppend() {
+        byteBuffer.appendShort((short)0x1234);
+        byte[] pdu = byteBuffer.toBytes();
+        assertEquals(pdu.length, INITIAL_LENGTH + 2);
+        assertEquals(pdu[4], (byte)0x12);
+        assertEquals(pdu[5], (byte)0x34);
+    }
+
+    @Test(groups="checkintest")
+    public void testExactlySizedBufferIsNotCopied() {
+        String hello = "hello";
+        int commandLength = 16 + PDUByteBuffer.lengthOf(hello) + 1;
+        PDUByteBuffer buf = new PDUByteBuffer(SMPPConstant.CID_SUBMIT_SM, 0, 1, commandLength);
+        buf.append(hello);
+        buf.append((byte)1);
+        byte[] pdu = buf.toBytes();
+        assertEquals(pdu.length, commandLength);
+        assertEquals(OctetUtil.bytesToInt(pdu, 0), commandLength);
+        assertSame(buf.toBytes(), pdu);
+
+        buf.append(2);
+        byte[] grown = buf.toBytes();
+        assertEquals(OctetUtil.bytesToInt(grown, 0), commandLength + 4);
+        assertEquals(OctetUtil.bytesToInt(pdu, 0), commandLength, "Returned bytes must not change");
+    }
+
+    @Test(groups="checkintest")
+    public void testWriteTo() {
+        byteBuffer.append(10);
+        byteBuffer.append(new OptionalParameter.Byte((short)0x0204, (byte)1));
+        ByteBuffer dst = ByteBuffer.allocate(64);
+        assertEquals(byteBuffer.writeTo(dst), INITIAL_LENGTH + INTEGER_LENGTH + 5);
+        assertEquals(dst.position(), INITIAL_LENGTH + INTEGER_LENGTH + 5);
+        assertEquals(dst.getInt(0), INITIAL_LENGTH + INTEGER_LENGTH + 5);
+    }
+
+    @Test(groups="checkintest")
+    public void testLengthOfNonAsciiString() {
+        String value = "caf\u00e9";
+        assertEquals(PDUByteBuffer.lengthOf(value), value.getBytes().length + 1);
+        byteBuffer.append(value);
+        assertEquals(byteBuffer.toBytes().length, INITIAL_LENGTH + value.getBytes().length + 1);
+    }
 }
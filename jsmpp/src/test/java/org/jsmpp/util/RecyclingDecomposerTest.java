@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.LazyDeliverSm;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.SubmitSmResp;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.session.AcceptingSmppServer;
+import org.jsmpp.session.BindParameter;
+import org.jsmpp.session.SMPPSession;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@link RecyclingDecomposer}.
+ */
+public class RecyclingDecomposerTest {
+    private static final int PORT = 6020;
+    private final PDUComposer composer = new DefaultComposer();
+
+    @Test(groups="checkintest")
+    public void testReuseReleasedDeliverSm() throws Exception {
+        RecyclingDecomposer decomposer = new RecyclingDecomposer(1);
+        DeliverSm first = decomposer.deliverSm(deliverSm(1, "6281111"));
+        first.setId("id1");
+        decomposer.release(first);
+        assertEquals(decomposer.getDeliverSmPoolSize(), 1);
+
+        DeliverSm second = decomposer.deliverSm(deliverSm(2, "6282222"));
+        assertSame(second, first);
+        assertEquals(second.getSequenceNumber(), 2);
+        assertEquals(second.getSourceAddr(), "6282222");
+        assertNull(second.getId());
+        assertEquals(second, DefaultDecomposer.getInstance().deliverSm(deliverSm(2, "6282222")));
+        assertEquals(decomposer.getDeliverSmPoolSize(), 0);
+
+        // the pool keeps up to its capacity
+        decomposer.release(second);
+        decomposer.release(new DeliverSm());
+        assertEquals(decomposer.getDeliverSmPoolSize(), 1);
+    }
+
+    @Test(groups="checkintest")
+    public void testReuseReleasedSubmitSmResp() throws Exception {
+        RecyclingDecomposer decomposer = new RecyclingDecomposer();
+        SubmitSmResp first = decomposer.submitSmResp(composer.submitSmResp(1, "id1"));
+        decomposer.release(first);
+
+        // a negative submit_sm_resp has no message_id
+        SubmitSmResp second = decomposer.submitSmResp(composer.composeHeader(0x80000004, 0x45, 2));
+        assertSame(second, first);
+        assertEquals(second.getCommandStatus(), 0x45);
+        assertNull(second.getMessageId());
+        assertNull(second.getOptionalParameters());
+    }
+
+    @Test(groups="checkintest")
+    public void testIgnoreOtherCommands() throws Exception {
+        RecyclingDecomposer decomposer = new RecyclingDecomposer();
+        decomposer.release(new LazyDeliverSm(deliverSm(1, "6281111")));
+        assertEquals(decomposer.getDeliverSmPoolSize(), 0);
+        assertNotSame(decomposer.deliverSm(deliverSm(2, "6281111")), decomposer.deliverSm(deliverSm(3, "6281111")));
+    }
+
+    @Test(groups="checkintest")
+    public void testSessionReleasesSubmitSmResp() throws Exception {
+        RecyclingDecomposer decomposer = new RecyclingDecomposer();
+        try (AcceptingSmppServer server = new AcceptingSmppServer(PORT)) {
+            SMPPSession session = new SMPPSession();
+            session.setPduDecomposer(decomposer);
+            session.connectAndBind("localhost", PORT, new BindParameter(BindType.BIND_TX, "test", "test", "",
+                TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+            try {
+                for (int i = 0; i < 3; i++) {
+                    session.submitShortMessage("", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                        "1616", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, "628176504657", new ESMClass(),
+                        (byte)0, (byte)0, null, null, new RegisteredDelivery(), (byte)0, new GeneralDataCoding(),
+                        (byte)0, "Hello".getBytes(StandardCharsets.ISO_8859_1));
+                }
+            } finally {
+                session.unbindAndClose();
+            }
+        }
+        assertEquals(decomposer.getSubmitSmRespPoolSize(), 1);
+    }
+
+    private byte[] deliverSm(int sequenceNumber, String sourceAddr) throws Exception {
+        return composer.deliverSm(sequenceNumber, "", (byte)1, (byte)1, sourceAddr, (byte)1, (byte)1, "1616",
+            (byte)0, (byte)0, (byte)0, (byte)0, (byte)0, "hello".getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
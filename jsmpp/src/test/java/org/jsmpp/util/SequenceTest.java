@@ -15,6 +15,15 @@
 package org.jsmpp.util;
 
 import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.testng.annotations.Test;
 
 /**
@@ -39,4 +48,32 @@ public class SequenceTest {
         assertEquals(sequence.nextValue(), Integer.MAX_VALUE);
         assertEquals(sequence.nextValue(), 1);
     }
+
+    @Test(groups="checkintest")
+    public void testConcurrentCycle() throws Exception {
+        final Sequence sequence = new Sequence(Integer.MAX_VALUE - 1000);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executorService.submit(() -> {
+                    List<Integer> values = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        values.add(sequence.nextValue());
+                    }
+                    return values;
+                }));
+            }
+            Set<Integer> values = new HashSet<>();
+            for (Future<List<Integer>> future : futures) {
+                values.addAll(future.get());
+            }
+            assertEquals(values.size(), 4000);
+            assertTrue(values.contains(Integer.MAX_VALUE));
+            assertTrue(values.contains(2999));
+            assertEquals(sequence.currentValue(), 3000);
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
@@ -16,6 +16,9 @@ package org.jsmpp.util;
 
 import static org.testng.Assert.*;
 
+import java.nio.charset.StandardCharsets;
+
+import org.jsmpp.PDUStringException;
 import org.testng.annotations.Test;
 
 /**
@@ -40,4 +43,33 @@ public class SequentialByteReaderTest {
         byte[] readedBytes = reader.readBytesUntilNull();
         assertEquals(readedBytes, bytes);
     }
+
+    @Test(groups="checkintest")
+    public void testReadCStringWithParameter() throws Exception {
+        byte[] bytes = "CMT\0\0001616\0caf\u00e9\0".getBytes(StandardCharsets.UTF_8);
+        SequentialBytesReader reader = new SequentialBytesReader(bytes);
+        String serviceType = reader.readCString(StringParameter.SERVICE_TYPE);
+        assertEquals(serviceType, "CMT");
+        assertNull(reader.readCString(StringParameter.SERVICE_TYPE));
+        assertEquals(reader.readCString(StringParameter.SOURCE_ADDR), "1616");
+        assertEquals(reader.readCString(StringParameter.SOURCE_ADDR), new String("caf\u00e9".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(reader.remainBytesLength(), 0);
+
+        // short repeated values are shared between PDUs
+        assertSame(new SequentialBytesReader(bytes).readCString(StringParameter.SERVICE_TYPE), serviceType);
+    }
+
+    @Test(groups="checkintest")
+    public void testReadCStringStopsAtMaximumLength() {
+        // no terminating NULL within the 6 octets of a service_type
+        SequentialBytesReader reader = new SequentialBytesReader("CMTCMTCMT\0".getBytes(StandardCharsets.ISO_8859_1));
+        try {
+            reader.readCString(StringParameter.SERVICE_TYPE);
+            fail("PDUStringException expected");
+        } catch (PDUStringException e) {
+            assertEquals(e.getParameter(), StringParameter.SERVICE_TYPE);
+        }
+        reader.resetCursor();
+        assertEquals(reader.readCString(), "CMTCMTCMT");
+    }
 }
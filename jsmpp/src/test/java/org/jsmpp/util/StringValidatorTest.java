@@ -16,6 +16,8 @@ package org.jsmpp.util;
 
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.nio.charset.StandardCharsets;
@@ -171,4 +173,20 @@ public class StringValidatorTest {
                 + "length is 17");
         }
     }
+
+    @Test(groups="checkintest")
+    public void validateStringCOctetStringInPduWithoutARange() throws Exception {
+        byte[] pdu = "X020610233429000R".getBytes(StandardCharsets.US_ASCII);
+        StringValidator.validateString(pdu, 1, 16, StringParameter.SCHEDULE_DELIVERY_TIME);
+
+        // 16 bytes, valid only if they decode to 16 characters
+        byte[] nonAscii = "X02061023342900\u00e9".getBytes(StandardCharsets.UTF_8);
+        boolean decodedValid = new String(nonAscii, 1, 16).length() == 16;
+        try {
+            StringValidator.validateString(nonAscii, 1, 16, StringParameter.SCHEDULE_DELIVERY_TIME);
+            assertTrue(decodedValid);
+        } catch (PDUStringException e) {
+            assertFalse(decodedValid);
+        }
+    }
 }
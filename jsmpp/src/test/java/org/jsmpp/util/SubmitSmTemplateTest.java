@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.jsmpp.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.OptionalParameter;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@link SubmitSmTemplate} composes the same PDUs as the {@link DefaultComposer}.
+ */
+public class SubmitSmTemplateTest {
+    private final PDUComposer composer = new DefaultComposer();
+
+    @Test(groups="checkintest")
+    public void testSameAsDefaultComposer() throws Exception {
+        OptionalParameter sourcePort = new OptionalParameter.Source_port((short)2948);
+        OptionalParameter userMessageReference = new OptionalParameter.User_message_reference((short)7);
+        SubmitSmTemplate template = new SubmitSmTemplate("CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)2,
+            (byte)0x40, (byte)0, (byte)1, null, "000001000000000R", (byte)1, (byte)0, (byte)4, (byte)0,
+            sourcePort, userMessageReference);
+        byte[] message = "hello world".getBytes();
+
+        assertEquals(template.submitSm(7, "6281234567", message),
+            composer.submitSm(7, "CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)2, "6281234567", (byte)0x40,
+                (byte)0, (byte)1, null, "000001000000000R", (byte)1, (byte)0, (byte)4, (byte)0, message,
+                sourcePort, userMessageReference));
+        assertEquals(template.submitSm(8, null, new byte[0]),
+            composer.submitSm(8, "CMT", (byte)1, (byte)1, "1616", (byte)1, (byte)2, null, (byte)0x40,
+                (byte)0, (byte)1, null, "000001000000000R", (byte)1, (byte)0, (byte)4, (byte)0, new byte[0],
+                sourcePort, userMessageReference));
+    }
+
+    @Test(groups="checkintest")
+    public void testWithoutOptionalParameters() throws Exception {
+        SubmitSmTemplate template = new SubmitSmTemplate("", (byte)0, (byte)0, "1616", (byte)0, (byte)0,
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0);
+        byte[] message = "hello".getBytes();
+        assertEquals(template.submitSm(1, "6281", message),
+            composer.submitSm(1, "", (byte)0, (byte)0, "1616", (byte)0, (byte)0, "6281", (byte)0, (byte)0,
+                (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0, message));
+    }
+
+    @Test(groups="checkintest")
+    public void testInvalidDestinationAddr() throws Exception {
+        SubmitSmTemplate template = new SubmitSmTemplate("", (byte)0, (byte)0, "1616", (byte)0, (byte)0,
+            (byte)0, (byte)0, (byte)0, null, null, (byte)0, (byte)0, (byte)0, (byte)0);
+        try {
+            template.submitSm(1, "628123456789012345678901", new byte[0]);
+            fail("PDUStringException expected");
+        } catch (PDUStringException e) {
+            assertEquals(e.getParameter(), StringParameter.DESTINATION_ADDR);
+        }
+    }
+}